@@ -0,0 +1,79 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.dto.BatchItem;
+import com.reliaquest.api.dto.CreateEmployeeRequest;
+import com.reliaquest.api.dto.Employee;
+import com.reliaquest.api.dto.EmployeeChanges;
+import com.reliaquest.api.dto.EmployeeList;
+import com.reliaquest.api.dto.EmployeePage;
+import com.reliaquest.api.stream.EmployeeRowConsumer;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Calls to the Mock Employee API. Implementations report upstream HTTP errors as Spring's
+ * {@link org.springframework.web.client.HttpStatusCodeException} subclasses, so callers handle them the same way
+ * whichever client is configured with {@code employee.api.client}.
+ */
+public interface EmployeeApiClient {
+
+    /**
+     * @return every employee, with the upstream's latest change log sequence number when it reports one
+     */
+    CompletableFuture<EmployeeList> getEmployees();
+
+    /**
+     * Fetches the same list as {@link #getEmployees()} but passes each row to {@code consumer} while the response is
+     * being read, without building the list.
+     */
+    CompletableFuture<Void> streamEmployees(EmployeeRowConsumer consumer);
+
+    /**
+     * @param cursor {@code nextCursor} of the previous page, or {@code null} for the first page
+     */
+    CompletableFuture<EmployeePage> getEmployeesPage(String cursor, int limit);
+
+    /**
+     * @return every employee, fetched lazily {@code pageSize} at a time
+     */
+    default Iterator<Employee> iterateEmployees(int pageSize) {
+        return new EmployeePageIterator(this, pageSize);
+    }
+
+    /**
+     * @param since sequence number of the last change already applied, or {@code null} to only read the latest
+     *     sequence number
+     * @return at most {@code limit} creates and deletes after {@code since}, oldest first
+     */
+    CompletableFuture<EmployeeChanges> getChanges(Long since, int limit);
+
+    CompletableFuture<Employee> getEmployee(String employeeId);
+
+    /**
+     * Looks up many ids in one request.
+     * @return employees found, in the order of {@code employeeIds}; unknown ids are left out
+     */
+    CompletableFuture<List<Employee>> getEmployeesByIds(Collection<String> employeeIds);
+
+    CompletableFuture<Employee> createEmployee(CreateEmployeeRequest createEmployeeRequest);
+
+    /**
+     * Fails with a 404 {@link org.springframework.web.client.HttpClientErrorException} when there is no employee with
+     * {@code employeeId}.
+     */
+    CompletableFuture<Boolean> deleteEmployeeById(String employeeId);
+
+    /**
+     * Creates every employee in one request.
+     * @return one result per request, at the same index
+     */
+    CompletableFuture<List<BatchItem<Employee>>> createEmployees(List<CreateEmployeeRequest> createEmployeeRequests);
+
+    /**
+     * Deletes by id in one request.
+     * @return whether an employee was deleted, per id at the same index; ids that aren't UUIDs carry an error
+     */
+    CompletableFuture<List<BatchItem<Boolean>>> deleteEmployeesByIds(List<String> employeeIds);
+}
@@ -0,0 +1,54 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.dto.Employee;
+import com.reliaquest.api.dto.EmployeePage;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Walks the upstream list page by page, fetching the next page only once the current one is used up, so at most
+ * one page is held at a time. Upstream errors are thrown from {@link #hasNext()}.
+ */
+public class EmployeePageIterator implements Iterator<Employee> {
+
+    private final EmployeeApiClient employeeApiClient;
+
+    private final int pageSize;
+
+    private List<Employee> page = List.of();
+
+    private int index;
+
+    private String nextCursor;
+
+    private boolean lastPage;
+
+    public EmployeePageIterator(EmployeeApiClient employeeApiClient, int pageSize) {
+        this.employeeApiClient = employeeApiClient;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (index == page.size()) {
+            if (lastPage) {
+                return false;
+            }
+            EmployeePage next = Futures.await(employeeApiClient.getEmployeesPage(nextCursor, pageSize));
+            page = next.getData() == null ? List.of() : next.getData();
+            index = 0;
+            nextCursor = next.getNextCursor();
+            lastPage = nextCursor == null;
+        }
+        return true;
+    }
+
+    @Override
+    public Employee next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return page.get(index++);
+    }
+}
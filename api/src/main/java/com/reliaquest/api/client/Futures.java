@@ -0,0 +1,35 @@
+package com.reliaquest.api.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+public final class Futures {
+
+    private Futures() {}
+
+    /**
+     * Waits for {@code future} and rethrows the exception it failed with, rather than the
+     * {@link CompletionException} wrapping it, so blocking callers keep their usual error handling.
+     */
+    public static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            throw unwrap(ex);
+        }
+    }
+
+    public static RuntimeException unwrap(Throwable throwable) {
+        Throwable cause = throwable;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new CompletionException(cause);
+    }
+}
@@ -0,0 +1,80 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.dto.BatchItem;
+import com.reliaquest.api.dto.CreateEmployeeRequest;
+import com.reliaquest.api.dto.Employee;
+import com.reliaquest.api.dto.EmployeeChanges;
+import com.reliaquest.api.dto.EmployeeList;
+import com.reliaquest.api.dto.EmployeePage;
+import com.reliaquest.api.stream.EmployeeRowConsumer;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sends every call of the configured {@link EmployeeApiClient} through the {@link UpstreamGovernor}, so the api
+ * backs off from the Mock Employee API's rate limit instead of retrying into it. Shed calls fail with a 429
+ * {@link org.springframework.web.client.HttpClientErrorException}, the same as a 429 from the upstream.
+ */
+public class GovernedEmployeeApiClient implements EmployeeApiClient {
+
+    private final EmployeeApiClient delegate;
+
+    private final UpstreamGovernor governor;
+
+    public GovernedEmployeeApiClient(EmployeeApiClient delegate, UpstreamGovernor governor) {
+        this.delegate = delegate;
+        this.governor = governor;
+    }
+
+    @Override
+    public CompletableFuture<EmployeeList> getEmployees() {
+        return governor.submit(delegate::getEmployees);
+    }
+
+    @Override
+    public CompletableFuture<Void> streamEmployees(EmployeeRowConsumer consumer) {
+        return governor.submit(() -> delegate.streamEmployees(consumer));
+    }
+
+    @Override
+    public CompletableFuture<EmployeePage> getEmployeesPage(String cursor, int limit) {
+        return governor.submit(() -> delegate.getEmployeesPage(cursor, limit));
+    }
+
+    @Override
+    public CompletableFuture<EmployeeChanges> getChanges(Long since, int limit) {
+        return governor.submit(() -> delegate.getChanges(since, limit));
+    }
+
+    @Override
+    public CompletableFuture<Employee> getEmployee(String employeeId) {
+        return governor.submit(() -> delegate.getEmployee(employeeId));
+    }
+
+    @Override
+    public CompletableFuture<List<Employee>> getEmployeesByIds(Collection<String> employeeIds) {
+        return governor.submit(() -> delegate.getEmployeesByIds(employeeIds));
+    }
+
+    @Override
+    public CompletableFuture<Employee> createEmployee(CreateEmployeeRequest createEmployeeRequest) {
+        return governor.submit(() -> delegate.createEmployee(createEmployeeRequest));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteEmployeeById(String employeeId) {
+        return governor.submit(() -> delegate.deleteEmployeeById(employeeId));
+    }
+
+    @Override
+    public CompletableFuture<List<BatchItem<Employee>>> createEmployees(
+            List<CreateEmployeeRequest> createEmployeeRequests) {
+        return governor.submit(() -> delegate.createEmployees(createEmployeeRequests));
+    }
+
+    @Override
+    public CompletableFuture<List<BatchItem<Boolean>>> deleteEmployeesByIds(List<String> employeeIds) {
+        return governor.submit(() -> delegate.deleteEmployeesByIds(employeeIds));
+    }
+}
@@ -0,0 +1,335 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.dto.BatchCreateEmployeeResponse;
+import com.reliaquest.api.dto.BatchDeleteEmployeeResponse;
+import com.reliaquest.api.dto.BatchItem;
+import com.reliaquest.api.dto.CreateEmployeeRequest;
+import com.reliaquest.api.dto.DeleteEmployeeResponse;
+import com.reliaquest.api.dto.Employee;
+import com.reliaquest.api.dto.EmployeeChanges;
+import com.reliaquest.api.dto.EmployeeChangesResponse;
+import com.reliaquest.api.dto.EmployeeList;
+import com.reliaquest.api.dto.EmployeePage;
+import com.reliaquest.api.dto.EmployeeResponse;
+import com.reliaquest.api.dto.EmployeeResponseWrapper;
+import com.reliaquest.api.exception.EmployeeApiQueueFullException;
+import com.reliaquest.api.stream.EmployeeRowConsumer;
+import com.reliaquest.api.stream.EmployeeStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Non-blocking client on the shared JDK {@link HttpClient}; no thread waits while a request is in flight. Streamed
+ * rosters are the exception: they are parsed with blocking reads as the body arrives, on a pool of one thread per
+ * connection so that the HttpClient's own threads never wait on a slow body. At most
+ * {@code employee.api.http-client.max-connections} requests are sent at once and the rest queue without blocking,
+ * which bounds the number of upstream connections. At most {@code employee.api.http-client.max-queued} requests wait,
+ * and any more fail at once with an {@link EmployeeApiQueueFullException}; a request whose caller timed out leaves
+ * the queue without being sent.
+ * Selected with {@code employee.api.client=http-client}.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.api.client", havingValue = "http-client")
+public class HttpClientEmployeeApiClient implements EmployeeApiClient {
+
+    private final HttpClient httpClient;
+
+    private final ObjectMapper objectMapper;
+
+    private final EmployeeStreamReader employeeStreamReader;
+
+    private final String employeeApiUrl;
+
+    private final Duration readTimeout;
+
+    private final Duration totalTimeout;
+
+    private final Semaphore permits;
+
+    private final BlockingQueue<Queued<?>> waiting;
+
+    private final Executor streamParser;
+
+    @Autowired
+    public HttpClientEmployeeApiClient(
+            HttpClient employeeApiHttpClient,
+            ObjectMapper objectMapper,
+            EmployeeStreamReader employeeStreamReader,
+            @Value("${employee.api.url}") String employeeApiUrl,
+            @Value("${employee.api.http-client.max-connections:64}") int maxConnections,
+            @Value("${employee.api.http-client.max-queued:1000}") int maxQueued,
+            @Value("${employee.api.http-client.read-timeout:5s}") Duration readTimeout,
+            @Value("${employee.api.http-client.total-timeout:10s}") Duration totalTimeout) {
+        this.httpClient = employeeApiHttpClient;
+        this.objectMapper = objectMapper;
+        this.employeeStreamReader = employeeStreamReader;
+        this.employeeApiUrl = employeeApiUrl;
+        this.readTimeout = readTimeout;
+        this.totalTimeout = totalTimeout;
+        this.permits = new Semaphore(maxConnections);
+        this.waiting = new ArrayBlockingQueue<>(maxQueued);
+        // a stream holds its connection permit until it has been parsed, so more threads than connections never run
+        ThreadPoolExecutor streamParser = new ThreadPoolExecutor(
+                maxConnections,
+                maxConnections,
+                1,
+                TimeUnit.MINUTES,
+                new LinkedBlockingQueue<>(),
+                Thread.ofPlatform().name("employee-stream-", 0).daemon().factory());
+        streamParser.allowCoreThreadTimeOut(true);
+        this.streamParser = streamParser;
+    }
+
+    @Override
+    public CompletableFuture<EmployeeList> getEmployees() {
+        return exchange(request(employeeApiUrl).GET().build(), HttpResponse.BodyHandlers.ofByteArray(), response -> {
+            EmployeeResponseWrapper body = read(response, EmployeeResponseWrapper.class);
+            return new EmployeeList(
+                    body == null ? null : body.getData(),
+                    response.headers()
+                            .firstValue(EmployeeList.CHANGE_SEQUENCE_HEADER)
+                            .orElse(null));
+        });
+    }
+
+    /**
+     * The body is parsed on a stream parser thread while it arrives, and the connection permit is held until parsing
+     * has finished.
+     */
+    @Override
+    public CompletableFuture<Void> streamEmployees(EmployeeRowConsumer consumer) {
+        return exchange(
+                request(employeeApiUrl).GET().build(),
+                HttpResponse.BodyHandlers.ofInputStream(),
+                response -> {
+                    try (InputStream body = response.body()) {
+                        if (HttpStatusCode.valueOf(response.statusCode()).isError()) {
+                            throw error(response, body.readAllBytes());
+                        }
+                        employeeStreamReader.read(body, consumer);
+                        return null;
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                },
+                streamParser);
+    }
+
+    @Override
+    public CompletableFuture<EmployeePage> getEmployeesPage(String cursor, int limit) {
+        UriComponentsBuilder url = UriComponentsBuilder.fromHttpUrl(employeeApiUrl).queryParam("limit", limit);
+        if (cursor != null) {
+            url.queryParam("cursor", cursor);
+        }
+        return exchange(
+                request(url.encode().toUriString()).GET().build(), HttpResponse.BodyHandlers.ofByteArray(), response -> {
+                    EmployeeResponseWrapper body = read(response, EmployeeResponseWrapper.class);
+                    return new EmployeePage(
+                            body == null ? null : body.getData(),
+                            response.headers()
+                                    .firstValue(EmployeePage.NEXT_CURSOR_HEADER)
+                                    .orElse(null));
+                });
+    }
+
+    @Override
+    public CompletableFuture<EmployeeChanges> getChanges(Long since, int limit) {
+        UriComponentsBuilder url =
+                UriComponentsBuilder.fromHttpUrl(employeeApiUrl + "/changes").queryParam("limit", limit);
+        if (since != null) {
+            url.queryParam("since", since);
+        }
+        return send(request(url.encode().toUriString()).GET(), EmployeeChangesResponse.class)
+                .thenApply(body -> body == null ? null : body.getData());
+    }
+
+    @Override
+    public CompletableFuture<Employee> getEmployee(String employeeId) {
+        return send(request(employeeApiUrl + "/" + employeeId).GET(), EmployeeResponse.class)
+                .thenApply(body -> body == null ? null : body.getData());
+    }
+
+    @Override
+    public CompletableFuture<List<Employee>> getEmployeesByIds(Collection<String> employeeIds) {
+        return send(request(employeeApiUrl + "/batch").POST(json(employeeIds)), EmployeeResponseWrapper.class)
+                .thenApply(body -> body == null || body.getData() == null ? List.of() : body.getData());
+    }
+
+    @Override
+    public CompletableFuture<Employee> createEmployee(CreateEmployeeRequest createEmployeeRequest) {
+        return send(request(employeeApiUrl).POST(json(createEmployeeRequest)), EmployeeResponse.class)
+                .thenApply(body -> body == null ? null : body.getData());
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteEmployeeById(String employeeId) {
+        return send(request(employeeApiUrl + "/" + employeeId).DELETE(), DeleteEmployeeResponse.class)
+                .thenApply(body -> body != null && body.isData());
+    }
+
+    @Override
+    public CompletableFuture<List<BatchItem<Employee>>> createEmployees(
+            List<CreateEmployeeRequest> createEmployeeRequests) {
+        return send(
+                        request(employeeApiUrl + "/batch/create").POST(json(createEmployeeRequests)),
+                        BatchCreateEmployeeResponse.class)
+                .thenApply(body -> body == null ? null : body.getData());
+    }
+
+    @Override
+    public CompletableFuture<List<BatchItem<Boolean>>> deleteEmployeesByIds(List<String> employeeIds) {
+        return send(
+                        request(employeeApiUrl + "/batch/delete-by-id").POST(json(employeeIds)),
+                        BatchDeleteEmployeeResponse.class)
+                .thenApply(body -> body == null ? null : body.getData());
+    }
+
+    /**
+     * Returns the number of requests currently waiting for a free connection.
+     */
+    public int queueDepth() {
+        return waiting.size();
+    }
+
+    private HttpRequest.Builder request(String url) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(readTimeout)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private <T> CompletableFuture<T> send(HttpRequest.Builder builder, Class<T> responseType) {
+        return exchange(
+                builder.build(), HttpResponse.BodyHandlers.ofByteArray(), response -> read(response, responseType));
+    }
+
+    private <B, T> CompletableFuture<T> exchange(
+            HttpRequest request, HttpResponse.BodyHandler<B> bodyHandler, Function<HttpResponse<B>, T> reader) {
+        return exchange(request, bodyHandler, reader, Runnable::run);
+    }
+
+    /**
+     * Queues {@code request} for a free connection permit, which is released once {@code reader} has consumed the
+     * response on {@code readerExecutor}.
+     */
+    private <B, T> CompletableFuture<T> exchange(
+            HttpRequest request,
+            HttpResponse.BodyHandler<B> bodyHandler,
+            Function<HttpResponse<B>, T> reader,
+            Executor readerExecutor) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Queued<T> queued = new Queued<>(result, () -> httpClient
+                .sendAsync(request, bodyHandler)
+                .thenApplyAsync(reader, readerExecutor)
+                .whenComplete((value, ex) -> {
+                    permits.release();
+                    dispatch();
+                    if (ex != null) {
+                        result.completeExceptionally(ex);
+                    } else {
+                        result.complete(value);
+                    }
+                }));
+        if (!waiting.offer(queued)) {
+            result.completeExceptionally(queueFullError());
+            return result;
+        }
+        result.orTimeout(totalTimeout.toMillis(), TimeUnit.MILLISECONDS).whenComplete((value, ex) -> {
+            if (ex != null) {
+                waiting.remove(queued);
+            }
+        });
+        dispatch();
+        return result;
+    }
+
+    private void dispatch() {
+        while (!waiting.isEmpty() && permits.tryAcquire()) {
+            Queued<?> next = waiting.poll();
+            if (next == null) {
+                permits.release();
+                return;
+            }
+            if (next.result().isDone()) {
+                // the caller has given up; sending it would only spend upstream rate limit
+                permits.release();
+                continue;
+            }
+            try {
+                next.send().run();
+            } catch (RuntimeException ex) {
+                // sendAsync threw before the completion that releases the permit was attached
+                permits.release();
+                next.result().completeExceptionally(ex);
+            }
+        }
+    }
+
+    private static EmployeeApiQueueFullException queueFullError() {
+        return new EmployeeApiQueueFullException("Mock Employee API request queue is full", "1");
+    }
+
+    private <T> T read(HttpResponse<byte[]> response, Class<T> responseType) {
+        if (HttpStatusCode.valueOf(response.statusCode()).isError()) {
+            throw error(response, response.body());
+        }
+        if (response.body() == null || response.body().length == 0) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(response.body(), responseType);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static RuntimeException error(HttpResponse<?> response, byte[] body) {
+        HttpStatusCode status = HttpStatusCode.valueOf(response.statusCode());
+        HttpHeaders headers = new HttpHeaders();
+        response.headers().map().forEach(headers::addAll);
+        if (status.is4xxClientError()) {
+            return HttpClientErrorException.create(status, "", headers, body, StandardCharsets.UTF_8);
+        }
+        return HttpServerErrorException.create(status, "", headers, body, StandardCharsets.UTF_8);
+    }
+
+    private record Queued<T>(CompletableFuture<T> result, Runnable send) {}
+}
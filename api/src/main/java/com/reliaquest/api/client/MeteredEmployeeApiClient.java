@@ -0,0 +1,144 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.dto.BatchItem;
+import com.reliaquest.api.dto.CreateEmployeeRequest;
+import com.reliaquest.api.dto.Employee;
+import com.reliaquest.api.dto.EmployeeChanges;
+import com.reliaquest.api.dto.EmployeeList;
+import com.reliaquest.api.dto.EmployeePage;
+import com.reliaquest.api.exception.EmployeeApiQueueFullException;
+import com.reliaquest.api.stream.EmployeeRowConsumer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+
+/**
+ * Times every call of the configured {@link EmployeeApiClient} as {@code employee.api.upstream}, tagged with the
+ * operation, the upstream status and its outcome. Successful calls are tagged {@code 2xx}, since the clients don't
+ * surface the exact status; failures carry the status the Mock Employee API answered with, or {@code IO_ERROR} and
+ * {@code CLIENT_ERROR} when there was no response. Calls refused by a full client queue were never sent and are
+ * tagged {@code QUEUE_FULL}, so they don't show up as upstream 429s.
+ */
+public class MeteredEmployeeApiClient implements EmployeeApiClient {
+
+    static final String METRIC = "employee.api.upstream";
+
+    private final EmployeeApiClient delegate;
+
+    private final MeterRegistry meterRegistry;
+
+    public MeteredEmployeeApiClient(EmployeeApiClient delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public CompletableFuture<EmployeeList> getEmployees() {
+        return record("getEmployees", delegate::getEmployees);
+    }
+
+    @Override
+    public CompletableFuture<Void> streamEmployees(EmployeeRowConsumer consumer) {
+        return record("streamEmployees", () -> delegate.streamEmployees(consumer));
+    }
+
+    @Override
+    public CompletableFuture<EmployeePage> getEmployeesPage(String cursor, int limit) {
+        return record("getEmployeesPage", () -> delegate.getEmployeesPage(cursor, limit));
+    }
+
+    @Override
+    public CompletableFuture<EmployeeChanges> getChanges(Long since, int limit) {
+        return record("getChanges", () -> delegate.getChanges(since, limit));
+    }
+
+    @Override
+    public CompletableFuture<Employee> getEmployee(String employeeId) {
+        return record("getEmployee", () -> delegate.getEmployee(employeeId));
+    }
+
+    @Override
+    public CompletableFuture<List<Employee>> getEmployeesByIds(Collection<String> employeeIds) {
+        return record("getEmployeesByIds", () -> delegate.getEmployeesByIds(employeeIds));
+    }
+
+    @Override
+    public CompletableFuture<Employee> createEmployee(CreateEmployeeRequest createEmployeeRequest) {
+        return record("createEmployee", () -> delegate.createEmployee(createEmployeeRequest));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteEmployeeById(String employeeId) {
+        return record("deleteEmployeeById", () -> delegate.deleteEmployeeById(employeeId));
+    }
+
+    @Override
+    public CompletableFuture<List<BatchItem<Employee>>> createEmployees(
+            List<CreateEmployeeRequest> createEmployeeRequests) {
+        return record("createEmployees", () -> delegate.createEmployees(createEmployeeRequests));
+    }
+
+    @Override
+    public CompletableFuture<List<BatchItem<Boolean>>> deleteEmployeesByIds(List<String> employeeIds) {
+        return record("deleteEmployeesByIds", () -> delegate.deleteEmployeesByIds(employeeIds));
+    }
+
+    private <T> CompletableFuture<T> record(String operation, Supplier<CompletableFuture<T>> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException ex) {
+            future = CompletableFuture.failedFuture(ex);
+        }
+        return future.whenComplete((result, ex) -> {
+            Throwable cause = ex;
+            while (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            sample.stop(Timer.builder(METRIC)
+                    .description("Calls to the Mock Employee API")
+                    .tag("operation", operation)
+                    .tag("status", status(cause))
+                    .tag("outcome", outcome(cause))
+                    .register(meterRegistry));
+        });
+    }
+
+    private static String status(Throwable cause) {
+        if (cause == null) {
+            return "2xx";
+        }
+        if (cause instanceof RestClientResponseException responseException) {
+            return Integer.toString(responseException.getStatusCode().value());
+        }
+        if (cause instanceof EmployeeApiQueueFullException) {
+            return "QUEUE_FULL";
+        }
+        if (cause instanceof ResourceAccessException || cause instanceof IOException) {
+            return "IO_ERROR";
+        }
+        return "CLIENT_ERROR";
+    }
+
+    private static String outcome(Throwable cause) {
+        if (cause == null) {
+            return "SUCCESS";
+        }
+        if (cause instanceof RestClientResponseException responseException) {
+            HttpStatus.Series series = HttpStatus.Series.resolve(responseException.getStatusCode().value());
+            if (series != null) {
+                return series.name();
+            }
+        }
+        return "UNKNOWN";
+    }
+}
@@ -0,0 +1,196 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.dto.BatchCreateEmployeeResponse;
+import com.reliaquest.api.dto.BatchDeleteEmployeeResponse;
+import com.reliaquest.api.dto.BatchItem;
+import com.reliaquest.api.dto.CreateEmployeeRequest;
+import com.reliaquest.api.dto.DeleteEmployeeResponse;
+import com.reliaquest.api.dto.Employee;
+import com.reliaquest.api.dto.EmployeeChanges;
+import com.reliaquest.api.dto.EmployeeChangesResponse;
+import com.reliaquest.api.dto.EmployeeList;
+import com.reliaquest.api.dto.EmployeePage;
+import com.reliaquest.api.dto.EmployeeResponse;
+import com.reliaquest.api.dto.EmployeeResponseWrapper;
+import com.reliaquest.api.stream.EmployeeRowConsumer;
+import com.reliaquest.api.stream.EmployeeStreamReader;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Blocking client on the shared {@link RestTemplate}. The returned futures are already complete when a method
+ * returns. This is the default, selected with {@code employee.api.client=rest-template}.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.api.client", havingValue = "rest-template", matchIfMissing = true)
+public class RestTemplateEmployeeApiClient implements EmployeeApiClient {
+
+    private final RestTemplate restTemplate;
+
+    private final EmployeeStreamReader employeeStreamReader;
+
+    private final String employeeApiUrl;
+
+    @Autowired
+    public RestTemplateEmployeeApiClient(
+            RestTemplate restTemplate,
+            EmployeeStreamReader employeeStreamReader,
+            @Value("${employee.api.url}") String employeeApiUrl) {
+        this.restTemplate = restTemplate;
+        this.employeeStreamReader = employeeStreamReader;
+        this.employeeApiUrl = employeeApiUrl;
+    }
+
+    @Override
+    public CompletableFuture<EmployeeList> getEmployees() {
+        return call(() -> {
+            ResponseEntity<EmployeeResponseWrapper> response =
+                    restTemplate.exchange(employeeApiUrl, HttpMethod.GET, null, EmployeeResponseWrapper.class);
+            EmployeeResponseWrapper body = response.getBody();
+            return new EmployeeList(
+                    body == null ? null : body.getData(),
+                    response.getHeaders().getFirst(EmployeeList.CHANGE_SEQUENCE_HEADER));
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> streamEmployees(EmployeeRowConsumer consumer) {
+        return call(() -> restTemplate.<Void>execute(
+                employeeApiUrl,
+                HttpMethod.GET,
+                request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON)),
+                response -> {
+                    employeeStreamReader.read(response.getBody(), consumer);
+                    return null;
+                }));
+    }
+
+    @Override
+    public CompletableFuture<EmployeePage> getEmployeesPage(String cursor, int limit) {
+        return call(() -> {
+            ResponseEntity<EmployeeResponseWrapper> response =
+                    restTemplate.exchange(pageUrl(cursor, limit), HttpMethod.GET, null, EmployeeResponseWrapper.class);
+            EmployeeResponseWrapper body = response.getBody();
+            return new EmployeePage(
+                    body == null ? null : body.getData(),
+                    response.getHeaders().getFirst(EmployeePage.NEXT_CURSOR_HEADER));
+        });
+    }
+
+    @Override
+    public CompletableFuture<EmployeeChanges> getChanges(Long since, int limit) {
+        return call(() -> {
+            ResponseEntity<EmployeeChangesResponse> response = restTemplate.exchange(
+                    changesUrl(since, limit), HttpMethod.GET, null, EmployeeChangesResponse.class);
+            return response.getBody() == null ? null : response.getBody().getData();
+        });
+    }
+
+    @Override
+    public CompletableFuture<Employee> getEmployee(String employeeId) {
+        return call(() -> {
+            ResponseEntity<EmployeeResponse> response = restTemplate.exchange(
+                    employeeApiUrl + "/" + employeeId, HttpMethod.GET, null, EmployeeResponse.class);
+            return response.getBody() == null ? null : response.getBody().getData();
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<Employee>> getEmployeesByIds(Collection<String> employeeIds) {
+        return call(() -> {
+            HttpEntity<Collection<String>> requestEntity = new HttpEntity<>(employeeIds, jsonHeader());
+            ResponseEntity<EmployeeResponseWrapper> response = restTemplate.postForEntity(
+                    employeeApiUrl + "/batch", requestEntity, EmployeeResponseWrapper.class);
+            EmployeeResponseWrapper body = response.getBody();
+            return body == null || body.getData() == null ? List.of() : body.getData();
+        });
+    }
+
+    @Override
+    public CompletableFuture<Employee> createEmployee(CreateEmployeeRequest createEmployeeRequest) {
+        return call(() -> {
+            HttpEntity<CreateEmployeeRequest> requestEntity = new HttpEntity<>(createEmployeeRequest, jsonHeader());
+            ResponseEntity<EmployeeResponse> response =
+                    restTemplate.postForEntity(employeeApiUrl, requestEntity, EmployeeResponse.class);
+            return response.getBody() == null ? null : response.getBody().getData();
+        });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteEmployeeById(String employeeId) {
+        return call(() -> {
+            ResponseEntity<DeleteEmployeeResponse> response = restTemplate.exchange(
+                    employeeApiUrl + "/" + employeeId, HttpMethod.DELETE, null, DeleteEmployeeResponse.class);
+            return response.getStatusCode().is2xxSuccessful()
+                    && response.getBody() != null
+                    && response.getBody().isData();
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<BatchItem<Employee>>> createEmployees(
+            List<CreateEmployeeRequest> createEmployeeRequests) {
+        return call(() -> {
+            HttpEntity<List<CreateEmployeeRequest>> requestEntity =
+                    new HttpEntity<>(createEmployeeRequests, jsonHeader());
+            ResponseEntity<BatchCreateEmployeeResponse> response = restTemplate.postForEntity(
+                    employeeApiUrl + "/batch/create", requestEntity, BatchCreateEmployeeResponse.class);
+            return response.getBody() == null ? null : response.getBody().getData();
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<BatchItem<Boolean>>> deleteEmployeesByIds(List<String> employeeIds) {
+        return call(() -> {
+            HttpEntity<List<String>> requestEntity = new HttpEntity<>(employeeIds, jsonHeader());
+            ResponseEntity<BatchDeleteEmployeeResponse> response = restTemplate.postForEntity(
+                    employeeApiUrl + "/batch/delete-by-id", requestEntity, BatchDeleteEmployeeResponse.class);
+            return response.getBody() == null ? null : response.getBody().getData();
+        });
+    }
+
+    private String pageUrl(String cursor, int limit) {
+        UriComponentsBuilder builder =
+                UriComponentsBuilder.fromHttpUrl(employeeApiUrl).queryParam("limit", limit);
+        if (cursor != null) {
+            builder.queryParam("cursor", cursor);
+        }
+        return builder.encode().toUriString();
+    }
+
+    private String changesUrl(Long since, int limit) {
+        UriComponentsBuilder builder =
+                UriComponentsBuilder.fromHttpUrl(employeeApiUrl + "/changes").queryParam("limit", limit);
+        if (since != null) {
+            builder.queryParam("since", since);
+        }
+        return builder.encode().toUriString();
+    }
+
+    private static <T> CompletableFuture<T> call(Supplier<T> request) {
+        try {
+            return CompletableFuture.completedFuture(request.get());
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    private static HttpHeaders jsonHeader() {
+        HttpHeaders header = new HttpHeaders();
+        header.setContentType(MediaType.APPLICATION_JSON);
+        return header;
+    }
+}
@@ -0,0 +1,276 @@
+package com.reliaquest.api.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
+
+/**
+ * Paces calls to the Mock Employee API at a permitted rate learned from its 429 responses (additive increase,
+ * multiplicative decrease). Every successful call raises the rate by {@code increase / rate}, about {@code increase}
+ * calls per second for each second of success, and a 429 multiplies it by {@code decrease} and holds all calls until
+ * the response's {@code Retry-After} has passed. Calls are spaced evenly at the current rate, and one that would wait
+ * longer than {@code maxWait} for its turn is failed with a local 429 instead of being sent.
+ */
+public class UpstreamGovernor implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamGovernor.class);
+
+    private final Executor executor;
+
+    private final LongSupplier nanoTime;
+
+    private final double minRate;
+
+    private final double maxRate;
+
+    private final double increase;
+
+    private final double decrease;
+
+    private final long maxWaitNanos;
+
+    private final Object lock = new Object();
+
+    // calls per second; written under lock, read unguarded by the gauge
+    private volatile double rate;
+
+    // earliest start of the next call, and end of the current Retry-After hold; guarded by lock
+    private long nextSlot;
+
+    private long throttledUntil;
+
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final AtomicLong shed = new AtomicLong();
+
+    private final AtomicLong throttled = new AtomicLong();
+
+    public UpstreamGovernor(
+            Executor executor,
+            double initialRate,
+            double minRate,
+            double maxRate,
+            double increase,
+            double decrease,
+            Duration maxWait) {
+        this(executor, initialRate, minRate, maxRate, increase, decrease, maxWait, System::nanoTime);
+    }
+
+    UpstreamGovernor(
+            Executor executor,
+            double initialRate,
+            double minRate,
+            double maxRate,
+            double increase,
+            double decrease,
+            Duration maxWait,
+            LongSupplier nanoTime) {
+        if (minRate <= 0 || minRate > maxRate || decrease <= 0 || decrease >= 1) {
+            throw new IllegalArgumentException(
+                    "Governor rates must satisfy 0 < min-rate <= max-rate and 0 < decrease < 1");
+        }
+        this.executor = executor;
+        this.nanoTime = nanoTime;
+        this.minRate = minRate;
+        this.maxRate = maxRate;
+        this.increase = increase;
+        this.decrease = decrease;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.rate = Math.max(minRate, Math.min(maxRate, initialRate));
+        this.nextSlot = nanoTime.getAsLong();
+        this.throttledUntil = nextSlot;
+    }
+
+    /**
+     * Starts {@code call} once its turn comes, right away when calls are arriving slower than the permitted rate.
+     * @return the call's future, or one failed with a 429 {@link HttpClientErrorException} if the call was shed
+     */
+    public <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> call) {
+        long now = nanoTime.getAsLong();
+        long wait;
+        synchronized (lock) {
+            wait = Math.max(nextSlot - now, 0);
+            if (wait > maxWaitNanos) {
+                shed.incrementAndGet();
+                return CompletableFuture.failedFuture(shedError(wait));
+            }
+            nextSlot = now + wait + intervalNanos();
+        }
+        if (wait == 0) {
+            return send(call);
+        }
+        queued.incrementAndGet();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        CompletableFuture.delayedExecutor(wait, TimeUnit.NANOSECONDS, executor).execute(() -> {
+            queued.decrementAndGet();
+            long holdLeft = holdLeft();
+            CompletableFuture<T> sent;
+            if (holdLeft > 0) {
+                // a 429 arrived while this call was queued
+                shed.incrementAndGet();
+                sent = CompletableFuture.failedFuture(shedError(holdLeft));
+            } else {
+                sent = send(call);
+            }
+            sent.whenComplete((value, ex) -> {
+                if (ex != null) {
+                    result.completeExceptionally(Futures.unwrap(ex));
+                } else {
+                    result.complete(value);
+                }
+            });
+        });
+        return result;
+    }
+
+    /**
+     * @return calls per second currently permitted
+     */
+    public double permittedRate() {
+        return rate;
+    }
+
+    /**
+     * @return calls waiting for their turn
+     */
+    public int queueDepth() {
+        return queued.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employee.api.governor.rate", this, UpstreamGovernor::permittedRate)
+                .description("Calls per second currently permitted to the Mock Employee API")
+                .register(registry);
+        Gauge.builder("employee.api.governor.queue", queued, AtomicInteger::get)
+                .description("Calls waiting for their turn to the Mock Employee API")
+                .register(registry);
+        FunctionCounter.builder("employee.api.governor.shed", shed, AtomicLong::get)
+                .description("Calls failed locally instead of being sent to the Mock Employee API")
+                .register(registry);
+        FunctionCounter.builder("employee.api.governor.throttled", throttled, AtomicLong::get)
+                .description("429 responses from the Mock Employee API")
+                .register(registry);
+    }
+
+    /**
+     * @return whether {@code ex} is a 429, from the Mock Employee API or from a call the governor shed
+     */
+    public static boolean isThrottled(Throwable ex) {
+        Throwable cause = ex;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause instanceof HttpStatusCodeException statusException
+                && statusException.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    private <T> CompletableFuture<T> send(Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException ex) {
+            future = CompletableFuture.failedFuture(ex);
+        }
+        return future.whenComplete((result, ex) -> {
+            if (ex == null) {
+                onSuccess();
+            } else if (isThrottled(ex)) {
+                onThrottled(retryAfterNanos(Futures.unwrap(ex)));
+            }
+        });
+    }
+
+    private void onSuccess() {
+        synchronized (lock) {
+            rate = Math.min(maxRate, rate + increase / rate);
+        }
+    }
+
+    /**
+     * Calls that were already in flight when the first 429 came back answer with 429s of their own; those extend the
+     * hold but don't cut the rate again.
+     */
+    private void onThrottled(long retryAfterNanos) {
+        throttled.incrementAndGet();
+        long now = nanoTime.getAsLong();
+        double permitted;
+        long hold;
+        synchronized (lock) {
+            boolean holding = throttledUntil - now > 0;
+            if (!holding) {
+                rate = Math.max(minRate, rate * decrease);
+            }
+            long until = now + (retryAfterNanos > 0 ? retryAfterNanos : intervalNanos());
+            if (until - throttledUntil > 0) {
+                throttledUntil = until;
+            }
+            if (throttledUntil - nextSlot > 0) {
+                nextSlot = throttledUntil;
+            }
+            if (holding) {
+                return;
+            }
+            permitted = rate;
+            hold = throttledUntil - now;
+        }
+        logger.warn(
+                "onThrottled() : Mock Employee API answered 429, permitted rate is now {}/s, holding calls for {}ms",
+                String.format("%.2f", permitted),
+                TimeUnit.NANOSECONDS.toMillis(hold));
+    }
+
+    private long holdLeft() {
+        long now = nanoTime.getAsLong();
+        synchronized (lock) {
+            return Math.max(throttledUntil - now, 0);
+        }
+    }
+
+    private long intervalNanos() {
+        return (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+    }
+
+    /**
+     * Only the delta-seconds form is read, which is what the Mock Employee API sends.
+     */
+    private static long retryAfterNanos(RuntimeException ex) {
+        if (!(ex instanceof HttpStatusCodeException statusException)
+                || statusException.getResponseHeaders() == null) {
+            return 0;
+        }
+        String retryAfter = statusException.getResponseHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        if (retryAfter == null) {
+            return 0;
+        }
+        try {
+            return TimeUnit.SECONDS.toNanos(Long.parseLong(retryAfter.trim()));
+        } catch (NumberFormatException ignored) {
+            return 0;
+        }
+    }
+
+    private static HttpClientErrorException shedError(long waitNanos) {
+        HttpHeaders headers = new HttpHeaders();
+        long seconds = Math.ceilDiv(waitNanos, TimeUnit.SECONDS.toNanos(1));
+        headers.set(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(seconds, 1)));
+        return HttpClientErrorException.create(
+                HttpStatus.TOO_MANY_REQUESTS, "Mock Employee API calls are being throttled", headers, null, null);
+    }
+}
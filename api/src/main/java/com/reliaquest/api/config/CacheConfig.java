@@ -1,7 +1,10 @@
 package com.reliaquest.api.config;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
-import java.util.concurrent.TimeUnit;
+import com.reliaquest.api.roster.LastKnownGoodProperties;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
@@ -10,17 +13,21 @@ import org.springframework.context.annotation.Configuration;
 
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties(LastKnownGoodProperties.class)
 public class CacheConfig {
 
     /**
      * configures Caffeine cache with CacheManager with some configuration
+     * Creates and deletes made through this api are written through to employeeById, so its entries only go stale
+     * when the upstream is changed by someone else
      */
     @Bean
-    public CacheManager cacheManager() {
+    public CacheManager cacheManager(
+            @Value("${employee.cache.by-id.expire-after-write:1h}") Duration expireAfterWrite) {
         CaffeineCacheManager cacheManager = new CaffeineCacheManager("employeeById");
         cacheManager.setCaffeine(Caffeine.newBuilder()
                 .maximumSize(1000)
-                .expireAfterWrite(10, TimeUnit.MINUTES)
+                .expireAfterWrite(expireAfterWrite)
                 .recordStats());
         return cacheManager;
     }
@@ -0,0 +1,52 @@
+package com.reliaquest.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.stream.EmployeeStreamReader;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+@Configuration
+public class EmployeeApiClientConfig {
+
+    /**
+     * JDK HttpClient shared by every upstream client, so both keep alive and reuse the same connections.
+     * With spring.threads.virtual.enabled its response handling also runs on virtual threads.
+     */
+    @Bean
+    public HttpClient employeeApiHttpClient(
+            @Value("${employee.api.http-client.version:HTTP_2}") HttpClient.Version version,
+            @Value("${employee.api.http-client.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(version)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NEVER);
+        if (virtualThreads) {
+            builder.executor(Executors.newVirtualThreadPerTaskExecutor());
+        }
+        return builder.build();
+    }
+
+    /**
+     * RestTemplate on the shared HttpClient instead of a new HttpURLConnection per request
+     */
+    @Bean
+    public RestTemplate restTemplate(
+            HttpClient employeeApiHttpClient,
+            @Value("${employee.api.http-client.read-timeout:5s}") Duration readTimeout) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(employeeApiHttpClient);
+        requestFactory.setReadTimeout(readTimeout);
+        return new RestTemplate(requestFactory);
+    }
+
+    @Bean
+    public EmployeeStreamReader employeeStreamReader(ObjectMapper objectMapper) {
+        return new EmployeeStreamReader(objectMapper.getFactory());
+    }
+}
@@ -0,0 +1,44 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.client.EmployeeApiClient;
+import java.util.function.UnaryOperator;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+
+/**
+ * Wraps whichever {@link EmployeeApiClient} is configured. Decorators with a lower order are applied first and so
+ * sit closer to the real client.
+ */
+final class EmployeeApiClientDecorator implements BeanPostProcessor, Ordered {
+
+    // timing wraps the real client, so queueing and shedding by the governor is not counted as upstream latency
+    static final int METRICS = 0;
+
+    static final int GOVERNOR = 1;
+
+    private final int order;
+
+    private final Class<? extends EmployeeApiClient> decoratorType;
+
+    private final UnaryOperator<EmployeeApiClient> decorator;
+
+    EmployeeApiClientDecorator(
+            int order, Class<? extends EmployeeApiClient> decoratorType, UnaryOperator<EmployeeApiClient> decorator) {
+        this.order = order;
+        this.decoratorType = decoratorType;
+        this.decorator = decorator;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof EmployeeApiClient client && !decoratorType.isInstance(bean)) {
+            return decorator.apply(client);
+        }
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return order;
+    }
+}
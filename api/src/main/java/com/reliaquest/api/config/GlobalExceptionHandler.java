@@ -2,9 +2,11 @@ package com.reliaquest.api.config;
 
 import com.reliaquest.api.exception.CustomRuntimeException;
 import com.reliaquest.api.exception.EmployeeAlreadyExistsException;
+import com.reliaquest.api.exception.EmployeeApiThrottledException;
 import com.reliaquest.api.exception.EmployeeNotFoundException;
 import com.reliaquest.api.exception.ErrorResponse;
 import java.time.LocalDateTime;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -42,6 +44,13 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex) {
+        ErrorResponse errorResponse =
+                new ErrorResponse(LocalDateTime.now(), ex.getMessage(), HttpStatus.BAD_REQUEST.value());
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(MissingPathVariableException.class)
     public ResponseEntity<ErrorResponse> handleMissingPathVariable(MissingPathVariableException ex) {
         ErrorResponse errorResponse = new ErrorResponse();
@@ -70,6 +79,17 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(EmployeeApiThrottledException.class)
+    public ResponseEntity<ErrorResponse> handleThrottled(EmployeeApiThrottledException ex) {
+        ErrorResponse errorResponse =
+                new ErrorResponse(LocalDateTime.now(), ex.getMessage(), HttpStatus.TOO_MANY_REQUESTS.value());
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS);
+        if (ex.getRetryAfter() != null) {
+            response.header(HttpHeaders.RETRY_AFTER, ex.getRetryAfter());
+        }
+        return response.body(errorResponse);
+    }
+
     @ExceptionHandler(NoHandlerFoundException.class)
     public ResponseEntity<ErrorResponse> handleNoHandlerFoundException(NoHandlerFoundException ex) {
         ErrorResponse errorResponse = new ErrorResponse();
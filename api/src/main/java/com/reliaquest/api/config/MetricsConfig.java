@@ -0,0 +1,72 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.client.MeteredEmployeeApiClient;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metrics on top of what Actuator already publishes for HTTP requests, the {@code employeeById} cache and the
+ * resilience4j instances, all scraped from {@code /actuator/prometheus}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Wraps whichever {@link EmployeeApiClient} is configured, so every upstream call is timed without either
+     * implementation knowing about it.
+     */
+    @Bean
+    static EmployeeApiClientDecorator employeeApiClientMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new EmployeeApiClientDecorator(
+                EmployeeApiClientDecorator.METRICS,
+                MeteredEmployeeApiClient.class,
+                client -> new MeteredEmployeeApiClient(client, meterRegistry.getObject()));
+    }
+
+    /**
+     * Counts circuit breaker state transitions and retry events. The gauges resilience4j publishes only show the
+     * current state, so a breaker that opened and closed again between scrapes would otherwise go unnoticed.
+     */
+    @Bean
+    public MeterBinder resilienceEventMetrics(
+            CircuitBreakerRegistry circuitBreakerRegistry, RetryRegistry retryRegistry) {
+        return registry -> {
+            circuitBreakerRegistry.getAllCircuitBreakers().forEach(breaker -> countTransitions(breaker, registry));
+            circuitBreakerRegistry
+                    .getEventPublisher()
+                    .onEntryAdded(event -> countTransitions(event.getAddedEntry(), registry));
+            retryRegistry.getAllRetries().forEach(retry -> countEvents(retry, registry));
+            retryRegistry.getEventPublisher().onEntryAdded(event -> countEvents(event.getAddedEntry(), registry));
+        };
+    }
+
+    private static void countTransitions(CircuitBreaker breaker, MeterRegistry registry) {
+        breaker.getEventPublisher()
+                .onStateTransition(event -> Counter.builder("resilience4j.circuitbreaker.transitions")
+                        .description("Circuit breaker state transitions")
+                        .tag("name", breaker.getName())
+                        .tag("from", event.getStateTransition().getFromState().name())
+                        .tag("to", event.getStateTransition().getToState().name())
+                        .register(registry)
+                        .increment());
+    }
+
+    private static void countEvents(Retry retry, MeterRegistry registry) {
+        retry.getEventPublisher()
+                .onEvent(event -> Counter.builder("resilience4j.retry.events")
+                        .description("Retry attempts, and calls that succeeded or failed after retrying")
+                        .tag("name", retry.getName())
+                        .tag("kind", event.getEventType().name())
+                        .register(registry)
+                        .increment());
+    }
+}
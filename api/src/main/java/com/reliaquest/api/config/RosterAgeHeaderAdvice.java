@@ -0,0 +1,43 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.roster.RosterAge;
+import java.time.Duration;
+import java.time.Instant;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds an {@code Age} header, in seconds since the roster was fetched from the Mock Employee API, to responses built
+ * from a roster snapshot, so clients can tell a last-known-good answer from a fresh one.
+ */
+@RestControllerAdvice
+public class RosterAgeHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(
+            Object body,
+            MethodParameter returnType,
+            MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            ServerHttpRequest request,
+            ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && servletRequest.getServletRequest().getAttribute(RosterAge.FETCHED_AT) instanceof Instant fetchedAt) {
+            long seconds = Math.max(Duration.between(fetchedAt, Instant.now()).toSeconds(), 0);
+            response.getHeaders().set(HttpHeaders.AGE, Long.toString(seconds));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,44 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.client.GovernedEmployeeApiClient;
+import com.reliaquest.api.client.UpstreamGovernor;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Paces upstream calls with an {@link UpstreamGovernor}, on unless {@code employee.api.governor.enabled=false}. Its
+ * permitted rate and queue depth are published as {@code employee.api.governor.*} metrics.
+ */
+@Configuration
+@ConditionalOnProperty(name = "employee.api.governor.enabled", havingValue = "true", matchIfMissing = true)
+public class UpstreamGovernorConfig {
+
+    /**
+     * @param executor starts calls that had to wait for their turn
+     */
+    @Bean
+    public UpstreamGovernor upstreamGovernor(
+            @Qualifier("applicationTaskExecutor") Executor executor,
+            @Value("${employee.api.governor.initial-rate:20}") double initialRate,
+            @Value("${employee.api.governor.min-rate:0.2}") double minRate,
+            @Value("${employee.api.governor.max-rate:200}") double maxRate,
+            @Value("${employee.api.governor.increase:1}") double increase,
+            @Value("${employee.api.governor.decrease:0.5}") double decrease,
+            @Value("${employee.api.governor.max-wait:1s}") Duration maxWait) {
+        return new UpstreamGovernor(executor, initialRate, minRate, maxRate, increase, decrease, maxWait);
+    }
+
+    @Bean
+    static EmployeeApiClientDecorator employeeApiClientGovernor(ObjectProvider<UpstreamGovernor> governor) {
+        return new EmployeeApiClientDecorator(
+                EmployeeApiClientDecorator.GOVERNOR,
+                GovernedEmployeeApiClient.class,
+                client -> new GovernedEmployeeApiClient(client, governor.getObject()));
+    }
+}
@@ -0,0 +1,116 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.dto.BatchItemResult;
+import com.reliaquest.api.dto.CreateEmployeeRequest;
+import com.reliaquest.api.dto.Employee;
+import com.reliaquest.api.service.IEmployeeAsyncService;
+import jakarta.validation.Valid;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Registered in place of {@link EmployeeControllerImpl} when {@code employee.api.async=true}.
+ */
+@RestController
+@RequestMapping(path = "/api/v1/employee")
+@ConditionalOnProperty(name = "employee.api.async", havingValue = "true")
+public class EmployeeAsyncControllerImpl implements IEmployeeAsyncController {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeAsyncControllerImpl.class);
+    private final IEmployeeAsyncService employeeAsyncService;
+
+    @Autowired
+    public EmployeeAsyncControllerImpl(IEmployeeAsyncService employeeAsyncService) {
+        this.employeeAsyncService = employeeAsyncService;
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<List<Employee>>> getAllEmployees() {
+        return employeeAsyncService.getAllEmployees().thenApply(ResponseEntity::ok);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<List<Employee>>> getEmployeesPage(
+            @RequestParam("limit") int limit, @RequestParam(value = "cursor", required = false) String cursor) {
+        logger.info("EmployeeAsyncControllerImpl : getEmployeesPage() : limit : {} : cursor : {}", limit, cursor);
+        return employeeAsyncService.getEmployeesPage(cursor, limit).thenApply(EmployeeControllerImpl::pageResponse);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(
+            @PathVariable("searchString") String employeeName) {
+        logger.info("EmployeeAsyncControllerImpl : getEmployeesByNameSearch() : employeeName : {}", employeeName);
+        return employeeAsyncService.getEmployeesByNameSearch(employeeName).thenApply(ResponseEntity::ok);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Employee>> getEmployeeById(@PathVariable("id") String employeeId) {
+        logger.info("EmployeeAsyncControllerImpl : getEmployeeById() : employeeId : {}", employeeId);
+        return employeeAsyncService.getEmployeeById(employeeId).thenApply(ResponseEntity::ok);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<List<Employee>>> getEmployeesByIds(
+            @RequestBody List<String> employeeIds) {
+        logger.info("EmployeeAsyncControllerImpl : getEmployeesByIds() : employeeIds : {}", employeeIds);
+        return employeeAsyncService.getEmployeesByIds(employeeIds).thenApply(ResponseEntity::ok);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Integer>> getHighestSalaryOfEmployees() {
+        return employeeAsyncService.getHighestSalaryOfEmployees().thenApply(ResponseEntity::ok);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames() {
+        return employeeAsyncService.getTopTenHighestEarningEmployeeNames().thenApply(ResponseEntity::ok);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<List<Employee>>> getTopEarners(
+            @RequestParam(value = "n", defaultValue = "10") int count) {
+        logger.info("EmployeeAsyncControllerImpl : getTopEarners() : n : {}", count);
+        return employeeAsyncService.getTopEarners(count).thenApply(ResponseEntity::ok);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Employee>> createEmployee(
+            @Valid @RequestBody CreateEmployeeRequest createEmployeeRequest) {
+        logger.info(
+                "EmployeeAsyncControllerImpl : createEmployee() : createEmployeeRequest : {}", createEmployeeRequest);
+        return employeeAsyncService
+                .createEmployee(createEmployeeRequest)
+                .thenApply(employee -> new ResponseEntity<>(employee, HttpStatus.CREATED));
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<String>> deleteEmployeeById(@PathVariable("id") String employeeId) {
+        logger.info("EmployeeAsyncControllerImpl : deleteEmployeeById() : employeeId : {}", employeeId);
+        return employeeAsyncService.deleteEmployeeById(employeeId).thenApply(ResponseEntity::ok);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<List<BatchItemResult<Employee>>>> createEmployees(
+            @RequestBody List<CreateEmployeeRequest> createEmployeeRequests) {
+        logger.info("EmployeeAsyncControllerImpl : createEmployees() : requests : {}", createEmployeeRequests.size());
+        return employeeAsyncService.createEmployees(createEmployeeRequests).thenApply(ResponseEntity::ok);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<List<BatchItemResult<String>>>> deleteEmployeesByIds(
+            @RequestBody List<String> employeeIds) {
+        logger.info("EmployeeAsyncControllerImpl : deleteEmployeesByIds() : employeeIds : {}", employeeIds);
+        return employeeAsyncService.deleteEmployeesByIds(employeeIds).thenApply(ResponseEntity::ok);
+    }
+}
@@ -1,7 +1,9 @@
 package com.reliaquest.api.controller;
 
+import com.reliaquest.api.dto.BatchItemResult;
 import com.reliaquest.api.dto.CreateEmployeeRequest;
 import com.reliaquest.api.dto.Employee;
+import com.reliaquest.api.dto.EmployeePage;
 import com.reliaquest.api.service.EmployeeServiceImpl;
 import com.reliaquest.api.service.IEmployeeService;
 import jakarta.validation.Valid;
@@ -9,15 +11,18 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
 @RequestMapping(path = "/api/v1/employee")
+@ConditionalOnProperty(name = "employee.api.async", havingValue = "false", matchIfMissing = true)
 public class EmployeeControllerImpl implements IEmployeeController {
 
     private static final Logger logger = LoggerFactory.getLogger(EmployeeServiceImpl.class);
@@ -33,6 +38,13 @@ public class EmployeeControllerImpl implements IEmployeeController {
         return ResponseEntity.ok(iEmployeeService.getAllEmployees());
     }
 
+    @Override
+    public ResponseEntity<List<Employee>> getEmployeesPage(
+            @RequestParam("limit") int limit, @RequestParam(value = "cursor", required = false) String cursor) {
+        logger.info("IEmployeeControllerImpl : getEmployeesPage() : limit : {} : cursor : {}", limit, cursor);
+        return pageResponse(iEmployeeService.getEmployeesPage(cursor, limit));
+    }
+
     @Override
     public ResponseEntity<List<Employee>> getEmployeesByNameSearch(@PathVariable("searchString") String employeeName) {
         logger.info("IEmployeeControllerImpl : getEmployeesByNameSearch() : employeeName : {}", employeeName);
@@ -45,6 +57,12 @@ public class EmployeeControllerImpl implements IEmployeeController {
         return ResponseEntity.ok(iEmployeeService.getEmployeeById(employeeId));
     }
 
+    @Override
+    public ResponseEntity<List<Employee>> getEmployeesByIds(@RequestBody List<String> employeeIds) {
+        logger.info("IEmployeeControllerImpl : getEmployeesByIds() : employeeIds : {}", employeeIds);
+        return ResponseEntity.ok(iEmployeeService.getEmployeesByIds(employeeIds));
+    }
+
     @Override
     public ResponseEntity<Integer> getHighestSalaryOfEmployees() {
         return ResponseEntity.ok(iEmployeeService.getHighestSalaryOfEmployees());
@@ -55,6 +73,12 @@ public class EmployeeControllerImpl implements IEmployeeController {
         return ResponseEntity.ok(iEmployeeService.getTopTenHighestEarningEmployeeNames());
     }
 
+    @Override
+    public ResponseEntity<List<Employee>> getTopEarners(@RequestParam(value = "n", defaultValue = "10") int count) {
+        logger.info("IEmployeeControllerImpl : getTopEarners() : n : {}", count);
+        return ResponseEntity.ok(iEmployeeService.getTopEarners(count));
+    }
+
     @Override
     public ResponseEntity<Employee> createEmployee(@Valid @RequestBody CreateEmployeeRequest createEmployeeRequest) {
         logger.info("IEmployeeControllerImpl : createEmployee() : createEmployeeRequest : {}", createEmployeeRequest);
@@ -67,4 +91,25 @@ public class EmployeeControllerImpl implements IEmployeeController {
         logger.info("IEmployeeControllerImpl : deleteEmployeeById() : employeeId : {}", employeeId);
         return ResponseEntity.ok(iEmployeeService.deleteEmployeeById(employeeId));
     }
+
+    @Override
+    public ResponseEntity<List<BatchItemResult<Employee>>> createEmployees(
+            @RequestBody List<CreateEmployeeRequest> createEmployeeRequests) {
+        logger.info("IEmployeeControllerImpl : createEmployees() : requests : {}", createEmployeeRequests.size());
+        return ResponseEntity.ok(iEmployeeService.createEmployees(createEmployeeRequests));
+    }
+
+    @Override
+    public ResponseEntity<List<BatchItemResult<String>>> deleteEmployeesByIds(@RequestBody List<String> employeeIds) {
+        logger.info("IEmployeeControllerImpl : deleteEmployeesByIds() : employeeIds : {}", employeeIds);
+        return ResponseEntity.ok(iEmployeeService.deleteEmployeesByIds(employeeIds));
+    }
+
+    static ResponseEntity<List<Employee>> pageResponse(EmployeePage page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(EmployeePage.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getData() == null ? List.of() : page.getData());
+    }
 }
@@ -0,0 +1,63 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.dto.BatchItemResult;
+import com.reliaquest.api.dto.CreateEmployeeRequest;
+import com.reliaquest.api.dto.Employee;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+
+/**
+ * Same endpoints as {@link IEmployeeController}, completed asynchronously so the request thread is released while
+ * the upstream call is in flight.
+ */
+public interface IEmployeeAsyncController {
+
+    @GetMapping()
+    CompletableFuture<ResponseEntity<List<Employee>>> getAllEmployees();
+
+    @GetMapping(params = "limit")
+    CompletableFuture<ResponseEntity<List<Employee>>> getEmployeesPage(
+            @RequestParam("limit") int limit, @RequestParam(value = "cursor", required = false) String cursor);
+
+    @GetMapping("/search/{searchString}")
+    CompletableFuture<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(
+            @PathVariable("searchString") String employeeName);
+
+    @GetMapping("/{id}")
+    CompletableFuture<ResponseEntity<Employee>> getEmployeeById(@PathVariable("id") String employeeId);
+
+    @PostMapping("/batch")
+    CompletableFuture<ResponseEntity<List<Employee>>> getEmployeesByIds(@RequestBody List<String> employeeIds);
+
+    @GetMapping("/highestSalary")
+    CompletableFuture<ResponseEntity<Integer>> getHighestSalaryOfEmployees();
+
+    @GetMapping("/topTenHighestEarningEmployeeNames")
+    CompletableFuture<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames();
+
+    @GetMapping("/topEarners")
+    CompletableFuture<ResponseEntity<List<Employee>>> getTopEarners(
+            @RequestParam(value = "n", defaultValue = "10") int count);
+
+    @PostMapping()
+    CompletableFuture<ResponseEntity<Employee>> createEmployee(
+            @RequestBody CreateEmployeeRequest createEmployeeRequest);
+
+    @DeleteMapping("/{id}")
+    CompletableFuture<ResponseEntity<String>> deleteEmployeeById(@PathVariable("id") String employeeId);
+
+    @PostMapping("/batch/create")
+    CompletableFuture<ResponseEntity<List<BatchItemResult<Employee>>>> createEmployees(
+            @RequestBody List<CreateEmployeeRequest> createEmployeeRequests);
+
+    @PostMapping("/batch/delete")
+    CompletableFuture<ResponseEntity<List<BatchItemResult<String>>>> deleteEmployeesByIds(
+            @RequestBody List<String> employeeIds);
+}
@@ -1,5 +1,6 @@
 package com.reliaquest.api.controller;
 
+import com.reliaquest.api.dto.BatchItemResult;
 import com.reliaquest.api.dto.CreateEmployeeRequest;
 import com.reliaquest.api.dto.Employee;
 import java.util.List;
@@ -9,27 +10,55 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
 public interface IEmployeeController {
 
     @GetMapping()
     ResponseEntity<List<Employee>> getAllEmployees();
 
+    /**
+     * Same list one page at a time; the cursor for the next page is returned in the X-Next-Cursor header, which is
+     * absent on the last page.
+     */
+    @GetMapping(params = "limit")
+    ResponseEntity<List<Employee>> getEmployeesPage(
+            @RequestParam("limit") int limit, @RequestParam(value = "cursor", required = false) String cursor);
+
     @GetMapping("/search/{searchString}")
     ResponseEntity<List<Employee>> getEmployeesByNameSearch(@PathVariable("searchString") String employeeName);
 
     @GetMapping("/{id}")
     ResponseEntity<Employee> getEmployeeById(@PathVariable("id") String employeeId);
 
+    /**
+     * Looks up many ids in one call; unknown ids are left out of the result.
+     */
+    @PostMapping("/batch")
+    ResponseEntity<List<Employee>> getEmployeesByIds(@RequestBody List<String> employeeIds);
+
     @GetMapping("/highestSalary")
     ResponseEntity<Integer> getHighestSalaryOfEmployees();
 
     @GetMapping("/topTenHighestEarningEmployeeNames")
     ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames();
 
+    @GetMapping("/topEarners")
+    ResponseEntity<List<Employee>> getTopEarners(@RequestParam(value = "n", defaultValue = "10") int count);
+
     @PostMapping()
     ResponseEntity<Employee> createEmployee(@RequestBody CreateEmployeeRequest createEmployeeRequest);
 
     @DeleteMapping("/{id}")
     ResponseEntity<String> deleteEmployeeById(@PathVariable("id") String employeeId);
+
+    /**
+     * Creates every employee in one call; the result at each index carries the status code of that item.
+     */
+    @PostMapping("/batch/create")
+    ResponseEntity<List<BatchItemResult<Employee>>> createEmployees(
+            @RequestBody List<CreateEmployeeRequest> createEmployeeRequests);
+
+    @PostMapping("/batch/delete")
+    ResponseEntity<List<BatchItemResult<String>>> deleteEmployeesByIds(@RequestBody List<String> employeeIds);
 }
@@ -0,0 +1,14 @@
+package com.reliaquest.api.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchCreateEmployeeResponse {
+    private String status;
+    private List<BatchItem<Employee>> data;
+}
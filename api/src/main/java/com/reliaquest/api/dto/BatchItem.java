@@ -0,0 +1,17 @@
+package com.reliaquest.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One result of a Mock Employee API batch call; {@code error} is set when the input was rejected.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchItem<T> {
+    private T data;
+    private String status;
+    private String error;
+}
@@ -0,0 +1,29 @@
+package com.reliaquest.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one item of a bulk request. {@code statusCode} is the HTTP status the single-item endpoint would have
+ * answered with, and either {@code data} or {@code error} is set.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult<T> {
+
+    private int statusCode;
+    private T data;
+    private String error;
+
+    public static <T> BatchItemResult<T> success(int statusCode, T data) {
+        return new BatchItemResult<>(statusCode, data, null);
+    }
+
+    public static <T> BatchItemResult<T> failure(int statusCode, String error) {
+        return new BatchItemResult<>(statusCode, null, error);
+    }
+}
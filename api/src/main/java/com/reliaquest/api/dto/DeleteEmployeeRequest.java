@@ -1,8 +0,0 @@
-package com.reliaquest.api.dto;
-
-import lombok.Data;
-
-@Data
-public class DeleteEmployeeRequest {
-    private String name;
-}
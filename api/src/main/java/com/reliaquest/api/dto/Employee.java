@@ -1,10 +1,17 @@
 package com.reliaquest.api.dto;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+/**
+ * Salary and age are held as numbers, so aggregates read them without parsing, but are still written as JSON strings
+ * to keep the api's response format.
+ */
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -17,10 +24,14 @@ public class Employee {
     String name;
 
     @JsonProperty("employee_salary")
-    String salary;
+    @JsonDeserialize(using = LenientIntegerDeserializer.class)
+    @JsonSerialize(using = ToStringSerializer.class)
+    Integer salary;
 
     @JsonProperty("employee_age")
-    String age;
+    @JsonDeserialize(using = LenientIntegerDeserializer.class)
+    @JsonSerialize(using = ToStringSerializer.class)
+    Integer age;
 
     @JsonProperty("employee_title")
     String title;
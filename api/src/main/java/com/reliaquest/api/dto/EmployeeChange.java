@@ -0,0 +1,23 @@
+package com.reliaquest.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One create or delete from the Mock Employee API's change log; {@code employee} is only set for a create.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeChange {
+
+    public static final String CREATED = "CREATED";
+
+    public static final String DELETED = "DELETED";
+
+    private long sequence;
+    private String type;
+    private String id;
+    private Employee employee;
+}
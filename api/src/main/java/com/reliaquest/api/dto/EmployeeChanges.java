@@ -0,0 +1,25 @@
+package com.reliaquest.api.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Changes after the requested sequence number, oldest first. {@code next} is passed back as {@code since} to continue,
+ * and more changes are waiting while it is behind {@code latest}. {@code resync} means the requested sequence number
+ * is no longer retained and the full list has to be downloaded again.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeChanges {
+
+    // most changes the Mock Employee API returns per request
+    public static final int MAX_LIMIT = 1000;
+
+    private List<EmployeeChange> changes;
+    private long next;
+    private long latest;
+    private boolean resync;
+}
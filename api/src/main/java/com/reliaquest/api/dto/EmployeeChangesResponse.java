@@ -0,0 +1,13 @@
+package com.reliaquest.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeChangesResponse {
+    private EmployeeChanges data;
+    private String status;
+}
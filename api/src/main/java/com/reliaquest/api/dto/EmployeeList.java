@@ -0,0 +1,21 @@
+package com.reliaquest.api.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The full employee list. {@code changeSequence} is the Mock Employee API's latest change log sequence number, read
+ * before the list, and is {@code null} when the upstream doesn't send it.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeList {
+
+    public static final String CHANGE_SEQUENCE_HEADER = "X-Change-Sequence";
+
+    private List<Employee> data;
+    private String changeSequence;
+}
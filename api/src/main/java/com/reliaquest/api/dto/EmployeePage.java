@@ -0,0 +1,24 @@
+package com.reliaquest.api.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of the employee list. {@code nextCursor} is passed back to fetch the following page and is {@code null}
+ * on the last one.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeePage {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    // largest page the Mock Employee API serves
+    public static final int MAX_LIMIT = 1000;
+
+    private List<Employee> data;
+    private String nextCursor;
+}
@@ -0,0 +1,45 @@
+package com.reliaquest.api.dto;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import java.io.IOException;
+
+/**
+ * Reads a JSON integer straight off the parser, without an intermediate {@code String}. Numbers sent as text are
+ * still accepted; anything that isn't an integer in {@code int} range reads as {@code null} rather than failing the
+ * whole roster.
+ */
+public final class LenientIntegerDeserializer extends StdDeserializer<Integer> {
+
+    public LenientIntegerDeserializer() {
+        super(Integer.class);
+    }
+
+    @Override
+    public Integer deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        return read(parser);
+    }
+
+    /**
+     * @return the integer at the parser's current token, or {@code null}; skips the children of an object or array
+     */
+    public static Integer read(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getNumberType() == JsonParser.NumberType.INT ? parser.getIntValue() : null;
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            try {
+                return Integer.parseInt(parser.getText().trim());
+            } catch (NumberFormatException ex) {
+                return null;
+            }
+        }
+        if (token != null && token.isStructStart()) {
+            parser.skipChildren();
+        }
+        return null;
+    }
+}
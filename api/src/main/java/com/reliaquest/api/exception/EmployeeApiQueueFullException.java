@@ -0,0 +1,23 @@
+package com.reliaquest.api.exception;
+
+/**
+ * Too many calls to the Mock Employee API were already waiting for a connection, so this one was never sent. This is
+ * our own back-pressure rather than an upstream 429, so the governor doesn't slow down for it and the upstream metrics
+ * don't count it as one; the caller still gets a 429 and can retry.
+ */
+public class EmployeeApiQueueFullException extends RuntimeException {
+
+    private final String retryAfter;
+
+    public EmployeeApiQueueFullException(String message, String retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * @return seconds to wait before retrying
+     */
+    public String getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,37 @@
+package com.reliaquest.api.exception;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.client.HttpStatusCodeException;
+
+/**
+ * The Mock Employee API answered 429, the governor pacing calls to it shed the call, or too many calls were already
+ * queued for a connection. Answered with a 429 of our own carrying the same {@code Retry-After}, since the caller can
+ * retry it, unlike a server error.
+ */
+public class EmployeeApiThrottledException extends RuntimeException {
+
+    private final String retryAfter;
+
+    public EmployeeApiThrottledException(String message, String retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public static EmployeeApiThrottledException from(HttpStatusCodeException ex) {
+        HttpHeaders headers = ex.getResponseHeaders();
+        return new EmployeeApiThrottledException(
+                "Mock Employee API calls are being throttled",
+                headers == null ? null : headers.getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    public static EmployeeApiThrottledException from(EmployeeApiQueueFullException ex) {
+        return new EmployeeApiThrottledException(ex.getMessage(), ex.getRetryAfter());
+    }
+
+    /**
+     * @return seconds to wait before retrying, or null if the upstream didn't say
+     */
+    public String getRetryAfter() {
+        return retryAfter;
+    }
+}
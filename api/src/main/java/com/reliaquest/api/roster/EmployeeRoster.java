@@ -0,0 +1,290 @@
+package com.reliaquest.api.roster;
+
+import com.reliaquest.api.dto.Employee;
+import com.reliaquest.api.dto.EmployeeChange;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Immutable snapshot of the upstream employee list. Every read endpoint is served from one of these instead of
+ * downloading the full list per request. {@code changeSequence} is the last upstream change log entry the snapshot
+ * includes, from which it can be brought up to date with {@link #withChanges}, or {@link #UNKNOWN_SEQUENCE}.
+ *
+ * <p>The versions derived by {@link #withAdded}, {@link #withRemoved} and {@link #withChanges} only do index work for
+ * the employees that changed: salaries are merged rather than sorted again and unchanged names are not indexed again.
+ * They still copy the employee list and the exact-name map, so a write costs time linear in the roster size.
+ */
+@Getter
+public final class EmployeeRoster {
+
+    public static final long UNKNOWN_SEQUENCE = -1;
+
+    private final long version;
+    private final Instant fetchedAt;
+    private final long changeSequence;
+    private final List<Employee> employees;
+    private final SalaryIndex salaryIndex;
+    private final NameSearchIndex nameIndex;
+
+    @Getter(AccessLevel.NONE)
+    private final Map<String, List<Employee>> employeesByName;
+
+    private EmployeeRoster(
+            long version,
+            Instant fetchedAt,
+            long changeSequence,
+            List<Employee> employees,
+            SalaryIndex salaryIndex,
+            NameSearchIndex nameIndex,
+            Map<String, List<Employee>> employeesByName) {
+        this.version = version;
+        this.fetchedAt = fetchedAt;
+        this.changeSequence = changeSequence;
+        this.employees = employees;
+        this.salaryIndex = salaryIndex;
+        this.nameIndex = nameIndex;
+        this.employeesByName = employeesByName;
+    }
+
+    public static EmployeeRoster of(long version, Instant fetchedAt, List<Employee> employees) {
+        return of(version, fetchedAt, UNKNOWN_SEQUENCE, employees);
+    }
+
+    public static EmployeeRoster of(long version, Instant fetchedAt, long changeSequence, List<Employee> employees) {
+        List<Employee> snapshot = employees == null ? List.of() : List.copyOf(employees);
+        return new EmployeeRoster(
+                version,
+                fetchedAt,
+                changeSequence,
+                snapshot,
+                SalaryIndex.of(snapshot),
+                NameSearchIndex.of(snapshot),
+                indexByName(snapshot));
+    }
+
+    /**
+     * Builds the next version from a freshly fetched list, updating the name index only for employees that were
+     * added, removed or changed since this version. The index is rebuilt instead when the list comes back in a
+     * different order, such as with new employees ahead of existing ones, so searches keep following the list.
+     */
+    public EmployeeRoster refreshedWith(
+            long nextVersion, Instant nextFetchedAt, long nextChangeSequence, List<Employee> nextEmployees) {
+        List<Employee> snapshot = nextEmployees == null ? List.of() : List.copyOf(nextEmployees);
+
+        Map<String, Integer> previousPositions = new HashMap<>();
+        for (int position = 0; position < employees.size(); position++) {
+            String id = employees.get(position).getId();
+            if (id == null) {
+                return of(nextVersion, nextFetchedAt, nextChangeSequence, snapshot);
+            }
+            previousPositions.put(id, position);
+        }
+
+        List<Employee> added = new ArrayList<>();
+        List<String> removedIds = new ArrayList<>();
+        int lastKept = -1;
+        boolean appending = false;
+        for (Employee employee : snapshot) {
+            Integer previous = employee.getId() == null ? null : previousPositions.remove(employee.getId());
+            if (previous == null) {
+                added.add(employee);
+                appending = true;
+                continue;
+            }
+            if (appending || previous < lastKept) {
+                return of(nextVersion, nextFetchedAt, nextChangeSequence, snapshot);
+            }
+            lastKept = previous;
+            if (!employees.get(previous).equals(employee)) {
+                removedIds.add(employee.getId());
+                added.add(employee);
+            }
+        }
+        removedIds.addAll(previousPositions.keySet());
+
+        return new EmployeeRoster(
+                nextVersion,
+                nextFetchedAt,
+                nextChangeSequence,
+                snapshot,
+                SalaryIndex.of(snapshot),
+                nameIndex.withChanges(added, removedIds),
+                indexByName(snapshot));
+    }
+
+    /**
+     * @return next version containing {@code employee}
+     */
+    public EmployeeRoster withAdded(long nextVersion, Employee employee) {
+        return withAdded(nextVersion, List.of(employee));
+    }
+
+    /**
+     * @return next version containing every employee in {@code added}, after everyone already in it
+     */
+    public EmployeeRoster withAdded(long nextVersion, List<Employee> added) {
+        List<Employee> nextEmployees = new ArrayList<>(employees.size() + added.size());
+        nextEmployees.addAll(employees);
+        nextEmployees.addAll(added);
+        List<Employee> snapshot = List.copyOf(nextEmployees);
+
+        Map<String, List<Employee>> nextByName = new HashMap<>(employeesByName);
+        for (Employee employee : added) {
+            String key = nameKey(employee.getName());
+            if (key != null) {
+                List<Employee> sameName = new ArrayList<>(nextByName.getOrDefault(key, List.of()));
+                sameName.add(employee);
+                nextByName.put(key, List.copyOf(sameName));
+            }
+        }
+
+        return new EmployeeRoster(
+                nextVersion,
+                fetchedAt,
+                changeSequence,
+                snapshot,
+                added.size() == 1 ? salaryIndex.withAdded(added.get(0)) : salaryIndex.withAdded(added),
+                nameIndex.withChanges(added, List.of()),
+                nextByName);
+    }
+
+    /**
+     * @return next version without the employees whose id is in {@code employeeIds}; this version if none of them are
+     *     in it
+     */
+    public EmployeeRoster withRemoved(long nextVersion, Collection<String> employeeIds) {
+        Set<String> ids = new HashSet<>(employeeIds);
+        List<Employee> snapshot = new ArrayList<>(employees.size());
+        List<Employee> removed = new ArrayList<>();
+        for (Employee employee : employees) {
+            if (employee.getId() != null && ids.contains(employee.getId())) {
+                removed.add(employee);
+            } else {
+                snapshot.add(employee);
+            }
+        }
+        if (removed.isEmpty()) {
+            return this;
+        }
+
+        Map<String, List<Employee>> nextByName = new HashMap<>(employeesByName);
+        for (Employee employee : removed) {
+            String key = nameKey(employee.getName());
+            if (key != null) {
+                List<Employee> sameName = new ArrayList<>(nextByName.getOrDefault(key, List.of()));
+                sameName.remove(employee);
+                if (sameName.isEmpty()) {
+                    nextByName.remove(key);
+                } else {
+                    nextByName.put(key, List.copyOf(sameName));
+                }
+            }
+        }
+
+        return new EmployeeRoster(
+                nextVersion,
+                fetchedAt,
+                changeSequence,
+                List.copyOf(snapshot),
+                salaryIndex.withRemoved(ids),
+                nameIndex.withChanges(List.of(), ids),
+                nextByName);
+    }
+
+    /**
+     * Applies upstream change log entries on top of this version. Entries may repeat changes this version already
+     * has, such as its own creates and deletes, or ones made before it was downloaded, and applying them again changes
+     * nothing, so the sequence number read just before a download is a safe place to continue from.
+     * @return next version, confirmed as of {@code nextFetchedAt}
+     */
+    public EmployeeRoster withChanges(
+            long nextVersion, Instant nextFetchedAt, long nextChangeSequence, List<EmployeeChange> changes) {
+        // last state of each id changed, null once deleted
+        Map<String, Employee> changed = new LinkedHashMap<>();
+        for (EmployeeChange change : changes) {
+            if (change.getId() != null) {
+                changed.put(
+                        change.getId(), EmployeeChange.CREATED.equals(change.getType()) ? change.getEmployee() : null);
+            }
+        }
+        EmployeeRoster next = withRemoved(nextVersion, changed.keySet());
+        List<Employee> added = changed.values().stream().filter(Objects::nonNull).toList();
+        if (!added.isEmpty()) {
+            next = next.withAdded(nextVersion, added);
+        }
+        return new EmployeeRoster(
+                nextVersion,
+                nextFetchedAt,
+                nextChangeSequence,
+                next.employees,
+                next.salaryIndex,
+                next.nameIndex,
+                next.employeesByName);
+    }
+
+    /**
+     * @return this version, confirmed as still current by the upstream at {@code confirmedAt}
+     */
+    public EmployeeRoster confirmedAt(Instant confirmedAt) {
+        return new EmployeeRoster(
+                version, confirmedAt, changeSequence, employees, salaryIndex, nameIndex, employeesByName);
+    }
+
+    /**
+     * @return whether an employee with exactly this name, ignoring case and surrounding whitespace, exists
+     */
+    public boolean containsName(String name) {
+        String key = nameKey(name);
+        return key != null && employeesByName.containsKey(key);
+    }
+
+    public List<Employee> findByName(String name) {
+        String key = nameKey(name);
+        return key == null ? List.of() : List.copyOf(employeesByName.getOrDefault(key, List.of()));
+    }
+
+    /**
+     * Scans the whole snapshot, so only meant for serving an id lookup when the upstream can't be asked.
+     */
+    public Optional<Employee> findById(String employeeId) {
+        return employees.stream()
+                .filter(employee -> employee.getId() != null && employee.getId().equals(employeeId))
+                .findFirst();
+    }
+
+    public Duration age() {
+        return Duration.between(fetchedAt, Instant.now());
+    }
+
+    public int size() {
+        return employees.size();
+    }
+
+    public static String nameKey(String name) {
+        return name == null ? null : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Map<String, List<Employee>> indexByName(List<Employee> employees) {
+        Map<String, List<Employee>> byName = new HashMap<>();
+        for (Employee employee : employees) {
+            String key = nameKey(employee.getName());
+            if (key != null) {
+                byName.computeIfAbsent(key, ignored -> new ArrayList<>(1)).add(employee);
+            }
+        }
+        return byName;
+    }
+}
@@ -0,0 +1,411 @@
+package com.reliaquest.api.roster;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.client.Futures;
+import com.reliaquest.api.dto.Employee;
+import com.reliaquest.api.dto.EmployeeChange;
+import com.reliaquest.api.dto.EmployeeChanges;
+import com.reliaquest.api.dto.EmployeeList;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the current {@link EmployeeRoster}. Backed by a single-entry Caffeine cache so that concurrent misses join
+ * one upstream fetch, a refresh is started in the background once {@code employee.roster.refresh-after} has passed,
+ * and a snapshot older than {@code employee.roster.max-staleness} is not served while the upstream can be reached.
+ * The last roster fetched is also kept as last-known-good, and answers reads through {@link #getAsync(ReadEndpoint)}
+ * while the upstream can't be reached, up to each endpoint's {@code employee.roster.last-known-good} budget.
+ * With {@code employee.roster.change-feed} on, a refresh downloads only the creates and deletes since the previous
+ * one from the upstream's change log, and the full list only when the log no longer reaches back that far. Changes
+ * pushed by the upstream are applied with {@link #applyChange}, and while {@link #confirm} keeps the snapshot
+ * current, it is not refreshed at all. The full list comes with the sequence number to follow the log from, so a full
+ * download is still a single request.
+ *
+ * <p>Both timers run from the snapshot's {@code fetchedAt}, not from the last time the cache entry was written, so
+ * write-through swaps from {@link #applyCreated} and {@link #applyDeleted} don't postpone a refresh or extend the
+ * snapshot's life.
+ */
+@Component
+public class EmployeeRosterCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeRosterCache.class);
+
+    private static final String ROSTER_KEY = "roster";
+
+    private final EmployeeApiClient employeeApiClient;
+
+    private final AtomicLong versions = new AtomicLong();
+
+    private final AsyncLoadingCache<String, EmployeeRoster> cache;
+
+    private final LastKnownGoodProperties lastKnownGoodProperties;
+
+    private final boolean changeFeed;
+
+    private final Duration refreshAfter;
+
+    private final Clock clock;
+
+    private volatile EmployeeRoster lastKnownGood;
+
+    /**
+     * @param executor runs upstream fetches; Spring's application task executor, which is backed by virtual threads
+     *     when {@code spring.threads.virtual.enabled} is set
+     */
+    @Autowired
+    public EmployeeRosterCache(
+            EmployeeApiClient employeeApiClient,
+            @Qualifier("applicationTaskExecutor") Executor executor,
+            @Value("${employee.roster.refresh-after:5s}") Duration refreshAfter,
+            @Value("${employee.roster.max-staleness:60s}") Duration maxStaleness,
+            @Value("${employee.roster.change-feed:true}") boolean changeFeed,
+            LastKnownGoodProperties lastKnownGoodProperties) {
+        this(
+                employeeApiClient,
+                executor,
+                refreshAfter,
+                maxStaleness,
+                changeFeed,
+                lastKnownGoodProperties,
+                Clock.systemUTC(),
+                Ticker.systemTicker());
+    }
+
+    /**
+     * @param clock stamps each snapshot's {@code fetchedAt}; {@code ticker} is the cache's own time source, and the
+     *     two are expected to advance together
+     */
+    EmployeeRosterCache(
+            EmployeeApiClient employeeApiClient,
+            Executor executor,
+            Duration refreshAfter,
+            Duration maxStaleness,
+            boolean changeFeed,
+            LastKnownGoodProperties lastKnownGoodProperties,
+            Clock clock,
+            Ticker ticker) {
+        this.employeeApiClient = employeeApiClient;
+        this.lastKnownGoodProperties = lastKnownGoodProperties;
+        this.changeFeed = changeFeed;
+        this.refreshAfter = refreshAfter;
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .executor(executor)
+                .ticker(ticker)
+                .maximumSize(1)
+                .refreshAfterWrite(refreshAfter)
+                .expireAfter(new Expiry<String, EmployeeRoster>() {
+                    // whatever is left of maxStaleness since the snapshot was fetched
+                    @Override
+                    public long expireAfterCreate(String key, EmployeeRoster roster, long currentTime) {
+                        return Math.max(0, maxStaleness.minus(age(roster)).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(
+                            String key, EmployeeRoster roster, long currentTime, long currentDuration) {
+                        return Math.max(0, maxStaleness.minus(age(roster)).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterRead(
+                            String key, EmployeeRoster roster, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .buildAsync(new AsyncCacheLoader<>() {
+                    @Override
+                    public CompletableFuture<EmployeeRoster> asyncLoad(String key, Executor executor) {
+                        return fetch(executor).thenApply(list -> remember(EmployeeRoster.of(
+                                versions.incrementAndGet(), clock.instant(), changeSequence(list), list.getData())));
+                    }
+
+                    @Override
+                    public CompletableFuture<EmployeeRoster> asyncReload(
+                            String key, EmployeeRoster previous, Executor executor) {
+                        if (!changeFeed || previous.getChangeSequence() == EmployeeRoster.UNKNOWN_SEQUENCE) {
+                            return reloadAll(previous, executor);
+                        }
+                        return CompletableFuture.supplyAsync(
+                                        () -> changesSince(previous.getChangeSequence(), new ArrayList<>()), executor)
+                                .thenCompose(future -> future)
+                                .thenCompose(changes -> {
+                                    if (changes.isResync()) {
+                                        logger.info(
+                                                "asyncReload() : change log no longer reaches back to {}, downloading"
+                                                        + " the full roster",
+                                                previous.getChangeSequence());
+                                        return reloadAll(previous, executor);
+                                    }
+                                    return CompletableFuture.completedFuture(remember(previous.withChanges(
+                                            versions.incrementAndGet(),
+                                            clock.instant(),
+                                            changes.getNext(),
+                                            changes.getChanges())));
+                                });
+                    }
+                });
+    }
+
+    /**
+     * @return current snapshot, fetching it from upstream if there is none or it is past the staleness budget
+     */
+    public EmployeeRoster get() {
+        return Futures.await(getAsync());
+    }
+
+    public CompletableFuture<EmployeeRoster> getAsync() {
+        return cache.get(ROSTER_KEY);
+    }
+
+    /**
+     * Same as {@link #get()}, but answered from the last-known-good roster if the current one can't be loaded.
+     */
+    public EmployeeRoster get(ReadEndpoint endpoint) {
+        return Futures.await(getAsync(endpoint));
+    }
+
+    /**
+     * Same as {@link #getAsync()}, but answered from the last-known-good roster if the current one can't be loaded
+     * and it is within {@code endpoint}'s budget. Every read that fails this way starts another load, so the roster
+     * is revalidated in the background while the stale one is served. The roster served is recorded for the
+     * request's {@code Age} header.
+     */
+    public CompletableFuture<EmployeeRoster> getAsync(ReadEndpoint endpoint) {
+        Consumer<EmployeeRoster> served = RosterAge.recorder();
+        return getAsync()
+                .exceptionallyCompose(ex -> {
+                    EmployeeRoster fallback = lastKnownGood(endpoint);
+                    if (fallback == null) {
+                        return CompletableFuture.failedFuture(ex);
+                    }
+                    logger.warn(
+                            "getAsync() : Serving {} from the last-known-good roster, {}s old, due to: {}",
+                            endpoint,
+                            age(fallback).toSeconds(),
+                            Futures.unwrap(ex).toString());
+                    return CompletableFuture.completedFuture(fallback);
+                })
+                .thenApply(roster -> {
+                    served.accept(roster);
+                    return roster;
+                });
+    }
+
+    /**
+     * @return last roster fetched, if it is within {@code endpoint}'s budget; never starts a fetch
+     */
+    public EmployeeRoster lastKnownGood(ReadEndpoint endpoint) {
+        EmployeeRoster roster = lastKnownGood;
+        if (roster == null || age(roster).compareTo(lastKnownGoodProperties.maxStaleness(endpoint)) > 0) {
+            return null;
+        }
+        return roster;
+    }
+
+    /**
+     * Adds an employee the upstream has just confirmed as created to the current snapshot, if there is one. The
+     * swap is atomic, and a background refresh that started before it is discarded rather than overwriting it; if
+     * the snapshot is due for a refresh, a new one is started after the swap.
+     */
+    public void applyCreated(Employee employee) {
+        applyCreated(List.of(employee));
+    }
+
+    /**
+     * Same as {@link #applyCreated(Employee)} for a batch, in one swap.
+     */
+    public void applyCreated(List<Employee> employees) {
+        if (employees.isEmpty()) {
+            return;
+        }
+        writeThrough((key, roster) -> remember(roster.withAdded(versions.incrementAndGet(), employees)));
+    }
+
+    /**
+     * Removes an employee the upstream has just confirmed as deleted from the current snapshot, if there is one, with
+     * the same guarantees as {@link #applyCreated(Employee)}.
+     */
+    public void applyDeleted(String employeeId) {
+        applyDeleted(List.of(employeeId));
+    }
+
+    /**
+     * Same as {@link #applyDeleted(String)} for a batch, in one swap.
+     */
+    public void applyDeleted(Collection<String> employeeIds) {
+        if (employeeIds.isEmpty()) {
+            return;
+        }
+        writeThrough((key, roster) -> remember(roster.withRemoved(versions.incrementAndGet(), employeeIds)));
+    }
+
+    /**
+     * Applies a change from the upstream's change log to the current snapshot, in one swap with the same guarantees
+     * as {@link #applyCreated(Employee)}. Changes the snapshot already has are skipped.
+     * @return false if changes before this one are missing from the snapshot, which then needs a {@link #refresh()}
+     */
+    public boolean applyChange(EmployeeChange change) {
+        boolean[] missing = {false};
+        cache.synchronous().asMap().computeIfPresent(ROSTER_KEY, (key, roster) -> {
+            long sequence = roster.getChangeSequence();
+            if (sequence == EmployeeRoster.UNKNOWN_SEQUENCE || change.getSequence() <= sequence) {
+                return roster;
+            }
+            if (change.getSequence() > sequence + 1) {
+                missing[0] = true;
+                return roster;
+            }
+            return remember(roster.withChanges(
+                    versions.incrementAndGet(), clock.instant(), change.getSequence(), List.of(change)));
+        });
+        return !missing[0];
+    }
+
+    /**
+     * Marks the current snapshot as confirmed by the upstream now, if it has every change up to {@code sequence}.
+     * That also restarts its refresh-after and max-staleness timers, so a snapshot kept current by pushed changes
+     * is never fetched again.
+     * @return false if the snapshot is behind {@code sequence}, and needs a {@link #refresh()}
+     */
+    public boolean confirm(long sequence) {
+        boolean[] behind = {false};
+        cache.synchronous().asMap().computeIfPresent(ROSTER_KEY, (key, roster) -> {
+            if (roster.getChangeSequence() < sequence) {
+                behind[0] = roster.getChangeSequence() != EmployeeRoster.UNKNOWN_SEQUENCE;
+                return roster;
+            }
+            return remember(roster.confirmedAt(clock.instant()));
+        });
+        return !behind[0];
+    }
+
+    /**
+     * Starts a refresh in the background, unless one is already running; the current snapshot is served meanwhile.
+     */
+    public void refresh() {
+        cache.synchronous().refresh(ROSTER_KEY);
+    }
+
+    /**
+     * @return change log sequence number of the current snapshot, without waiting for one to load, or
+     *     {@link EmployeeRoster#UNKNOWN_SEQUENCE}
+     */
+    public long changeSequence() {
+        CompletableFuture<EmployeeRoster> current = cache.getIfPresent(ROSTER_KEY);
+        if (current == null || !current.isDone() || current.isCompletedExceptionally()) {
+            return EmployeeRoster.UNKNOWN_SEQUENCE;
+        }
+        return current.join().getChangeSequence();
+    }
+
+    /**
+     * Drops the current snapshot, and the last-known-good one, so the next read fetches a fresh one.
+     */
+    public void invalidate() {
+        cache.synchronous().invalidateAll();
+        lastKnownGood = null;
+    }
+
+    /**
+     * Writing the entry restarts Caffeine's refresh timer and drops a refresh in flight, so the snapshot's own age
+     * decides whether one is due.
+     */
+    private void writeThrough(BiFunction<String, EmployeeRoster, EmployeeRoster> update) {
+        EmployeeRoster swapped = cache.synchronous().asMap().computeIfPresent(ROSTER_KEY, update);
+        if (swapped != null && age(swapped).compareTo(refreshAfter) >= 0) {
+            refresh();
+        }
+    }
+
+    private Duration age(EmployeeRoster roster) {
+        return Duration.between(roster.getFetchedAt(), clock.instant());
+    }
+
+    private EmployeeRoster remember(EmployeeRoster roster) {
+        lastKnownGood = roster;
+        return roster;
+    }
+
+    private CompletableFuture<EmployeeRoster> reloadAll(EmployeeRoster previous, Executor executor) {
+        return fetch(executor)
+                .thenApply(list -> remember(previous.refreshedWith(
+                        versions.incrementAndGet(), clock.instant(), changeSequence(list), list.getData())));
+    }
+
+    /**
+     * The upstream reads its latest sequence number before the list, so every change after it is either in the list
+     * already or still to be applied. An upstream that doesn't report one leaves the roster to be refreshed in full
+     * every time.
+     */
+    private long changeSequence(EmployeeList list) {
+        if (!changeFeed || list.getChangeSequence() == null) {
+            return EmployeeRoster.UNKNOWN_SEQUENCE;
+        }
+        try {
+            return Long.parseLong(list.getChangeSequence().trim());
+        } catch (NumberFormatException ex) {
+            logger.debug("changeSequence() : ignoring change sequence {}", list.getChangeSequence());
+            return EmployeeRoster.UNKNOWN_SEQUENCE;
+        }
+    }
+
+    /**
+     * Follows the change log a page at a time until it has caught up.
+     * @return every change after {@code since}, with {@code next} set to the last one, or the resync marker
+     */
+    private CompletableFuture<EmployeeChanges> changesSince(long since, List<EmployeeChange> collected) {
+        return employeeApiClient.getChanges(since, EmployeeChanges.MAX_LIMIT).thenCompose(page -> {
+            if (page == null) {
+                return CompletableFuture.completedFuture(new EmployeeChanges(List.of(), since, since, true));
+            }
+            if (page.isResync()) {
+                return CompletableFuture.completedFuture(page);
+            }
+            List<EmployeeChange> changes = page.getChanges() == null ? List.of() : page.getChanges();
+            collected.addAll(changes);
+            if (changes.isEmpty() || page.getNext() >= page.getLatest()) {
+                return CompletableFuture.completedFuture(
+                        new EmployeeChanges(collected, page.getNext(), page.getLatest(), false));
+            }
+            return changesSince(page.getNext(), collected);
+        });
+    }
+
+    /**
+     * Starts the upstream call on the cache's executor, so a blocking client never holds up the reader that
+     * triggered a load or refresh.
+     */
+    private CompletableFuture<EmployeeList> fetch(Executor executor) {
+        return CompletableFuture.supplyAsync(employeeApiClient::getEmployees, executor)
+                .thenCompose(future -> future)
+                .whenComplete((list, ex) -> {
+                    if (ex == null) {
+                        logger.debug(
+                                "fetch() : fetched roster with {} employees after change {}",
+                                list.getData() == null ? 0 : list.getData().size(),
+                                list.getChangeSequence());
+                    }
+                });
+    }
+}
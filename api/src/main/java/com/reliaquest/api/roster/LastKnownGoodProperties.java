@@ -0,0 +1,26 @@
+package com.reliaquest.api.roster;
+
+import java.time.Duration;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * {@code employee.roster.last-known-good.*}: how old a roster each read endpoint still answers from once the upstream
+ * can't be reached.
+ *
+ * @param maxStaleness budget for endpoints without their own
+ * @param endpoints per-endpoint budgets, keyed by e.g. {@code by-id} or {@code highest-salary}
+ */
+@ConfigurationProperties("employee.roster.last-known-good")
+public record LastKnownGoodProperties(
+        @DefaultValue("10m") Duration maxStaleness, Map<ReadEndpoint, Duration> endpoints) {
+
+    public LastKnownGoodProperties {
+        endpoints = endpoints == null ? Map.of() : Map.copyOf(endpoints);
+    }
+
+    public Duration maxStaleness(ReadEndpoint endpoint) {
+        return endpoints.getOrDefault(endpoint, maxStaleness);
+    }
+}
@@ -0,0 +1,210 @@
+package com.reliaquest.api.roster;
+
+import com.reliaquest.api.dto.Employee;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Trigram inverted index over lower-cased employee names. A search for a fragment of three or more characters only
+ * verifies the employees listed under the rarest trigram of the fragment instead of scanning the whole roster;
+ * shorter fragments fall back to a scan. Matching is the same {@code name.toLowerCase(Locale.ROOT).contains(fragment)}
+ * check the service has always used, and results come back in roster order.
+ *
+ * <p>Instances are immutable. {@link #withChanges} derives the index of the next roster version without splitting
+ * the unchanged names again: an employee that changed keeps its slot, added ones are appended and removed ones leave
+ * tombstones, and it only rebuilds from scratch once tombstones outnumber live entries. The derived index copies the
+ * slot arrays, and the posting map when names were added, so it is still linear in the roster size, just far
+ * cheaper than a rebuild.
+ */
+public final class NameSearchIndex {
+
+    private static final int GRAM = 3;
+
+    private final Employee[] slots;
+    private final String[] names;
+    // slots listing each trigram, ascending; a slot whose name has since changed may still be listed under its old
+    // trigrams, which the verification step filters out
+    private final Map<String, int[]> postings;
+    private final int live;
+
+    private NameSearchIndex(Employee[] slots, String[] names, Map<String, int[]> postings, int live) {
+        this.slots = slots;
+        this.names = names;
+        this.postings = postings;
+        this.live = live;
+    }
+
+    public static NameSearchIndex of(Collection<Employee> employees) {
+        Employee[] slots = employees.toArray(Employee[]::new);
+        String[] names = new String[slots.length];
+        Map<String, List<Integer>> grams = new HashMap<>();
+        for (int slot = 0; slot < slots.length; slot++) {
+            names[slot] = lowerCaseName(slots[slot]);
+            addGrams(grams, names[slot], slot);
+        }
+        Map<String, int[]> postings = new HashMap<>();
+        merge(postings, grams);
+        return new NameSearchIndex(slots, names, postings, slots.length);
+    }
+
+    /**
+     * @param query name fragment; surrounding whitespace is ignored
+     * @return employees whose lower-cased name contains the lower-cased fragment, in roster order
+     */
+    public List<Employee> search(String query) {
+        String fragment = query.trim().toLowerCase(Locale.ROOT);
+        if (fragment.length() < GRAM) {
+            return scan(fragment);
+        }
+
+        int[] candidates = null;
+        for (int i = 0; i + GRAM <= fragment.length(); i++) {
+            int[] posting = postings.get(fragment.substring(i, i + GRAM));
+            if (posting == null) {
+                return List.of();
+            }
+            if (candidates == null || posting.length < candidates.length) {
+                candidates = posting;
+            }
+        }
+
+        List<Employee> matches = new ArrayList<>();
+        for (int slot : candidates) {
+            if (slots[slot] != null && names[slot] != null && names[slot].contains(fragment)) {
+                matches.add(slots[slot]);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * An employee in {@code added} whose id is also in {@code removedIds} replaces the one in the index, keeping its
+     * position; the other added employees go after everyone else, as they do in the roster.
+     *
+     * @return index for the next roster version; this instance is left untouched
+     */
+    public NameSearchIndex withChanges(Collection<Employee> added, Collection<String> removedIds) {
+        // one pass over the slots instead of keeping a slot-by-id map that every version would have to copy
+        Map<String, Integer> removedSlots = new HashMap<>();
+        List<Integer> duplicateSlots = new ArrayList<>();
+        if (!removedIds.isEmpty()) {
+            Set<String> ids = new HashSet<>(removedIds);
+            for (int slot = 0; slot < slots.length; slot++) {
+                if (slots[slot] != null && slots[slot].getId() != null && ids.contains(slots[slot].getId())) {
+                    if (removedSlots.putIfAbsent(slots[slot].getId(), slot) != null) {
+                        duplicateSlots.add(slot);
+                    }
+                }
+            }
+        }
+        // ascending, so the slots collected for each trigram below stay sorted
+        SortedMap<Integer, Employee> replaced = new TreeMap<>();
+        List<Employee> appended = new ArrayList<>();
+        for (Employee employee : added) {
+            Integer slot = employee.getId() == null ? null : removedSlots.remove(employee.getId());
+            if (slot == null) {
+                appended.add(employee);
+            } else {
+                replaced.put(slot, employee);
+            }
+        }
+        List<Integer> removed = new ArrayList<>(removedSlots.values());
+        removed.addAll(duplicateSlots);
+        if (removed.isEmpty() && replaced.isEmpty() && appended.isEmpty()) {
+            return this;
+        }
+
+        Employee[] nextSlots = Arrays.copyOf(slots, slots.length + appended.size());
+        for (int slot : removed) {
+            nextSlots[slot] = null;
+        }
+        replaced.forEach((slot, employee) -> nextSlots[slot] = employee);
+        for (int i = 0; i < appended.size(); i++) {
+            nextSlots[slots.length + i] = appended.get(i);
+        }
+        int nextLive = live - removed.size() + appended.size();
+        if (nextSlots.length - nextLive > nextLive) {
+            return of(Arrays.stream(nextSlots).filter(Objects::nonNull).toList());
+        }
+        if (replaced.isEmpty() && appended.isEmpty()) {
+            return new NameSearchIndex(nextSlots, names, postings, nextLive);
+        }
+
+        String[] nextNames = Arrays.copyOf(names, nextSlots.length);
+        Map<String, List<Integer>> grams = new HashMap<>();
+        replaced.forEach((slot, employee) -> {
+            nextNames[slot] = lowerCaseName(employee);
+            addGrams(grams, nextNames[slot], slot);
+        });
+        for (int slot = slots.length; slot < nextSlots.length; slot++) {
+            nextNames[slot] = lowerCaseName(nextSlots[slot]);
+            addGrams(grams, nextNames[slot], slot);
+        }
+        Map<String, int[]> nextPostings = new HashMap<>(postings);
+        merge(nextPostings, grams);
+        return new NameSearchIndex(nextSlots, nextNames, nextPostings, nextLive);
+    }
+
+    public int size() {
+        return live;
+    }
+
+    private List<Employee> scan(String fragment) {
+        List<Employee> matches = new ArrayList<>();
+        for (int slot = 0; slot < slots.length; slot++) {
+            if (slots[slot] != null && names[slot] != null && names[slot].contains(fragment)) {
+                matches.add(slots[slot]);
+            }
+        }
+        return matches;
+    }
+
+    private static String lowerCaseName(Employee employee) {
+        return employee.getName() == null ? null : employee.getName().toLowerCase(Locale.ROOT);
+    }
+
+    private static void addGrams(Map<String, List<Integer>> grams, String name, int slot) {
+        if (name == null) {
+            return;
+        }
+        Set<String> distinct = new HashSet<>();
+        for (int i = 0; i + GRAM <= name.length(); i++) {
+            String gram = name.substring(i, i + GRAM);
+            if (distinct.add(gram)) {
+                grams.computeIfAbsent(gram, ignored -> new ArrayList<>()).add(slot);
+            }
+        }
+    }
+
+    /**
+     * Merges ascending slot lists into {@code postings}, keeping each posting ascending and free of duplicates.
+     */
+    private static void merge(Map<String, int[]> postings, Map<String, List<Integer>> grams) {
+        grams.forEach((gram, inserted) -> {
+            int[] current = postings.getOrDefault(gram, new int[0]);
+            int[] merged = new int[current.length + inserted.size()];
+            int size = 0;
+            int i = 0;
+            int j = 0;
+            while (i < current.length || j < inserted.size()) {
+                int next = j == inserted.size() || (i < current.length && current[i] <= inserted.get(j))
+                        ? current[i++]
+                        : inserted.get(j++);
+                if (size == 0 || merged[size - 1] != next) {
+                    merged[size++] = next;
+                }
+            }
+            postings.put(gram, size == merged.length ? merged : Arrays.copyOf(merged, size));
+        });
+    }
+}
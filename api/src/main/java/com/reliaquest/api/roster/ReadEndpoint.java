@@ -0,0 +1,14 @@
+package com.reliaquest.api.roster;
+
+/**
+ * Read endpoints that can be answered from the last-known-good roster, each with its own staleness budget under
+ * {@code employee.roster.last-known-good.endpoints}.
+ */
+public enum ReadEndpoint {
+    ALL,
+    SEARCH,
+    BY_ID,
+    HIGHEST_SALARY,
+    TOP_TEN,
+    TOP_EARNERS
+}
@@ -0,0 +1,37 @@
+package com.reliaquest.api.roster;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.time.Instant;
+import java.util.function.Consumer;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Records which roster a response was built from, for its {@code Age} header. The request is captured on the thread
+ * handling it, so a roster served later on another thread is still recorded against it.
+ */
+public final class RosterAge {
+
+    /**
+     * Request attribute holding the {@link Instant} the oldest roster served to the request was fetched at.
+     */
+    public static final String FETCHED_AT = RosterAge.class.getName() + ".fetchedAt";
+
+    private RosterAge() {}
+
+    /**
+     * @return recorder for the current request; does nothing outside a request
+     */
+    public static Consumer<EmployeeRoster> recorder() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return roster -> {};
+        }
+        HttpServletRequest request = attributes.getRequest();
+        return roster -> {
+            if (!(request.getAttribute(FETCHED_AT) instanceof Instant recorded)
+                    || roster.getFetchedAt().isBefore(recorded)) {
+                request.setAttribute(FETCHED_AT, roster.getFetchedAt());
+            }
+        };
+    }
+}
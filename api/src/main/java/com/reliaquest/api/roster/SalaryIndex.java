@@ -0,0 +1,153 @@
+package com.reliaquest.api.roster;
+
+import com.reliaquest.api.dto.Employee;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.Set;
+
+/**
+ * Salaries of one roster version kept in descending order next to the employees they belong to, so the highest
+ * salary is a single read and the top N earners are a prefix of the arrays. Employees with equal salaries keep their
+ * roster order.
+ */
+public final class SalaryIndex {
+
+    private final int[] salaries;
+    private final Employee[] employees;
+
+    private SalaryIndex(int[] salaries, Employee[] employees) {
+        this.salaries = salaries;
+        this.employees = employees;
+    }
+
+    public static SalaryIndex of(List<Employee> roster) {
+        // pack (inverted salary, roster position) into one long so a primitive sort gives a stable descending order
+        long[] keys = new long[roster.size()];
+        int count = 0;
+        for (int i = 0; i < roster.size(); i++) {
+            Integer salary = salaryOf(roster.get(i));
+            if (salary != null) {
+                keys[count++] = ((long) ~salary << 32) | i;
+            }
+        }
+        Arrays.sort(keys, 0, count);
+
+        int[] salaries = new int[count];
+        Employee[] employees = new Employee[count];
+        for (int i = 0; i < count; i++) {
+            salaries[i] = ~(int) (keys[i] >> 32);
+            employees[i] = roster.get((int) keys[i]);
+        }
+        return new SalaryIndex(salaries, employees);
+    }
+
+    /**
+     * @return index with {@code employee} inserted after every employee earning at least as much
+     */
+    public SalaryIndex withAdded(Employee employee) {
+        Integer salary = salaryOf(employee);
+        if (salary == null) {
+            return this;
+        }
+        // first position whose salary is strictly lower than the new one
+        int low = 0;
+        int high = salaries.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (salaries[mid] >= salary) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        int[] nextSalaries = new int[salaries.length + 1];
+        Employee[] nextEmployees = new Employee[employees.length + 1];
+        System.arraycopy(salaries, 0, nextSalaries, 0, low);
+        System.arraycopy(employees, 0, nextEmployees, 0, low);
+        nextSalaries[low] = salary;
+        nextEmployees[low] = employee;
+        System.arraycopy(salaries, low, nextSalaries, low + 1, salaries.length - low);
+        System.arraycopy(employees, low, nextEmployees, low + 1, employees.length - low);
+        return new SalaryIndex(nextSalaries, nextEmployees);
+    }
+
+    /**
+     * Same as {@link #withAdded(Employee)} for a batch, merged in one pass instead of sorting the whole roster again.
+     */
+    public SalaryIndex withAdded(List<Employee> added) {
+        List<Employee> earning = added.stream()
+                .filter(employee -> salaryOf(employee) != null)
+                .sorted(Comparator.comparing(SalaryIndex::salaryOf, Comparator.reverseOrder()))
+                .toList();
+        if (earning.isEmpty()) {
+            return this;
+        }
+
+        int[] nextSalaries = new int[salaries.length + earning.size()];
+        Employee[] nextEmployees = new Employee[nextSalaries.length];
+        int existing = 0;
+        int merged = 0;
+        for (int i = 0; i < nextSalaries.length; i++) {
+            if (merged == earning.size()
+                    || (existing < salaries.length && salaries[existing] >= salaryOf(earning.get(merged)))) {
+                nextSalaries[i] = salaries[existing];
+                nextEmployees[i] = employees[existing++];
+            } else {
+                nextSalaries[i] = salaryOf(earning.get(merged));
+                nextEmployees[i] = earning.get(merged++);
+            }
+        }
+        return new SalaryIndex(nextSalaries, nextEmployees);
+    }
+
+    /**
+     * @return index without the employees whose id is in {@code employeeIds}, everyone else keeping their order
+     */
+    public SalaryIndex withRemoved(Set<String> employeeIds) {
+        int[] nextSalaries = new int[salaries.length];
+        Employee[] nextEmployees = new Employee[employees.length];
+        int count = 0;
+        for (int i = 0; i < employees.length; i++) {
+            if (!employeeIds.contains(employees[i].getId())) {
+                nextSalaries[count] = salaries[i];
+                nextEmployees[count++] = employees[i];
+            }
+        }
+        if (count == employees.length) {
+            return this;
+        }
+        return new SalaryIndex(Arrays.copyOf(nextSalaries, count), Arrays.copyOf(nextEmployees, count));
+    }
+
+    public OptionalInt highest() {
+        return salaries.length == 0 ? OptionalInt.empty() : OptionalInt.of(salaries[0]);
+    }
+
+    /**
+     * @return up to {@code n} employees, highest salary first
+     */
+    public List<Employee> top(int n) {
+        return List.of(Arrays.copyOf(employees, Math.min(n, employees.length)));
+    }
+
+    public List<String> topNames(int n) {
+        int limit = Math.min(n, employees.length);
+        List<String> names = new ArrayList<>(limit);
+        for (int i = 0; i < limit; i++) {
+            names.add(employees[i].getName());
+        }
+        return names;
+    }
+
+    public int size() {
+        return salaries.length;
+    }
+
+    private static Integer salaryOf(Employee employee) {
+        return employee == null ? null : employee.getSalary();
+    }
+}
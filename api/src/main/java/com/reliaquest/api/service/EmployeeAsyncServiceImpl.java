@@ -0,0 +1,304 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.client.Futures;
+import com.reliaquest.api.client.UpstreamGovernor;
+import com.reliaquest.api.dto.BatchItemResult;
+import com.reliaquest.api.dto.CreateEmployeeRequest;
+import com.reliaquest.api.dto.Employee;
+import com.reliaquest.api.dto.EmployeePage;
+import com.reliaquest.api.exception.CustomRuntimeException;
+import com.reliaquest.api.exception.EmployeeAlreadyExistsException;
+import com.reliaquest.api.exception.EmployeeApiQueueFullException;
+import com.reliaquest.api.exception.EmployeeApiThrottledException;
+import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.roster.EmployeeRoster;
+import com.reliaquest.api.roster.EmployeeRosterCache;
+import com.reliaquest.api.roster.ReadEndpoint;
+import com.reliaquest.api.stream.StreamingRosterQueries;
+import java.util.List;
+import java.util.Objects;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
+
+/**
+ * Serves the same reads as {@link EmployeeServiceImpl} from the roster snapshot, and chains writes on the upstream
+ * client's futures, so no request thread waits on the Mock Employee API.
+ */
+@Service
+public class EmployeeAsyncServiceImpl implements IEmployeeAsyncService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeAsyncServiceImpl.class);
+
+    private final EmployeeApiClient employeeApiClient;
+
+    private final EmployeeRosterCache rosterCache;
+
+    private final StreamingRosterQueries streamingQueries;
+
+    private final EmployeeByIdLoader employeeByIdLoader;
+
+    private final EmployeeBatchWriter employeeBatchWriter;
+
+    private final EmployeeWriteThrough writeThrough;
+
+    private final boolean streamingAggregates;
+
+    private final Set<String> pendingCreates = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public EmployeeAsyncServiceImpl(
+            EmployeeApiClient employeeApiClient,
+            EmployeeRosterCache rosterCache,
+            StreamingRosterQueries streamingQueries,
+            EmployeeByIdLoader employeeByIdLoader,
+            EmployeeBatchWriter employeeBatchWriter,
+            EmployeeWriteThrough writeThrough,
+            @Value("${employee.roster.streaming-aggregates:false}") boolean streamingAggregates) {
+        this.employeeApiClient = employeeApiClient;
+        this.rosterCache = rosterCache;
+        this.streamingQueries = streamingQueries;
+        this.employeeByIdLoader = employeeByIdLoader;
+        this.employeeBatchWriter = employeeBatchWriter;
+        this.writeThrough = writeThrough;
+        this.streamingAggregates = streamingAggregates;
+    }
+
+    /**
+     * Like the blocking service's fallback, an unavailable upstream yields an empty list once the last-known-good
+     * roster is past its budget
+     */
+    @Override
+    public CompletableFuture<List<Employee>> getAllEmployees() {
+        return rosterCache.getAsync(ReadEndpoint.ALL).thenApply(EmployeeRoster::getEmployees).exceptionally(ex -> {
+            logger.warn(
+                    "getAllEmployees() : Fallback triggered due to: {}",
+                    Futures.unwrap(ex).toString());
+            return List.of();
+        });
+    }
+
+    @Override
+    public CompletableFuture<EmployeePage> getEmployeesPage(String cursor, int limit) {
+        if (limit < 1 || limit > EmployeePage.MAX_LIMIT) {
+            return CompletableFuture.failedFuture(
+                    new IllegalArgumentException("limit should be between 1 and " + EmployeePage.MAX_LIMIT));
+        }
+        return employeeApiClient.getEmployeesPage(cursor, limit).exceptionally(ex -> {
+            RuntimeException cause = Futures.unwrap(ex);
+            if (cause instanceof HttpClientErrorException httpEx && httpEx.getStatusCode() == HttpStatus.BAD_REQUEST) {
+                logger.error("getEmployeesPage() response: cursor {} was rejected", cursor);
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return EmployeeAsyncServiceImpl.<EmployeePage>failWith(
+                            "getEmployeesPage", "Unexpected error occured while fetching employee page")
+                    .apply(cause);
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<Employee>> getEmployeesByNameSearch(String employeeName) {
+        CompletableFuture<List<Employee>> matches = streamingAggregates
+                ? streamingQueries.searchByName(employeeName)
+                : rosterCache
+                        .getAsync(ReadEndpoint.SEARCH)
+                        .thenApply(roster -> roster.getNameIndex().search(employeeName));
+        return matches
+                .thenApply(employees -> {
+                    if (employees.isEmpty()) {
+                        logger.error(
+                                "getEmployeesByNameSearch() response: Employee with name {} not found", employeeName);
+                        throw new EmployeeNotFoundException("Employee with name " + employeeName + " not found.");
+                    }
+                    return employees;
+                })
+                .exceptionally(failWith(
+                        "getEmployeesByNameSearch", "Unexpected error occured while fetching employee by name"));
+    }
+
+    @Override
+    public CompletableFuture<Employee> getEmployeeById(String employeeId) {
+        return employeeByIdLoader
+                .load(employeeId)
+                .exceptionally(ex -> {
+                    RuntimeException cause = Futures.unwrap(ex);
+                    if (cause instanceof HttpClientErrorException httpEx
+                            && httpEx.getStatusCode() == HttpStatus.NOT_FOUND) {
+                        logger.error("getEmployeeById() response: Employee with employeeId {} not found", employeeId);
+                        throw new EmployeeNotFoundException("Employee with id " + employeeId + " not found.");
+                    }
+                    return EmployeeAsyncServiceImpl.<Employee>failWith(
+                                    "getEmployeeById", "Unexpected error occurred while fetching employee by id:")
+                            .apply(cause);
+                });
+    }
+
+    @Override
+    public CompletableFuture<List<Employee>> getEmployeesByIds(List<String> employeeIds) {
+        if (employeeIds == null || employeeIds.isEmpty() || employeeIds.size() > EmployeeByIdLoader.MAX_IDS) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException(
+                    "ids should contain between 1 and " + EmployeeByIdLoader.MAX_IDS + " ids"));
+        }
+        return employeeByIdLoader
+                .loadAll(employeeIds)
+                .exceptionally(
+                        failWith("getEmployeesByIds", "Unexpected error occurred while fetching employees by id:"));
+    }
+
+    @Override
+    public CompletableFuture<Integer> getHighestSalaryOfEmployees() {
+        CompletableFuture<OptionalInt> highest = streamingAggregates
+                ? streamingQueries.highestSalary()
+                : rosterCache
+                        .getAsync(ReadEndpoint.HIGHEST_SALARY)
+                        .thenApply(roster -> roster.getSalaryIndex().highest());
+        return highest
+                .thenApply(salary -> salary.orElseThrow(() -> new RuntimeException("There is no maximum salary")))
+                .exceptionally(failWith(
+                        "getHighestSalaryOfEmployees", "Unexpected error occured while fetching highest salary"));
+    }
+
+    @Override
+    public CompletableFuture<List<String>> getTopTenHighestEarningEmployeeNames() {
+        CompletableFuture<List<String>> names = streamingAggregates
+                ? streamingQueries.topNames(10)
+                : rosterCache.getAsync(ReadEndpoint.TOP_TEN).thenApply(roster -> roster.getSalaryIndex().topNames(10));
+        return names.exceptionally(failWith(
+                "getTopTenHighestEarningEmployeeNames",
+                "Unexpected error occured while fetching top ten highest earning employee"));
+    }
+
+    @Override
+    public CompletableFuture<List<Employee>> getTopEarners(int count) {
+        if (count < 1) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("n should be greater than zero"));
+        }
+        CompletableFuture<List<Employee>> topEarners = streamingAggregates
+                ? streamingQueries.topEarners(count)
+                : rosterCache
+                        .getAsync(ReadEndpoint.TOP_EARNERS)
+                        .thenApply(roster -> roster.getSalaryIndex().top(count));
+        return topEarners.exceptionally(
+                failWith("getTopEarners", "Unexpected error occured while fetching top earners"));
+    }
+
+    @Override
+    public CompletableFuture<Employee> createEmployee(CreateEmployeeRequest createEmployeeRequest) {
+        String employeeName = createEmployeeRequest.getName();
+        String nameKey = EmployeeRoster.nameKey(Objects.toString(employeeName, ""));
+        if (!pendingCreates.add(nameKey)) {
+            return CompletableFuture.failedFuture(employeeAlreadyExists(employeeName));
+        }
+        return rosterCache
+                .getAsync()
+                .handle((roster, ex) -> roster != null && roster.containsName(employeeName))
+                .thenCompose(exists -> exists
+                        ? CompletableFuture.<Employee>failedFuture(employeeAlreadyExists(employeeName))
+                        : employeeApiClient.createEmployee(createEmployeeRequest))
+                .thenApply(employee -> {
+                    if (employee == null) {
+                        throw new CustomRuntimeException("Mock Employee API returned no employee");
+                    }
+                    writeThrough.created(employee);
+                    return employee;
+                })
+                .exceptionally(failWith("createEmployee", "Unexpected error during employee creation:"))
+                .whenComplete((employee, ex) -> pendingCreates.remove(nameKey));
+    }
+
+    @Override
+    public CompletableFuture<String> deleteEmployeeById(String employeeId) {
+        return employeeApiClient
+                .deleteEmployeeById(employeeId)
+                .thenApply(deleted -> {
+                    if (!deleted) {
+                        throw new CustomRuntimeException("Failed to delete employee with id " + employeeId);
+                    }
+                    writeThrough.deleted(employeeId);
+                    return "Employee with id " + employeeId + " deleted successfully";
+                })
+                .exceptionally(ex -> {
+                    RuntimeException cause = Futures.unwrap(ex);
+                    if (cause instanceof HttpClientErrorException httpEx
+                            && httpEx.getStatusCode() == HttpStatus.NOT_FOUND) {
+                        logger.error(
+                                "deleteEmployeeById() response: Employee with employeeId {} not found", employeeId);
+                        throw new EmployeeNotFoundException("Employee with id " + employeeId + " not found.");
+                    }
+                    return EmployeeAsyncServiceImpl.<String>failWith(
+                                    "deleteEmployeeById", "Unexpected error occured while deleting employee by id")
+                            .apply(cause);
+                });
+    }
+
+    @Override
+    public CompletableFuture<List<BatchItemResult<Employee>>> createEmployees(
+            List<CreateEmployeeRequest> createEmployeeRequests) {
+        if (!validBatchSize(createEmployeeRequests)) {
+            return CompletableFuture.failedFuture(batchSizeError());
+        }
+        return employeeBatchWriter
+                .createAll(createEmployeeRequests)
+                .exceptionally(failWith("createEmployees", "Unexpected error during bulk employee creation:"));
+    }
+
+    @Override
+    public CompletableFuture<List<BatchItemResult<String>>> deleteEmployeesByIds(List<String> employeeIds) {
+        if (!validBatchSize(employeeIds)) {
+            return CompletableFuture.failedFuture(batchSizeError());
+        }
+        return employeeBatchWriter
+                .deleteAll(employeeIds)
+                .exceptionally(
+                        failWith("deleteEmployeesByIds", "Unexpected error occured while deleting employees by id"));
+    }
+
+    private static boolean validBatchSize(List<?> items) {
+        return items != null && !items.isEmpty() && items.size() <= EmployeeBatchWriter.MAX_ITEMS;
+    }
+
+    private static IllegalArgumentException batchSizeError() {
+        return new IllegalArgumentException(
+                "batch should contain between 1 and " + EmployeeBatchWriter.MAX_ITEMS + " items");
+    }
+
+    private EmployeeAlreadyExistsException employeeAlreadyExists(String employeeName) {
+        logger.error("createEmployee() : Employee with name " + employeeName + " already exists");
+        return new EmployeeAlreadyExistsException("Employee with name " + employeeName + " already exists");
+    }
+
+    /**
+     * Passes the service's own exceptions through, turns 429s into an {@link EmployeeApiThrottledException} and wraps
+     * anything else in a {@link CustomRuntimeException}, the same way the blocking service does.
+     */
+    private static <T> Function<Throwable, T> failWith(String operation, String message) {
+        return ex -> {
+            RuntimeException cause = Futures.unwrap(ex);
+            if (cause instanceof EmployeeNotFoundException
+                    || cause instanceof EmployeeAlreadyExistsException
+                    || cause instanceof EmployeeApiThrottledException
+                    || cause instanceof CustomRuntimeException) {
+                throw cause;
+            }
+            if (cause instanceof EmployeeApiQueueFullException queueFull) {
+                throw EmployeeApiThrottledException.from(queueFull);
+            }
+            if (UpstreamGovernor.isThrottled(cause)) {
+                throw EmployeeApiThrottledException.from((HttpStatusCodeException) cause);
+            }
+            logger.error(operation + "() : " + message + " : " + cause.getMessage());
+            throw new CustomRuntimeException(message + " " + cause.getCause());
+        };
+    }
+}
@@ -0,0 +1,184 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.dto.BatchItem;
+import com.reliaquest.api.dto.BatchItemResult;
+import com.reliaquest.api.dto.CreateEmployeeRequest;
+import com.reliaquest.api.dto.Employee;
+import com.reliaquest.api.roster.EmployeeRoster;
+import com.reliaquest.api.roster.EmployeeRosterCache;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bulk create and delete shared by both services. Items that would fail on their own are answered without an
+ * upstream call, and the rest are sent to the Mock Employee API as one batch request.
+ */
+@Component
+class EmployeeBatchWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeBatchWriter.class);
+
+    // largest batch the Mock Employee API accepts
+    static final int MAX_ITEMS = 1000;
+
+    private final EmployeeApiClient employeeApiClient;
+
+    private final EmployeeRosterCache rosterCache;
+
+    private final EmployeeWriteThrough writeThrough;
+
+    private final Validator validator;
+
+    @Autowired
+    EmployeeBatchWriter(
+            EmployeeApiClient employeeApiClient,
+            EmployeeRosterCache rosterCache,
+            EmployeeWriteThrough writeThrough,
+            Validator validator) {
+        this.employeeApiClient = employeeApiClient;
+        this.rosterCache = rosterCache;
+        this.writeThrough = writeThrough;
+        this.validator = validator;
+    }
+
+    /**
+     * Invalid requests get a 400 and names already in the roster, or repeated in the batch, a 409. Created employees
+     * are added to the roster in one swap, and cached by id.
+     * @return one result per request, at the same index
+     */
+    CompletableFuture<List<BatchItemResult<Employee>>> createAll(List<CreateEmployeeRequest> requests) {
+        return rosterCache.getAsync().handle((roster, ex) -> roster).thenCompose(roster -> {
+            List<BatchItemResult<Employee>> results = new ArrayList<>(Collections.nCopies(requests.size(), null));
+            List<CreateEmployeeRequest> forwarded = new ArrayList<>(requests.size());
+            List<Integer> forwardedIndexes = new ArrayList<>(requests.size());
+            Set<String> names = new HashSet<>();
+            for (int i = 0; i < requests.size(); i++) {
+                CreateEmployeeRequest request = requests.get(i);
+                String violations = request == null ? "request: must not be null" : violations(request);
+                if (violations != null) {
+                    results.set(i, BatchItemResult.failure(HttpStatus.BAD_REQUEST.value(), violations));
+                } else if (!names.add(EmployeeRoster.nameKey(request.getName()))
+                        || (roster != null && roster.containsName(request.getName()))) {
+                    logger.error("createEmployees() : Employee with name " + request.getName() + " already exists");
+                    results.set(
+                            i,
+                            BatchItemResult.failure(
+                                    HttpStatus.CONFLICT.value(),
+                                    "Employee with name " + request.getName() + " already exists"));
+                } else {
+                    forwarded.add(request);
+                    forwardedIndexes.add(i);
+                }
+            }
+            if (forwarded.isEmpty()) {
+                return CompletableFuture.completedFuture(results);
+            }
+            return employeeApiClient.createEmployees(forwarded).thenApply(items -> {
+                checkSize(items, forwarded.size());
+                List<Employee> created = new ArrayList<>(items.size());
+                for (int i = 0; i < items.size(); i++) {
+                    BatchItem<Employee> item = items.get(i);
+                    if (item.getError() != null || item.getData() == null) {
+                        results.set(
+                                forwardedIndexes.get(i),
+                                BatchItemResult.failure(HttpStatus.BAD_REQUEST.value(), item.getError()));
+                    } else {
+                        results.set(
+                                forwardedIndexes.get(i),
+                                BatchItemResult.success(HttpStatus.CREATED.value(), item.getData()));
+                        created.add(item.getData());
+                    }
+                }
+                logger.debug("createEmployees() created {} of {} employees", created.size(), requests.size());
+                writeThrough.created(created);
+                return results;
+            });
+        });
+    }
+
+    /**
+     * Deleted upstream by id in one batch request. Unknown ids get a 404 and blank or repeated ids a 400. Deleted
+     * employees leave the roster in one swap, and the employeeById cache.
+     * @return one result per id, at the same index
+     */
+    CompletableFuture<List<BatchItemResult<String>>> deleteAll(List<String> employeeIds) {
+        List<BatchItemResult<String>> results = new ArrayList<>(Collections.nCopies(employeeIds.size(), null));
+        List<String> forwarded = new ArrayList<>(employeeIds.size());
+        List<Integer> forwardedIndexes = new ArrayList<>(employeeIds.size());
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < employeeIds.size(); i++) {
+            String employeeId = employeeIds.get(i);
+            if (employeeId == null || employeeId.isBlank()) {
+                results.set(
+                        i, BatchItemResult.failure(HttpStatus.BAD_REQUEST.value(), "Employee id should not be blank"));
+            } else if (!seen.add(employeeId)) {
+                results.set(
+                        i,
+                        BatchItemResult.failure(
+                                HttpStatus.BAD_REQUEST.value(),
+                                "Employee with id " + employeeId + " is listed more than once"));
+            } else {
+                forwarded.add(employeeId);
+                forwardedIndexes.add(i);
+            }
+        }
+        if (forwarded.isEmpty()) {
+            return CompletableFuture.completedFuture(results);
+        }
+        return employeeApiClient.deleteEmployeesByIds(forwarded).thenApply(items -> {
+            checkSize(items, forwarded.size());
+            List<String> deleted = new ArrayList<>(items.size());
+            for (int i = 0; i < items.size(); i++) {
+                String employeeId = forwarded.get(i);
+                if (Boolean.TRUE.equals(items.get(i).getData())) {
+                    results.set(
+                            forwardedIndexes.get(i),
+                            BatchItemResult.success(
+                                    HttpStatus.OK.value(), "Employee with id " + employeeId + " deleted successfully"));
+                    deleted.add(employeeId);
+                } else {
+                    // unknown, or not an id the upstream could parse
+                    results.set(forwardedIndexes.get(i), notFound(employeeId));
+                }
+            }
+            writeThrough.deleted(deleted);
+            return results;
+        });
+    }
+
+    private String violations(Object request) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static BatchItemResult<String> notFound(String employeeId) {
+        return BatchItemResult.failure(
+                HttpStatus.NOT_FOUND.value(), "Employee with id " + employeeId + " not found.");
+    }
+
+    private static void checkSize(List<?> items, int expected) {
+        if (items == null || items.size() != expected) {
+            throw new IllegalStateException("Expected " + expected + " results from the Mock Employee API batch, got "
+                    + (items == null ? 0 : items.size()));
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.client.Futures;
+import com.reliaquest.api.client.UpstreamGovernor;
+import com.reliaquest.api.dto.Employee;
+import com.reliaquest.api.roster.EmployeeRoster;
+import com.reliaquest.api.roster.EmployeeRosterCache;
+import com.reliaquest.api.roster.ReadEndpoint;
+import com.reliaquest.api.roster.RosterAge;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Id lookups shared by both services. Single-id misses that arrive within {@code employee.api.coalesce.window} of
+ * each other are sent upstream as one bulk lookup, and concurrent misses for the same id share one future. A window
+ * of zero sends every miss on its own. Employees found upstream fill the {@code employeeById} cache through
+ * {@link EmployeeWriteThrough}. While the upstream is throttling or unavailable, lookups are answered from the
+ * last-known-good roster, and those answers are not cached.
+ */
+@Component
+class EmployeeByIdLoader {
+
+    static final int MAX_IDS = 1000;
+
+    private final EmployeeApiClient employeeApiClient;
+
+    private final EmployeeWriteThrough writeThrough;
+
+    private final EmployeeRosterCache rosterCache;
+
+    private final Executor flushExecutor;
+
+    private final int maxBatch;
+
+    private final Object lock = new Object();
+
+    // ids waiting for the current window to close, in arrival order; guarded by lock
+    private Map<String, CompletableFuture<Employee>> pending = new LinkedHashMap<>();
+
+    @Autowired
+    EmployeeByIdLoader(
+            EmployeeApiClient employeeApiClient,
+            EmployeeWriteThrough writeThrough,
+            EmployeeRosterCache rosterCache,
+            @Qualifier("applicationTaskExecutor") Executor executor,
+            @Value("${employee.api.coalesce.window:2ms}") Duration window,
+            @Value("${employee.api.coalesce.max-batch:100}") int maxBatch) {
+        this.employeeApiClient = employeeApiClient;
+        this.writeThrough = writeThrough;
+        this.rosterCache = rosterCache;
+        this.flushExecutor = window.isZero()
+                ? null
+                : CompletableFuture.delayedExecutor(window.toNanos(), TimeUnit.NANOSECONDS, executor);
+        this.maxBatch = Math.min(maxBatch, MAX_IDS);
+    }
+
+    /**
+     * Served from the {@code employeeById} cache when it holds the employee. Fails with a 404
+     * {@link HttpClientErrorException} when the upstream has no employee with {@code employeeId}, the same as
+     * {@link EmployeeApiClient#getEmployee(String)}.
+     */
+    CompletableFuture<Employee> load(String employeeId) {
+        Employee cached = writeThrough.cached(employeeId);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        Consumer<EmployeeRoster> served = RosterAge.recorder();
+        long startedAt = writeThrough.version();
+        return fetch(employeeId)
+                .thenApply(employee -> {
+                    if (employee != null) {
+                        writeThrough.loaded(employee, startedAt);
+                    }
+                    return employee;
+                })
+                .exceptionallyCompose(ex -> {
+                    EmployeeRoster roster = lastKnownGood(ex);
+                    Optional<Employee> employee = roster == null ? Optional.empty() : roster.findById(employeeId);
+                    if (employee.isEmpty()) {
+                        return CompletableFuture.failedFuture(ex);
+                    }
+                    served.accept(roster);
+                    return CompletableFuture.completedFuture(employee.get());
+                });
+    }
+
+    /**
+     * Concurrent misses for the same id get the same future.
+     */
+    private CompletableFuture<Employee> fetch(String employeeId) {
+        if (flushExecutor == null) {
+            return employeeApiClient.getEmployee(employeeId);
+        }
+        CompletableFuture<Employee> future;
+        Map<String, CompletableFuture<Employee>> full = null;
+        boolean first;
+        synchronized (lock) {
+            future = pending.get(employeeId);
+            if (future != null) {
+                return future;
+            }
+            future = new CompletableFuture<>();
+            pending.put(employeeId, future);
+            first = pending.size() == 1;
+            if (pending.size() >= maxBatch) {
+                full = pending;
+                pending = new LinkedHashMap<>();
+            }
+        }
+        if (full != null) {
+            flush(full);
+        } else if (first) {
+            flushExecutor.execute(this::flushPending);
+        }
+        return future;
+    }
+
+    /**
+     * Cached employees are served from the {@code employeeById} cache and the rest are fetched with one bulk lookup,
+     * which also fills the cache unless the roster answered it.
+     * @return employees found, in the order of {@code employeeIds} with duplicates removed; unknown ids are skipped
+     */
+    CompletableFuture<List<Employee>> loadAll(List<String> employeeIds) {
+        Consumer<EmployeeRoster> served = RosterAge.recorder();
+        long startedAt = writeThrough.version();
+        Map<String, Employee> found = new HashMap<>();
+        List<String> misses = new ArrayList<>();
+        LinkedHashSet<String> ids = new LinkedHashSet<>(employeeIds);
+        for (String employeeId : ids) {
+            Employee cached = writeThrough.cached(employeeId);
+            if (cached != null) {
+                found.put(employeeId, cached);
+            } else {
+                misses.add(employeeId);
+            }
+        }
+        CompletableFuture<List<Employee>> fetched = misses.isEmpty()
+                ? CompletableFuture.completedFuture(List.of())
+                : employeeApiClient
+                        .getEmployeesByIds(misses)
+                        .thenApply(employees -> {
+                            employees.forEach(employee -> writeThrough.loaded(employee, startedAt));
+                            return employees;
+                        })
+                        .exceptionallyCompose(ex -> {
+                            EmployeeRoster roster = lastKnownGood(ex);
+                            if (roster == null) {
+                                return CompletableFuture.failedFuture(ex);
+                            }
+                            served.accept(roster);
+                            return CompletableFuture.completedFuture(misses.stream()
+                                    .map(roster::findById)
+                                    .flatMap(Optional::stream)
+                                    .toList());
+                        });
+        return fetched.thenApply(employees -> {
+            for (Employee employee : employees) {
+                found.put(employee.getId(), employee);
+            }
+            return ids.stream().map(found::get).filter(Objects::nonNull).toList();
+        });
+    }
+
+    private void flushPending() {
+        Map<String, CompletableFuture<Employee>> batch;
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new LinkedHashMap<>();
+        }
+        flush(batch);
+    }
+
+    /**
+     * A batch of one goes to the single-id endpoint, so uncontended lookups cost the same as without coalescing.
+     */
+    private void flush(Map<String, CompletableFuture<Employee>> batch) {
+        if (batch.size() == 1) {
+            Map.Entry<String, CompletableFuture<Employee>> only = batch.entrySet().iterator().next();
+            employeeApiClient.getEmployee(only.getKey()).whenComplete((employee, ex) -> {
+                if (ex != null) {
+                    only.getValue().completeExceptionally(ex);
+                } else {
+                    only.getValue().complete(employee);
+                }
+            });
+            return;
+        }
+        employeeApiClient.getEmployeesByIds(List.copyOf(batch.keySet())).whenComplete((employees, ex) -> {
+            if (ex != null) {
+                batch.values().forEach(future -> future.completeExceptionally(ex));
+                return;
+            }
+            for (Employee employee : employees) {
+                CompletableFuture<Employee> future = batch.get(employee.getId());
+                if (future != null) {
+                    future.complete(employee);
+                }
+            }
+            batch.values().forEach(future -> future.completeExceptionally(
+                    HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", HttpHeaders.EMPTY, null, null)));
+        });
+    }
+
+    /**
+     * @return last-known-good roster if {@code ex} means the upstream could not answer, rather than that it rejected
+     *     the lookup
+     */
+    private EmployeeRoster lastKnownGood(Throwable ex) {
+        RuntimeException cause = Futures.unwrap(ex);
+        if (cause instanceof HttpClientErrorException && !UpstreamGovernor.isThrottled(cause)) {
+            return null;
+        }
+        return rosterCache.lastKnownGood(ReadEndpoint.BY_ID);
+    }
+}
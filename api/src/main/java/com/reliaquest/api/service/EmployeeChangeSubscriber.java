@@ -0,0 +1,191 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.dto.EmployeeChange;
+import com.reliaquest.api.roster.EmployeeRoster;
+import com.reliaquest.api.roster.EmployeeRosterCache;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the roster current from the Mock Employee API's change stream ({@code /changes/stream}, Server-Sent Events)
+ * instead of polling it. Each change is applied to the roster and evicts the employee's {@code employeeById} entry,
+ * and each heartbeat confirms the roster is still current, so it is not refreshed while the stream is up. A gap in
+ * the sequence numbers or a {@code resync} event falls back to a roster refresh, which catches up from the change
+ * feed. On disconnect it reconnects with {@code Last-Event-ID} set to the roster's sequence number, backing off from
+ * {@code reconnect-min} to {@code reconnect-max}; until then the roster refreshes on its own timers as before.
+ *
+ * <p>The stream is a single long-lived request, so it is not paced by the governor or counted in the upstream
+ * metrics.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "employee.roster.change-stream.enabled", havingValue = "true", matchIfMissing = true)
+class EmployeeChangeSubscriber implements SmartLifecycle {
+
+    private final HttpClient httpClient;
+
+    private final ObjectMapper objectMapper;
+
+    private final EmployeeWriteThrough writeThrough;
+
+    private final EmployeeRosterCache rosterCache;
+
+    private final URI streamUri;
+
+    private final Duration reconnectMin;
+
+    private final Duration reconnectMax;
+
+    private volatile boolean running;
+
+    private volatile Thread thread;
+
+    // body of the open stream, closed to unblock the reader on stop
+    private volatile Stream<String> lines;
+
+    @Autowired
+    EmployeeChangeSubscriber(
+            HttpClient employeeApiHttpClient,
+            ObjectMapper objectMapper,
+            EmployeeWriteThrough writeThrough,
+            EmployeeRosterCache rosterCache,
+            @Value("${employee.api.url}") String employeeApiUrl,
+            @Value("${employee.roster.change-stream.reconnect-min:1s}") Duration reconnectMin,
+            @Value("${employee.roster.change-stream.reconnect-max:30s}") Duration reconnectMax) {
+        this.httpClient = employeeApiHttpClient;
+        this.objectMapper = objectMapper;
+        this.writeThrough = writeThrough;
+        this.rosterCache = rosterCache;
+        this.streamUri = URI.create(employeeApiUrl + "/changes/stream");
+        this.reconnectMin = reconnectMin;
+        this.reconnectMax = reconnectMax;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = Thread.ofPlatform().name("employee-change-stream").daemon().start(this::run);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Stream<String> open = lines;
+        if (open != null) {
+            open.close();
+        }
+        Thread current = thread;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        Duration backoff = reconnectMin;
+        while (running) {
+            try {
+                if (listen()) {
+                    backoff = reconnectMin;
+                }
+            } catch (IOException | RuntimeException ex) {
+                if (running) {
+                    log.warn("run() : change stream failed, reconnecting in {}: {}", backoff, ex.toString());
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            backoff = backoff.multipliedBy(2).compareTo(reconnectMax) > 0 ? reconnectMax : backoff.multipliedBy(2);
+        }
+    }
+
+    /**
+     * Reads the stream until it ends.
+     * @return whether any event was received, in which case the next reconnect starts from the shortest backoff
+     */
+    private boolean listen() throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(streamUri)
+                .header(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE)
+                .GET();
+        long sequence = rosterCache.changeSequence();
+        if (sequence != EmployeeRoster.UNKNOWN_SEQUENCE) {
+            request.header("Last-Event-ID", Long.toString(sequence));
+        }
+        HttpResponse<Stream<String>> response =
+                httpClient.send(request.build(), HttpResponse.BodyHandlers.ofLines());
+        try (Stream<String> body = response.body()) {
+            if (response.statusCode() >= 400) {
+                throw new IOException("change stream returned " + response.statusCode());
+            }
+            lines = body;
+            log.info("listen() : subscribed to {} after sequence {}", streamUri, sequence);
+            boolean received = false;
+            String event = null;
+            StringBuilder data = new StringBuilder();
+            for (Iterator<String> it = body.iterator(); it.hasNext() && running; ) {
+                String line = it.next();
+                if (line.isEmpty()) {
+                    if (event != null) {
+                        dispatch(event, data.toString());
+                        received = true;
+                    }
+                    event = null;
+                    data.setLength(0);
+                } else if (line.startsWith("event:")) {
+                    event = field(line, "event:");
+                } else if (line.startsWith("data:")) {
+                    data.append(data.isEmpty() ? "" : "\n").append(field(line, "data:"));
+                }
+            }
+            return received;
+        } finally {
+            lines = null;
+        }
+    }
+
+    private void dispatch(String event, String data) throws JsonProcessingException {
+        boolean current =
+                switch (event) {
+                    case "change" -> writeThrough.changed(objectMapper.readValue(data, EmployeeChange.class));
+                    case "heartbeat" -> rosterCache.confirm(Long.parseLong(data.trim()));
+                    case "resync" -> false;
+                    default -> true;
+                };
+        if (!current) {
+            log.info("dispatch() : roster missed changes before {} {}, refreshing", event, data);
+            rosterCache.refresh();
+        }
+    }
+
+    private static String field(String line, String name) {
+        String value = line.substring(name.length());
+        return value.startsWith(" ") ? value.substring(1) : value;
+    }
+}
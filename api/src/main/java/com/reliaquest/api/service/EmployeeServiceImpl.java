@@ -1,54 +1,117 @@
 package com.reliaquest.api.service;
 
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.client.Futures;
+import com.reliaquest.api.client.UpstreamGovernor;
 import com.reliaquest.api.dto.*;
 import com.reliaquest.api.exception.CustomRuntimeException;
 import com.reliaquest.api.exception.EmployeeAlreadyExistsException;
+import com.reliaquest.api.exception.EmployeeApiQueueFullException;
+import com.reliaquest.api.exception.EmployeeApiThrottledException;
 import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.roster.EmployeeRoster;
+import com.reliaquest.api.roster.EmployeeRosterCache;
+import com.reliaquest.api.roster.ReadEndpoint;
+import com.reliaquest.api.roster.RosterAge;
+import com.reliaquest.api.stream.StreamingRosterQueries;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
-import org.springframework.http.*;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.client.HttpStatusCodeException;
 
 @Service
 public class EmployeeServiceImpl implements IEmployeeService {
 
     private static final Logger logger = LoggerFactory.getLogger(EmployeeServiceImpl.class);
 
-    private final RestTemplate restTemplate;
-
-    @Value("${employee.api.url}")
-    private String MOCK_EMPLOYEE_API_URL;
+    private final EmployeeApiClient employeeApiClient;
 
     @Autowired
     private CacheManager cacheManager;
 
+    private final EmployeeRosterCache rosterCache;
+
+    private final StreamingRosterQueries streamingQueries;
+
+    private final EmployeeByIdLoader employeeByIdLoader;
+
+    private final EmployeeBatchWriter employeeBatchWriter;
+
+    private final EmployeeWriteThrough writeThrough;
+
+    // aggregate reads stream the upstream list instead of using the roster snapshot
+    private final boolean streamingAggregates;
+
+    // names with a create in flight, so two concurrent requests for the same name can't both pass the duplicate check
+    private final Set<String> pendingCreates = ConcurrentHashMap.newKeySet();
+
     @Autowired
-    public EmployeeServiceImpl(RestTemplate restTemplate) {
-        this.restTemplate = restTemplate;
+    public EmployeeServiceImpl(
+            EmployeeApiClient employeeApiClient,
+            EmployeeRosterCache rosterCache,
+            StreamingRosterQueries streamingQueries,
+            EmployeeByIdLoader employeeByIdLoader,
+            EmployeeBatchWriter employeeBatchWriter,
+            EmployeeWriteThrough writeThrough,
+            @Value("${employee.roster.streaming-aggregates:false}") boolean streamingAggregates) {
+        this.employeeApiClient = employeeApiClient;
+        this.rosterCache = rosterCache;
+        this.streamingQueries = streamingQueries;
+        this.employeeByIdLoader = employeeByIdLoader;
+        this.employeeBatchWriter = employeeBatchWriter;
+        this.writeThrough = writeThrough;
+        this.streamingAggregates = streamingAggregates;
     }
 
     /**
-     * we acn add circuit breaker and retry mechanism for other methods also. We can return cache data if server is down
-     * We can add pagination with custom logic here
+     * Served from the shared roster. Failures are retried and then trip the circuit breaker, and either way the
+     * caller falls back to the last-known-good roster; large lists can be read a page at a time with
+     * {@link #getEmployeesPage(String, int)} instead.
      * @return List of employees
      */
     @CircuitBreaker(name = "employeeService", fallbackMethod = "fallbackGetEmployees")
     @Retry(name = "employeeService", fallbackMethod = "fallbackGetEmployees")
     @Override
     public List<Employee> getAllEmployees() {
-        ResponseEntity<EmployeeResponseWrapper> response = fetchEmployeeData();
-        return response.getBody().getData();
+        return fetchEmployeeData();
+    }
+
+    /**
+     * Passed through to the upstream one page at a time, so neither side builds the full list for a page
+     * @param cursor nextCursor of the previous page, or null for the first page
+     * @return page of employees and the cursor of the following page
+     */
+    @Override
+    public EmployeePage getEmployeesPage(String cursor, int limit) {
+        if (limit < 1 || limit > EmployeePage.MAX_LIMIT) {
+            throw new IllegalArgumentException("limit should be between 1 and " + EmployeePage.MAX_LIMIT);
+        }
+        try {
+            return Futures.await(employeeApiClient.getEmployeesPage(cursor, limit));
+        } catch (HttpClientErrorException ex) {
+            throwIfThrottled(ex);
+            if (ex.getStatusCode() == HttpStatus.BAD_REQUEST) {
+                logger.error("getEmployeesPage() response: cursor {} was rejected", cursor);
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            logger.error("getEmployeesPage() response: HTTP error occurred with status {}", ex.getStatusCode());
+            throw new CustomRuntimeException("HTTP error occurred while fetching employee page: " + ex.getStatusCode());
+        } catch (Exception ex) {
+            throwIfThrottled(ex);
+            logger.error("getEmployeesPage() : Unexpected error occured while fetching employee page : "
+                    + ex.getMessage());
+            throw new CustomRuntimeException("Unexpected error occured while fetching employee page " + ex.getCause());
+        }
     }
 
     @Override
@@ -64,6 +127,7 @@ public class EmployeeServiceImpl implements IEmployeeService {
         } catch (EmployeeNotFoundException ex) {
             throw ex;
         } catch (Exception ex) {
+            throwIfThrottled(ex);
             logger.error("getEmployeesByNameSearch() : Unexpected error occured while fetching employee by name : "
                     + ex.getMessage());
             throw new CustomRuntimeException(
@@ -72,21 +136,17 @@ public class EmployeeServiceImpl implements IEmployeeService {
     }
 
     /**
-     *  We can add caching for getEmployeesByNameSearch also
+     * Served from the employeeById cache, which creates and deletes keep up to date. Cache misses that arrive together
+     * are looked up upstream in one request.
      * @param employeeId ID of requested employee
      * @return employee information
      */
-    @Cacheable(value = "employeeById", key = "#employeeId")
     @Override
     public Employee getEmployeeById(String employeeId) {
-        String url = MOCK_EMPLOYEE_API_URL + "/" + employeeId;
         try {
-            ResponseEntity<EmployeeResponse> response =
-                    restTemplate.exchange(url, HttpMethod.GET, null, EmployeeResponse.class);
-
-            Employee employee = response.getBody().getData();
-            return employee;
+            return Futures.await(employeeByIdLoader.load(employeeId));
         } catch (HttpClientErrorException ex) {
+            throwIfThrottled(ex);
             if (ex.getStatusCode() == HttpStatus.NOT_FOUND) {
                 logger.error("getEmployeeById() response: Employee with employeeId {} not found", employeeId);
                 throw new EmployeeNotFoundException("Employee with id " + employeeId + " not found.");
@@ -100,6 +160,7 @@ public class EmployeeServiceImpl implements IEmployeeService {
                     "HTTP error occurred while fetching employee by id: " + ex.getStatusCode());
 
         } catch (Exception ex) {
+            throwIfThrottled(ex);
             logger.error(
                     "getEmployeeById() : Unexpected error occurred while fetching employee by id : " + ex.getMessage());
             throw new CustomRuntimeException(
@@ -107,17 +168,44 @@ public class EmployeeServiceImpl implements IEmployeeService {
         }
     }
 
+    /**
+     * Cached employees are served from the employeeById cache and the rest are fetched in one upstream request
+     * @param employeeIds IDs of requested employees
+     * @return employees found, in request order; unknown ids are left out
+     */
+    @Override
+    public List<Employee> getEmployeesByIds(List<String> employeeIds) {
+        if (employeeIds == null || employeeIds.isEmpty() || employeeIds.size() > EmployeeByIdLoader.MAX_IDS) {
+            throw new IllegalArgumentException(
+                    "ids should contain between 1 and " + EmployeeByIdLoader.MAX_IDS + " ids");
+        }
+        try {
+            return Futures.await(employeeByIdLoader.loadAll(employeeIds));
+        } catch (HttpClientErrorException ex) {
+            throwIfThrottled(ex);
+            logger.error("getEmployeesByIds() response: HTTP error occurred with status {}", ex.getStatusCode());
+            throw new CustomRuntimeException(
+                    "HTTP error occurred while fetching employees by id: " + ex.getStatusCode());
+        } catch (Exception ex) {
+            throwIfThrottled(ex);
+            logger.error("getEmployeesByIds() : Unexpected error occurred while fetching employees by id : "
+                    + ex.getMessage());
+            throw new CustomRuntimeException(
+                    "Unexpected error occurred while fetching employees by id: " + ex.getCause());
+        }
+    }
+
     @Override
     public Integer getHighestSalaryOfEmployees() {
 
         try {
-            ResponseEntity<EmployeeResponseWrapper> response = fetchEmployeeData();
-            return response.getBody().getData().stream()
-                    .mapToInt(employee -> Integer.parseInt(employee.getSalary()))
-                    .max()
-                    .orElseThrow(() -> new RuntimeException("There is no maximum salary"));
+            OptionalInt highest = streamingAggregates
+                    ? Futures.await(streamingQueries.highestSalary())
+                    : rosterCache.get(ReadEndpoint.HIGHEST_SALARY).getSalaryIndex().highest();
+            return highest.orElseThrow(() -> new RuntimeException("There is no maximum salary"));
 
         } catch (Exception ex) {
+            throwIfThrottled(ex);
             logger.error("getHighestSalaryOfEmployees() : Unexpected error occured while fetching highest salary : "
                     + ex.getMessage());
             throw new CustomRuntimeException("Unexpected error occured while fetching highest salary " + ex.getCause());
@@ -128,15 +216,12 @@ public class EmployeeServiceImpl implements IEmployeeService {
     public List<String> getTopTenHighestEarningEmployeeNames() {
 
         try {
-            ResponseEntity<EmployeeResponseWrapper> response = fetchEmployeeData();
-
-            return response.getBody().getData().stream()
-                    .sorted(Comparator.comparingInt(employee -> Integer.parseInt(employee.getSalary())))
-                    .limit(10)
-                    .map(Employee::getName)
-                    .toList();
+            return streamingAggregates
+                    ? Futures.await(streamingQueries.topNames(10))
+                    : rosterCache.get(ReadEndpoint.TOP_TEN).getSalaryIndex().topNames(10);
 
         } catch (Exception ex) {
+            throwIfThrottled(ex);
             logger.error(
                     "getTopTenHighestEarningEmployeeNames() : Unexpected error occured while fetching top ten highest earning employee : "
                             + ex.getMessage());
@@ -145,66 +230,131 @@ public class EmployeeServiceImpl implements IEmployeeService {
         }
     }
 
+    /**
+     * @param count number of employees to return, highest salary first
+     * @return top earning employees, served as a slice of the roster's salary index
+     */
+    @Override
+    public List<Employee> getTopEarners(int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("n should be greater than zero");
+        }
+        try {
+            return streamingAggregates
+                    ? Futures.await(streamingQueries.topEarners(count))
+                    : rosterCache.get(ReadEndpoint.TOP_EARNERS).getSalaryIndex().top(count);
+
+        } catch (Exception ex) {
+            throwIfThrottled(ex);
+            logger.error("getTopEarners() : Unexpected error occured while fetching top earners : " + ex.getMessage());
+            throw new CustomRuntimeException("Unexpected error occured while fetching top earners " + ex.getCause());
+        }
+    }
+
+    /**
+     * Duplicate names are detected with the roster's exact-name index, and the created employee is added to the
+     * roster and the employeeById cache right away so the next create in a bulk onboarding run does not need a fresh
+     * download.
+     */
     @Override
     public Employee createEmployee(CreateEmployeeRequest createEmployeeRequest) {
+        String nameKey = EmployeeRoster.nameKey(Objects.toString(createEmployeeRequest.getName(), ""));
+        if (!pendingCreates.add(nameKey)) {
+            throw employeeAlreadyExists(createEmployeeRequest.getName());
+        }
         try {
-            if (!searchEmployeesByName(createEmployeeRequest.getName()).isEmpty()) {
-                logger.error(
-                        "createEmployee() : Employee with name " + createEmployeeRequest.getName() + " already exists");
-                throw new EmployeeAlreadyExistsException(
-                        "Employee with name " + createEmployeeRequest.getName() + " already exists");
+            if (nameExists(createEmployeeRequest.getName())) {
+                throw employeeAlreadyExists(createEmployeeRequest.getName());
             }
 
-            HttpEntity<CreateEmployeeRequest> requestEntity = new HttpEntity<>(createEmployeeRequest, getHeader());
-            ResponseEntity<EmployeeResponse> response =
-                    restTemplate.postForEntity(MOCK_EMPLOYEE_API_URL, requestEntity, EmployeeResponse.class);
-
-            logger.debug("createEmployee() createEmployeeResponse : " + response);
-            return response.getBody().getData();
+            Employee employee = Futures.await(employeeApiClient.createEmployee(createEmployeeRequest));
+            logger.debug("createEmployee() createdEmployee : " + employee);
+            if (employee == null) {
+                throw new CustomRuntimeException("Mock Employee API returned no employee");
+            }
+            writeThrough.created(employee);
+            return employee;
 
         } catch (EmployeeAlreadyExistsException ex) {
             throw ex;
         } catch (Exception ex) {
+            throwIfThrottled(ex);
             logger.error("createEmployee() : Unexpected error during employee creation: " + ex.getMessage());
             throw new CustomRuntimeException("Unexpected error during employee creation: " + ex.getCause());
+        } finally {
+            pendingCreates.remove(nameKey);
         }
     }
 
     /**
-     *  CacheEvict removes key from cache if employee is deleted
+     * Deleted upstream by id in a single call, so the exact employee is removed even when names are shared. It leaves
+     * the employeeById cache and the roster once the upstream confirms the delete.
      * @param employeeId ID of employee that needs to be deleted
      * @return acknowledgement of deletion of employee
      */
-    @CacheEvict(value = "employeeById", key = "#employeeId")
     @Override
     public String deleteEmployeeById(String employeeId) {
         try {
-            String employeeName = getEmployeeById(employeeId).getName();
-            DeleteEmployeeRequest deleteEmployeeRequest = new DeleteEmployeeRequest();
-            deleteEmployeeRequest.setName(employeeName);
-
-            HttpEntity<DeleteEmployeeRequest> requestEntity = new HttpEntity<>(deleteEmployeeRequest, getHeader());
-
-            ResponseEntity<DeleteEmployeeResponse> response = restTemplate.exchange(
-                    MOCK_EMPLOYEE_API_URL,
-                    HttpMethod.DELETE,
-                    requestEntity,
-                    DeleteEmployeeResponse.class,
-                    employeeName);
-
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody().isData()) {
+            if (Futures.await(employeeApiClient.deleteEmployeeById(employeeId))) {
+                writeThrough.deleted(employeeId);
                 return "Employee with id " + employeeId + " deleted successfully";
             }
             throw new CustomRuntimeException("Failed to delete employee with id " + employeeId);
-        } catch (EmployeeNotFoundException ex) {
-            throw ex;
+        } catch (HttpClientErrorException ex) {
+            throwIfThrottled(ex);
+            if (ex.getStatusCode() == HttpStatus.NOT_FOUND) {
+                logger.error("deleteEmployeeById() response: Employee with employeeId {} not found", employeeId);
+                throw new EmployeeNotFoundException("Employee with id " + employeeId + " not found.");
+            }
+            logger.error(
+                    "deleteEmployeeById() response: HTTP error occurred with status {} for employeeId {}",
+                    ex.getStatusCode(),
+                    employeeId);
+            throw new CustomRuntimeException(
+                    "HTTP error occurred while deleting employee by id: " + ex.getStatusCode());
         } catch (Exception ex) {
+            throwIfThrottled(ex);
             logger.error("deleteEmployeeById() : Unexpected error occured while deleting employee by id : "
                     + ex.getMessage());
             throw new CustomRuntimeException("Unexpected error occured while deleting employee by id " + ex.getCause());
         }
     }
 
+    /**
+     * Bulk onboarding in one upstream request; each request is validated and checked for duplicates on its own
+     * @return one result per request, at the same index, with the status code the single create would have returned
+     */
+    @Override
+    public List<BatchItemResult<Employee>> createEmployees(List<CreateEmployeeRequest> createEmployeeRequests) {
+        checkBatchSize(createEmployeeRequests);
+        try {
+            return Futures.await(employeeBatchWriter.createAll(createEmployeeRequests));
+        } catch (Exception ex) {
+            throwIfThrottled(ex);
+            logger.error("createEmployees() : Unexpected error during bulk employee creation: " + ex.getMessage());
+            throw new CustomRuntimeException("Unexpected error during bulk employee creation: " + ex.getCause());
+        }
+    }
+
+    /**
+     * Bulk offboarding in one upstream delete-by-id request, instead of one call per employee; each id is checked on
+     * its own
+     * @return one result per id, at the same index, with the status code the single delete would have returned
+     */
+    @Override
+    public List<BatchItemResult<String>> deleteEmployeesByIds(List<String> employeeIds) {
+        checkBatchSize(employeeIds);
+        try {
+            return Futures.await(employeeBatchWriter.deleteAll(employeeIds));
+        } catch (Exception ex) {
+            throwIfThrottled(ex);
+            logger.error("deleteEmployeesByIds() : Unexpected error occured while deleting employees by id : "
+                    + ex.getMessage());
+            throw new CustomRuntimeException(
+                    "Unexpected error occured while deleting employees by id " + ex.getCause());
+        }
+    }
+
     public Employee getFromCache(String employeeId) {
         Cache cache = cacheManager.getCache("employeeById");
         if (cache != null) {
@@ -214,46 +364,80 @@ public class EmployeeServiceImpl implements IEmployeeService {
     }
 
     /**
-     *  Refactor to a single reusable method for fetching employee data, since the same logic is duplicated in multiple places.
+     * Served from the shared roster snapshot, so concurrent callers don't each download the full list.
      * @return all employee data
      */
-    private ResponseEntity<EmployeeResponseWrapper> fetchEmployeeData() {
-        ResponseEntity<EmployeeResponseWrapper> response =
-                restTemplate.exchange(MOCK_EMPLOYEE_API_URL, HttpMethod.GET, null, EmployeeResponseWrapper.class);
-        return response;
+    private List<Employee> fetchEmployeeData() {
+        return rosterCache.get(ReadEndpoint.ALL).getEmployees();
     }
 
     /**
-     * Refactor to a single reusable method for getHeader, since the same logic is duplicated in multiple places.
+     * Answered from the roster's trigram name index rather than a scan over every employee, or from the streamed
+     * upstream list when streaming aggregates are on.
+     * @return matching employees, or an empty list if they couldn't be loaded for a reason other than throttling
      */
-    private HttpHeaders getHeader() {
-        HttpHeaders header = new HttpHeaders();
-        header.setContentType(MediaType.APPLICATION_JSON);
-        return header;
+    private List<Employee> searchEmployeesByName(String employeeName) {
+        try {
+            return streamingAggregates
+                    ? Futures.await(streamingQueries.searchByName(employeeName))
+                    : rosterCache.get(ReadEndpoint.SEARCH).getNameIndex().search(employeeName);
+        } catch (Exception ex) {
+            throwIfThrottled(ex);
+            return Collections.emptyList();
+        }
     }
 
     /**
-     * Refactor to a single reusable method for searchEmployeesByName, since the same logic is duplicated in multiple places with slight change in use.
+     * 429s, from the upstream, shed by the governor or refused by a full client queue, are passed on as a 429 rather
+     * than wrapped as a server error
      */
-    private List<Employee> searchEmployeesByName(String employeeName) {
-        try {
-            ResponseEntity<EmployeeResponseWrapper> response = fetchEmployeeData();
+    private static void throwIfThrottled(Exception ex) {
+        if (ex instanceof EmployeeApiThrottledException throttled) {
+            throw throttled;
+        }
+        if (Futures.unwrap(ex) instanceof EmployeeApiQueueFullException queueFull) {
+            throw EmployeeApiThrottledException.from(queueFull);
+        }
+        if (UpstreamGovernor.isThrottled(ex)) {
+            throw EmployeeApiThrottledException.from((HttpStatusCodeException) Futures.unwrap(ex));
+        }
+    }
 
-            String searchName = employeeName.trim().toLowerCase();
-            return response.getBody().getData().stream()
-                    .filter(emp ->
-                            emp.getName() != null && emp.getName().toLowerCase().contains(searchName))
-                    .toList();
+    private static void checkBatchSize(List<?> items) {
+        if (items == null || items.isEmpty() || items.size() > EmployeeBatchWriter.MAX_ITEMS) {
+            throw new IllegalArgumentException(
+                    "batch should contain between 1 and " + EmployeeBatchWriter.MAX_ITEMS + " items");
+        }
+    }
+
+    private EmployeeAlreadyExistsException employeeAlreadyExists(String employeeName) {
+        logger.error("createEmployee() : Employee with name " + employeeName + " already exists");
+        return new EmployeeAlreadyExistsException("Employee with name " + employeeName + " already exists");
+    }
+
+    /**
+     * If the roster can't be loaded the create goes ahead, as the upstream is the source of truth for it anyway.
+     */
+    private boolean nameExists(String employeeName) {
+        try {
+            return rosterCache.get().containsName(employeeName);
         } catch (Exception ex) {
-            return Collections.emptyList();
+            logger.warn("nameExists() : Could not load roster for duplicate check : " + ex.getMessage());
+            return false;
         }
     }
 
     /**
-     * @return we can return cached/default data in fallbackmethod
+     * @return last-known-good roster while the circuit breaker is open or the upstream is throttling, or an empty list
+     *     once it is past its budget
      */
     public List<Employee> fallbackGetEmployees(Throwable t) {
         logger.warn("Fallback triggered due to: {}", t.toString());
-        return List.of();
+        EmployeeRoster roster = rosterCache.lastKnownGood(ReadEndpoint.ALL);
+        if (roster == null) {
+            return List.of();
+        }
+        RosterAge.recorder().accept(roster);
+        return roster.getEmployees();
     }
 }
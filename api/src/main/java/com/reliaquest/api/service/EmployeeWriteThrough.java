@@ -0,0 +1,132 @@
+package com.reliaquest.api.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.reliaquest.api.dto.Employee;
+import com.reliaquest.api.dto.EmployeeChange;
+import com.reliaquest.api.roster.EmployeeRosterCache;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies writes the upstream has confirmed to every cached view of the employees at once: the {@code employeeById}
+ * entry, and the roster snapshot with its name and salary indexes. Each write takes the next version, and an id
+ * lookup only fills the cache if no write to that id has landed since the lookup started, so a response that was in
+ * flight during a delete can't put the deleted employee back.
+ */
+@Component
+class EmployeeWriteThrough {
+
+    // a lookup outliving this is long past any upstream timeout
+    private static final Duration WRITE_MEMORY = Duration.ofMinutes(1);
+
+    private final Cache byId;
+
+    private final EmployeeRosterCache rosterCache;
+
+    private final AtomicLong versions = new AtomicLong();
+
+    // version of the latest write to each recently written id; also the lock that orders writes and fills per id
+    private final Map<String, Long> lastWrites =
+            Caffeine.newBuilder().expireAfterWrite(WRITE_MEMORY).<String, Long>build().asMap();
+
+    @Autowired
+    EmployeeWriteThrough(CacheManager cacheManager, EmployeeRosterCache rosterCache) {
+        this.byId = Objects.requireNonNull(cacheManager.getCache("employeeById"), "employeeById cache");
+        this.rosterCache = rosterCache;
+    }
+
+    /**
+     * @return version of the latest write; taken before an upstream lookup and passed to {@link #loaded}
+     */
+    long version() {
+        return versions.get();
+    }
+
+    /**
+     * @return cached employee, or null on a miss
+     */
+    Employee cached(String employeeId) {
+        return byId.get(employeeId, Employee.class);
+    }
+
+    /**
+     * Caches an employee the upstream returned, unless it was created or deleted here after {@code startedAt}.
+     */
+    void loaded(Employee employee, long startedAt) {
+        lastWrites.compute(employee.getId(), (employeeId, written) -> {
+            if (written == null || written <= startedAt) {
+                byId.put(employeeId, employee);
+            }
+            return written;
+        });
+    }
+
+    /**
+     * @return version of the write
+     */
+    long created(Employee employee) {
+        return created(List.of(employee));
+    }
+
+    /**
+     * Adds the employees to the roster in one swap, then caches each by id.
+     * @return version of the write
+     */
+    long created(List<Employee> employees) {
+        rosterCache.applyCreated(employees);
+        long version = versions.incrementAndGet();
+        for (Employee employee : employees) {
+            lastWrites.compute(employee.getId(), (employeeId, written) -> {
+                byId.put(employeeId, employee);
+                return version;
+            });
+        }
+        return version;
+    }
+
+    /**
+     * @return version of the write
+     */
+    long deleted(String employeeId) {
+        return deleted(List.of(employeeId));
+    }
+
+    /**
+     * Removes the employees from the roster in one swap, then evicts each by id.
+     * @return version of the write
+     */
+    long deleted(Collection<String> employeeIds) {
+        rosterCache.applyDeleted(employeeIds);
+        long version = versions.incrementAndGet();
+        for (String employeeId : employeeIds) {
+            lastWrites.compute(employeeId, (id, written) -> {
+                byId.evict(id);
+                return version;
+            });
+        }
+        return version;
+    }
+
+    /**
+     * Applies a change pushed from the upstream's change log, made here or by another client. The id is evicted
+     * rather than cached, as a create may already have been deleted here by the time it arrives.
+     * @return false if the roster has missed earlier changes and needs a refresh
+     */
+    boolean changed(EmployeeChange change) {
+        boolean applied = rosterCache.applyChange(change);
+        long version = versions.incrementAndGet();
+        lastWrites.compute(change.getId(), (employeeId, written) -> {
+            byId.evict(employeeId);
+            return version;
+        });
+        return applied;
+    }
+}
@@ -0,0 +1,40 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.dto.BatchItemResult;
+import com.reliaquest.api.dto.CreateEmployeeRequest;
+import com.reliaquest.api.dto.Employee;
+import com.reliaquest.api.dto.EmployeePage;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counterpart of {@link IEmployeeService}. Futures complete exceptionally with the same exceptions the
+ * blocking service throws.
+ */
+public interface IEmployeeAsyncService {
+
+    CompletableFuture<List<Employee>> getAllEmployees();
+
+    CompletableFuture<EmployeePage> getEmployeesPage(String cursor, int limit);
+
+    CompletableFuture<List<Employee>> getEmployeesByNameSearch(String employeeName);
+
+    CompletableFuture<Employee> getEmployeeById(String employeeId);
+
+    CompletableFuture<List<Employee>> getEmployeesByIds(List<String> employeeIds);
+
+    CompletableFuture<Integer> getHighestSalaryOfEmployees();
+
+    CompletableFuture<List<String>> getTopTenHighestEarningEmployeeNames();
+
+    CompletableFuture<List<Employee>> getTopEarners(int count);
+
+    CompletableFuture<Employee> createEmployee(CreateEmployeeRequest createEmployeeRequest);
+
+    CompletableFuture<String> deleteEmployeeById(String employeeId);
+
+    CompletableFuture<List<BatchItemResult<Employee>>> createEmployees(
+            List<CreateEmployeeRequest> createEmployeeRequests);
+
+    CompletableFuture<List<BatchItemResult<String>>> deleteEmployeesByIds(List<String> employeeIds);
+}
@@ -1,22 +1,34 @@
 package com.reliaquest.api.service;
 
+import com.reliaquest.api.dto.BatchItemResult;
 import com.reliaquest.api.dto.CreateEmployeeRequest;
 import com.reliaquest.api.dto.Employee;
+import com.reliaquest.api.dto.EmployeePage;
 import java.util.List;
 
 public interface IEmployeeService {
 
     List<Employee> getAllEmployees();
 
+    EmployeePage getEmployeesPage(String cursor, int limit);
+
     List<Employee> getEmployeesByNameSearch(String employeeName);
 
     Employee getEmployeeById(String employeeId);
 
+    List<Employee> getEmployeesByIds(List<String> employeeIds);
+
     Integer getHighestSalaryOfEmployees();
 
     List<String> getTopTenHighestEarningEmployeeNames();
 
+    List<Employee> getTopEarners(int count);
+
     Employee createEmployee(CreateEmployeeRequest createEmployeeRequest);
 
     String deleteEmployeeById(String employeeId);
+
+    List<BatchItemResult<Employee>> createEmployees(List<CreateEmployeeRequest> createEmployeeRequests);
+
+    List<BatchItemResult<String>> deleteEmployeesByIds(List<String> employeeIds);
 }
@@ -0,0 +1,61 @@
+package com.reliaquest.api.stream;
+
+import com.reliaquest.api.dto.Employee;
+import lombok.Getter;
+
+/**
+ * One row of the upstream roster as it is being parsed. {@link EmployeeStreamReader} reuses a single instance for
+ * every row, so consumers must copy what they keep, usually with {@link #toEmployee()}.
+ */
+@Getter
+public final class EmployeeRow {
+
+    private long position;
+    private String id;
+    private String name;
+    private int salary;
+    private boolean salaryPresent;
+    private Integer age;
+    private String title;
+    private String email;
+
+    void reset(long position) {
+        this.position = position;
+        id = null;
+        name = null;
+        salary = 0;
+        salaryPresent = false;
+        age = null;
+        title = null;
+        email = null;
+    }
+
+    void setId(String id) {
+        this.id = id;
+    }
+
+    void setName(String name) {
+        this.name = name;
+    }
+
+    void setSalary(int salary) {
+        this.salary = salary;
+        this.salaryPresent = true;
+    }
+
+    void setAge(Integer age) {
+        this.age = age;
+    }
+
+    void setTitle(String title) {
+        this.title = title;
+    }
+
+    void setEmail(String email) {
+        this.email = email;
+    }
+
+    public Employee toEmployee() {
+        return new Employee(id, name, salaryPresent ? salary : null, age, title, email);
+    }
+}
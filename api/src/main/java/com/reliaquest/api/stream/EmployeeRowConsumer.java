@@ -0,0 +1,10 @@
+package com.reliaquest.api.stream;
+
+@FunctionalInterface
+public interface EmployeeRowConsumer {
+
+    /**
+     * @param row only valid for the duration of the call
+     */
+    void accept(EmployeeRow row);
+}
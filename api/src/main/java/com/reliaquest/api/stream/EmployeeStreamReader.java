@@ -0,0 +1,85 @@
+package com.reliaquest.api.stream;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.reliaquest.api.dto.LenientIntegerDeserializer;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads the Mock Employee API's {@code {"data":[...],"status":...}} envelope token by token and hands each employee
+ * to a consumer as soon as its object closes. Nothing but the current row is held, so memory use doesn't depend on
+ * the size of the roster. Unknown fields and nested values are skipped.
+ */
+public final class EmployeeStreamReader {
+
+    private final JsonFactory jsonFactory;
+
+    public EmployeeStreamReader(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    /**
+     * @return number of rows passed to {@code consumer}
+     */
+    public long read(InputStream body, EmployeeRowConsumer consumer) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected the employee list envelope to be a JSON object");
+            }
+            long rows = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("data".equals(field) && value == JsonToken.START_ARRAY) {
+                    rows = readRows(parser, consumer);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return rows;
+        }
+    }
+
+    private static long readRows(JsonParser parser, EmployeeRowConsumer consumer) throws IOException {
+        EmployeeRow row = new EmployeeRow();
+        long position = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            row.reset(position++);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (value == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                if (value.isStructStart()) {
+                    parser.skipChildren();
+                    continue;
+                }
+                switch (field) {
+                    case "id" -> row.setId(parser.getValueAsString());
+                    case "employee_name" -> row.setName(parser.getValueAsString());
+                    case "employee_salary" -> {
+                        // same reading as the Employee DTO, so both paths agree on which salaries count
+                        Integer salary = LenientIntegerDeserializer.read(parser);
+                        if (salary != null) {
+                            row.setSalary(salary);
+                        }
+                    }
+                    case "employee_age" -> row.setAge(LenientIntegerDeserializer.read(parser));
+                    case "employee_title" -> row.setTitle(parser.getValueAsString());
+                    case "employee_email" -> row.setEmail(parser.getValueAsString());
+                    default -> {}
+                }
+            }
+            consumer.accept(row);
+        }
+        return position;
+    }
+}
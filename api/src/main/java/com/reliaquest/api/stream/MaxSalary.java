@@ -0,0 +1,24 @@
+package com.reliaquest.api.stream;
+
+import java.util.OptionalInt;
+
+/**
+ * Highest salary seen so far.
+ */
+public final class MaxSalary implements EmployeeRowConsumer {
+
+    private boolean seen;
+    private int max;
+
+    @Override
+    public void accept(EmployeeRow row) {
+        if (row.isSalaryPresent() && (!seen || row.getSalary() > max)) {
+            max = row.getSalary();
+            seen = true;
+        }
+    }
+
+    public OptionalInt result() {
+        return seen ? OptionalInt.of(max) : OptionalInt.empty();
+    }
+}
@@ -0,0 +1,32 @@
+package com.reliaquest.api.stream;
+
+import com.reliaquest.api.dto.Employee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Employees whose name contains a fragment, with the same case-insensitive matching as
+ * {@link com.reliaquest.api.roster.NameSearchIndex}. Only matching rows are copied.
+ */
+public final class NameFilter implements EmployeeRowConsumer {
+
+    private final String fragment;
+
+    private final List<Employee> matches = new ArrayList<>();
+
+    public NameFilter(String query) {
+        this.fragment = query.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public void accept(EmployeeRow row) {
+        if (row.getName() != null && row.getName().toLowerCase(Locale.ROOT).contains(fragment)) {
+            matches.add(row.toEmployee());
+        }
+    }
+
+    public List<Employee> result() {
+        return matches;
+    }
+}
@@ -0,0 +1,44 @@
+package com.reliaquest.api.stream;
+
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.dto.Employee;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.CompletableFuture;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Answers the aggregate reads in one pass over the upstream list, keeping only the aggregate itself. Used instead of
+ * the roster snapshot when {@code employee.roster.streaming-aggregates=true}, for rosters too large to hold in memory.
+ */
+@Component
+public class StreamingRosterQueries {
+
+    private final EmployeeApiClient employeeApiClient;
+
+    @Autowired
+    public StreamingRosterQueries(EmployeeApiClient employeeApiClient) {
+        this.employeeApiClient = employeeApiClient;
+    }
+
+    public CompletableFuture<OptionalInt> highestSalary() {
+        MaxSalary maxSalary = new MaxSalary();
+        return employeeApiClient.streamEmployees(maxSalary).thenApply(ignored -> maxSalary.result());
+    }
+
+    public CompletableFuture<List<Employee>> topEarners(int n) {
+        TopEarners topEarners = new TopEarners(n);
+        return employeeApiClient.streamEmployees(topEarners).thenApply(ignored -> topEarners.result());
+    }
+
+    public CompletableFuture<List<String>> topNames(int n) {
+        return topEarners(n)
+                .thenApply(employees -> employees.stream().map(Employee::getName).toList());
+    }
+
+    public CompletableFuture<List<Employee>> searchByName(String query) {
+        NameFilter nameFilter = new NameFilter(query);
+        return employeeApiClient.streamEmployees(nameFilter).thenApply(ignored -> nameFilter.result());
+    }
+}
@@ -0,0 +1,54 @@
+package com.reliaquest.api.stream;
+
+import com.reliaquest.api.dto.Employee;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * The {@code n} highest earners seen so far, kept in a min-heap of size {@code n}, so only rows that make it into
+ * the heap are copied. Ordering matches {@link com.reliaquest.api.roster.SalaryIndex}: highest salary first, ties
+ * in roster order.
+ */
+public final class TopEarners implements EmployeeRowConsumer {
+
+    // weakest entry at the head: lowest salary, and among equal salaries the latest in the roster
+    private static final Comparator<Entry> WEAKEST_FIRST =
+            Comparator.comparingInt(Entry::salary).thenComparing(Comparator.comparingLong(Entry::position).reversed());
+
+    private final int n;
+
+    private final PriorityQueue<Entry> heap;
+
+    public TopEarners(int n) {
+        this.n = n;
+        this.heap = new PriorityQueue<>(Math.max(1, Math.min(n, 1024)), WEAKEST_FIRST);
+    }
+
+    @Override
+    public void accept(EmployeeRow row) {
+        if (!row.isSalaryPresent() || n < 1) {
+            return;
+        }
+        // a later row only displaces the weakest entry if it earns strictly more
+        if (heap.size() == n && row.getSalary() <= heap.peek().salary()) {
+            return;
+        }
+        heap.add(new Entry(row.getSalary(), row.getPosition(), row.toEmployee()));
+        if (heap.size() > n) {
+            heap.poll();
+        }
+    }
+
+    /**
+     * @return up to {@code n} employees, highest salary first
+     */
+    public List<Employee> result() {
+        List<Entry> entries = new ArrayList<>(heap);
+        entries.sort(WEAKEST_FIRST.reversed());
+        return entries.stream().map(Entry::employee).toList();
+    }
+
+    private record Entry(int salary, long position, Employee employee) {}
+}
@@ -0,0 +1,203 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.dto.CreateEmployeeRequest;
+import com.reliaquest.api.dto.Employee;
+import com.reliaquest.api.dto.EmployeeList;
+import com.reliaquest.api.exception.EmployeeApiQueueFullException;
+import com.reliaquest.api.stream.EmployeeStreamReader;
+import com.reliaquest.api.stream.MaxSalary;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+public class HttpClientEmployeeApiClientTest {
+
+    private HttpServer server;
+
+    private HttpClientEmployeeApiClient client;
+
+    private final AtomicInteger abandonedSent = new AtomicInteger();
+
+    private String url;
+
+    @BeforeEach
+    void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/v1/employee", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            String method = exchange.getRequestMethod();
+            String query = exchange.getRequestURI().getQuery();
+            int status = 200;
+            String body;
+            if (path.endsWith("/slow")) {
+                sleep(500);
+                body = "{\"data\":{\"id\":\"slow\"},\"status\":\"ok\"}";
+            } else if (path.endsWith("/abandoned")) {
+                abandonedSent.incrementAndGet();
+                body = "{\"data\":{\"id\":\"abandoned\"},\"status\":\"ok\"}";
+            } else if (path.endsWith("/empty")) {
+                body = "";
+            } else if (path.endsWith("/missing")) {
+                status = 404;
+                body = "";
+            } else if (path.endsWith("/broken")) {
+                status = 500;
+                body = "";
+            } else if (path.endsWith("/batch")) {
+                body = "{\"data\":[{\"id\":\"1\"},{\"id\":\"2\"}],\"status\":\"ok\"}";
+            } else if ("POST".equals(method)) {
+                body = "{\"data\":{\"id\":\"2\",\"employee_name\":\"abc\",\"employee_salary\":100},\"status\":\"ok\"}";
+            } else if (query != null && query.contains("limit=")) {
+                boolean firstPage = !query.contains("cursor=");
+                body = "{\"data\":[{\"id\":\"" + (firstPage ? "1" : "2") + "\"}],\"status\":\"ok\"}";
+                if (firstPage) {
+                    exchange.getResponseHeaders().add("X-Next-Cursor", "1");
+                }
+            } else if ("DELETE".equals(method)) {
+                body = "{\"data\":true,\"status\":\"ok\"}";
+            } else {
+                body = "{\"data\":[{\"id\":\"1\",\"employee_name\":\"employee1\",\"employee_salary\":1000}],"
+                        + "\"status\":\"ok\"}";
+                exchange.getResponseHeaders().add("X-Change-Sequence", "12");
+            }
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+            if (bytes.length > 0) {
+                exchange.getResponseBody().write(bytes);
+            }
+            exchange.close();
+        });
+        server.start();
+
+        url = "http://localhost:" + server.getAddress().getPort() + "/api/v1/employee";
+        client = client(2, 100, Duration.ofSeconds(10));
+    }
+
+    private HttpClientEmployeeApiClient client(int maxConnections, int maxQueued, Duration totalTimeout) {
+        return new HttpClientEmployeeApiClient(
+                HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build(),
+                new ObjectMapper(),
+                new EmployeeStreamReader(new ObjectMapper().getFactory()),
+                url,
+                maxConnections,
+                maxQueued,
+                Duration.ofSeconds(5),
+                totalTimeout);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void testReadsAndWrites() {
+        EmployeeList list = client.getEmployees().join();
+        List<Employee> employees = list.getData();
+        assertEquals("12", list.getChangeSequence());
+        assertEquals(1, employees.size());
+        assertEquals(1000, employees.get(0).getSalary());
+
+        Employee created = client.createEmployee(
+                        new CreateEmployeeRequest("abc", "100", "30", "title", "abc@gmail.com"))
+                .join();
+        assertEquals("2", created.getId());
+
+        assertTrue(client.deleteEmployeeById("2").join());
+    }
+
+    @Test
+    void testStreamsRosterRows() {
+        MaxSalary maxSalary = new MaxSalary();
+        List<String> parsedOn = new ArrayList<>();
+        client.streamEmployees(row -> {
+                    parsedOn.add(Thread.currentThread().getName());
+                    maxSalary.accept(row);
+                })
+                .join();
+        assertEquals(1000, maxSalary.result().getAsInt());
+        assertEquals(0, client.queueDepth());
+        // the blocking parse stays off the HttpClient's own threads
+        assertTrue(parsedOn.get(0).startsWith("employee-stream-"), parsedOn.get(0));
+    }
+
+    @Test
+    void testIteratesAcrossPages() {
+        List<String> ids = new ArrayList<>();
+        client.iterateEmployees(1).forEachRemaining(employee -> ids.add(employee.getId()));
+        assertEquals(List.of("1", "2"), ids);
+    }
+
+    @Test
+    void testLooksUpIdsInOneRequest() {
+        List<Employee> employees = client.getEmployeesByIds(List.of("1", "2")).join();
+        assertEquals(List.of("1", "2"), employees.stream().map(Employee::getId).toList());
+    }
+
+    @Test
+    void testMoreRequestsThanConnectionsAllComplete() {
+        List<Integer> sizes =
+                java.util.stream.IntStream.range(0, 20).mapToObj(i -> client.getEmployees()).toList().stream()
+                        .map(future -> future.join().getData().size())
+                        .toList();
+        assertEquals(20, sizes.size());
+        assertEquals(0, client.queueDepth());
+    }
+
+    @Test
+    void testErrorStatusesMapToSpringExceptions() {
+        HttpClientErrorException notFound =
+                assertThrows(HttpClientErrorException.class, () -> Futures.await(client.getEmployee("missing")));
+        assertEquals(HttpStatus.NOT_FOUND, notFound.getStatusCode());
+
+        assertThrows(HttpServerErrorException.class, () -> Futures.await(client.getEmployee("broken")));
+        assertThrows(HttpClientErrorException.class, () -> Futures.await(client.deleteEmployeeById("missing")));
+    }
+
+    @Test
+    void testFullQueueFailsFastAndTimedOutRequestsAreNotSent() throws Exception {
+        HttpClientEmployeeApiClient limited = client(1, 1, Duration.ofMillis(200));
+
+        CompletableFuture<Employee> slow = limited.getEmployee("slow");
+        CompletableFuture<Employee> abandoned = limited.getEmployee("abandoned");
+        EmployeeApiQueueFullException full =
+                assertThrows(EmployeeApiQueueFullException.class, () -> Futures.await(limited.getEmployee("1")));
+        assertEquals("1", full.getRetryAfter());
+
+        assertThrows(ExecutionException.class, abandoned::get);
+        assertEquals(0, limited.queueDepth());
+        assertThrows(ExecutionException.class, slow::get);
+        Thread.sleep(500);
+        assertEquals(0, abandonedSent.get());
+    }
+
+    @Test
+    void testEmptyBodiesReadAsNoData() {
+        assertNull(client.getEmployee("empty").join());
+    }
+}
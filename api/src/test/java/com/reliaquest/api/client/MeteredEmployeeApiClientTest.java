@@ -0,0 +1,77 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.dto.Employee;
+import com.reliaquest.api.exception.EmployeeApiQueueFullException;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+public class MeteredEmployeeApiClientTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private EmployeeApiClient delegate;
+
+    private MeteredEmployeeApiClient client;
+
+    @BeforeEach
+    void setUp() {
+        delegate = Mockito.mock(EmployeeApiClient.class);
+        client = new MeteredEmployeeApiClient(delegate, meterRegistry);
+    }
+
+    @Test
+    void testTimesSuccessfulCallsByOperation() {
+        Employee employee = new Employee("1", "abc", 100, 30, "title", "abc@gmail.com");
+        Mockito.when(delegate.getEmployee("1")).thenReturn(CompletableFuture.completedFuture(employee));
+
+        assertEquals(employee, client.getEmployee("1").join());
+        assertEquals(employee, client.getEmployee("1").join());
+
+        assertEquals(2, timer("getEmployee", "2xx", "SUCCESS").count());
+    }
+
+    @Test
+    void testTagsFailuresWithTheUpstreamStatus() {
+        Mockito.when(delegate.deleteEmployeeById("1"))
+                .thenReturn(CompletableFuture.failedFuture(new HttpClientErrorException(HttpStatus.NOT_FOUND)));
+        Mockito.when(delegate.getEmployee("2")).thenThrow(new ResourceAccessException("Connection refused"));
+
+        assertThrows(HttpClientErrorException.class, () -> Futures.await(client.deleteEmployeeById("1")));
+        assertThrows(ResourceAccessException.class, () -> Futures.await(client.getEmployee("2")));
+
+        assertEquals(1, timer("deleteEmployeeById", "404", "CLIENT_ERROR").count());
+        assertEquals(1, timer("getEmployee", "IO_ERROR", "UNKNOWN").count());
+    }
+
+    @Test
+    void testTagsAFullClientQueueApartFromUpstream429s() {
+        Mockito.when(delegate.getEmployee("1"))
+                .thenReturn(CompletableFuture.failedFuture(new EmployeeApiQueueFullException("queue is full", "1")));
+
+        assertThrows(EmployeeApiQueueFullException.class, () -> Futures.await(client.getEmployee("1")));
+
+        assertEquals(1, timer("getEmployee", "QUEUE_FULL", "UNKNOWN").count());
+        assertNull(meterRegistry
+                .find(MeteredEmployeeApiClient.METRIC)
+                .tags("status", "429")
+                .timer());
+    }
+
+    private Timer timer(String operation, String status, String outcome) {
+        Timer timer = meterRegistry
+                .find(MeteredEmployeeApiClient.METRIC)
+                .tags("operation", operation, "status", status, "outcome", outcome)
+                .timer();
+        assertNotNull(timer, operation + " " + status + " " + outcome);
+        return timer;
+    }
+}
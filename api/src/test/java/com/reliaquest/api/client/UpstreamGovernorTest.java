@@ -0,0 +1,109 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.dto.Employee;
+import com.reliaquest.api.exception.EmployeeApiQueueFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+public class UpstreamGovernorTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private EmployeeApiClient delegate;
+
+    private UpstreamGovernor governor;
+
+    private GovernedEmployeeApiClient client;
+
+    @BeforeEach
+    void setUp() {
+        delegate = Mockito.mock(EmployeeApiClient.class);
+        governor = new UpstreamGovernor(Runnable::run, 10, 1, 100, 1, 0.5, Duration.ofSeconds(1), clock::get);
+        client = new GovernedEmployeeApiClient(delegate, governor);
+    }
+
+    @Test
+    void testSuccessfulCallsRaiseThePermittedRate() {
+        Mockito.when(delegate.getEmployee("1")).thenReturn(CompletableFuture.completedFuture(employee()));
+
+        for (int i = 0; i < 10; i++) {
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+            assertEquals("1", client.getEmployee("1").join().getId());
+        }
+
+        double rate = governor.permittedRate();
+        assertTrue(rate > 10.9 && rate <= 11, "rate " + rate);
+        assertEquals(0, governor.queueDepth());
+    }
+
+    @Test
+    void testThrottledCallCutsTheRateAndHoldsCallsUntilRetryAfter() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "30");
+        Mockito.when(delegate.getEmployee("1"))
+                .thenReturn(CompletableFuture.failedFuture(HttpClientErrorException.create(
+                        HttpStatus.TOO_MANY_REQUESTS, "", headers, null, null)))
+                .thenReturn(CompletableFuture.completedFuture(employee()));
+
+        assertThrows(HttpClientErrorException.class, () -> Futures.await(client.getEmployee("1")));
+        assertEquals(5, governor.permittedRate());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        HttpClientErrorException shed =
+                assertThrows(HttpClientErrorException.class, () -> Futures.await(client.getEmployee("1")));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, shed.getStatusCode());
+        assertEquals("20", shed.getResponseHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        Mockito.verify(delegate, Mockito.times(1)).getEmployee("1");
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(20));
+        assertEquals("1", client.getEmployee("1").join().getId());
+    }
+
+    @Test
+    void testFullClientQueueIsNotTakenForAnUpstream429() {
+        Mockito.when(delegate.getEmployee("1"))
+                .thenReturn(CompletableFuture.failedFuture(new EmployeeApiQueueFullException("queue is full", "1")))
+                .thenReturn(CompletableFuture.completedFuture(employee()));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        governor.bindTo(meterRegistry);
+
+        assertThrows(EmployeeApiQueueFullException.class, () -> Futures.await(client.getEmployee("1")));
+        assertEquals(10, governor.permittedRate());
+        assertEquals(0, meterRegistry.get("employee.api.governor.throttled").functionCounter().count());
+
+        // no hold, the next call goes straight through
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals("1", client.getEmployee("1").join().getId());
+    }
+
+    @Test
+    void testCallsThatWouldWaitTooLongAreShed() {
+        governor = new UpstreamGovernor(Runnable::run, 1, 1, 100, 1, 0.5, Duration.ZERO, clock::get);
+        client = new GovernedEmployeeApiClient(delegate, governor);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        governor.bindTo(meterRegistry);
+        Mockito.when(delegate.getEmployee("1")).thenReturn(CompletableFuture.completedFuture(employee()));
+
+        assertEquals("1", client.getEmployee("1").join().getId());
+        assertThrows(HttpClientErrorException.class, () -> Futures.await(client.getEmployee("1")));
+
+        Mockito.verify(delegate, Mockito.times(1)).getEmployee("1");
+        assertEquals(1, meterRegistry.get("employee.api.governor.shed").functionCounter().count());
+        assertEquals(2, meterRegistry.get("employee.api.governor.rate").gauge().value());
+    }
+
+    private static Employee employee() {
+        return new Employee("1", "abc", 100, 30, "title", "abc@gmail.com");
+    }
+}
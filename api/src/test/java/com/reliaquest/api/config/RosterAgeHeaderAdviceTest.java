@@ -0,0 +1,81 @@
+package com.reliaquest.api.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.roster.EmployeeRoster;
+import com.reliaquest.api.roster.RosterAge;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+public class RosterAgeHeaderAdviceTest {
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testAgeIsTheOldestRosterServedToTheRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        Consumer<EmployeeRoster> served = RosterAge.recorder();
+        RequestContextHolder.resetRequestAttributes();
+
+        Instant now = Instant.now();
+        // recorded from another thread, after the request thread has moved on
+        CompletableFuture.runAsync(() -> {
+                    served.accept(EmployeeRoster.of(1, now.minus(Duration.ofSeconds(5)), List.of()));
+                    served.accept(EmployeeRoster.of(2, now.minus(Duration.ofSeconds(90)), List.of()));
+                    served.accept(EmployeeRoster.of(3, now, List.of()));
+                })
+                .join();
+
+        write();
+
+        long age = Long.parseLong(response.getHeader(HttpHeaders.AGE));
+        assertTrue(age >= 90 && age < 100, "age " + age);
+    }
+
+    @Test
+    void testNoAgeWithoutARoster() {
+        write();
+
+        assertNull(response.getHeader(HttpHeaders.AGE));
+    }
+
+    @Test
+    void testRecorderOutsideARequestDoesNothing() {
+        RosterAge.recorder().accept(EmployeeRoster.of(1, Instant.now(), List.of()));
+
+        assertNull(request.getAttribute(RosterAge.FETCHED_AT));
+    }
+
+    private void write() {
+        ServletServerHttpResponse serverResponse = new ServletServerHttpResponse(response);
+        new RosterAgeHeaderAdvice()
+                .beforeBodyWrite(
+                        "body",
+                        null,
+                        MediaType.APPLICATION_JSON,
+                        null,
+                        new ServletServerHttpRequest(request),
+                        serverResponse);
+        serverResponse.close();
+    }
+}
@@ -34,7 +34,7 @@ public class IEmployeeControllerImplTest {
 
     @BeforeEach
     void setup() {
-        employee1 = new Employee("1", "employee1", "1000000", "18", "title employee1", "employee1@gmail.com");
+        employee1 = new Employee("1", "employee1", 1000000, 18, "title employee1", "employee1@gmail.com");
     }
 
     @Test
@@ -91,6 +91,16 @@ public class IEmployeeControllerImplTest {
         assertEquals(2, response.getBody().size());
     }
 
+    @Test
+    void testGetTopEarners() {
+        Mockito.when(iEmployeeService.getTopEarners(1)).thenReturn(List.of(employee1));
+
+        ResponseEntity<List<Employee>> response = employeeController.getTopEarners(1);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("employee1", response.getBody().get(0).getName());
+    }
+
     @Test
     void testCreateEmployee() {
         CreateEmployeeRequest request =
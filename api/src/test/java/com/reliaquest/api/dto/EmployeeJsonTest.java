@@ -0,0 +1,44 @@
+package com.reliaquest.api.dto;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+public class EmployeeJsonTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testReadsNumbersAndNumericText() throws Exception {
+        Employee employee = objectMapper.readValue(
+                "{\"id\":\"1\",\"employee_name\":\"abc\",\"employee_salary\":1000,\"employee_age\":\" 30 \"}",
+                Employee.class);
+
+        assertEquals(1000, employee.getSalary());
+        assertEquals(30, employee.getAge());
+    }
+
+    @Test
+    void testReadsValuesThatAreNotIntegersAsMissing() throws Exception {
+        Employee employee = objectMapper.readValue(
+                "{\"employee_salary\":\"n/a\",\"employee_age\":1.5,\"employee_title\":\"title\"}", Employee.class);
+
+        assertNull(employee.getSalary());
+        assertNull(employee.getAge());
+        assertEquals("title", employee.getTitle());
+
+        assertNull(objectMapper.readValue("{\"employee_salary\":3000000000}", Employee.class).getSalary());
+        assertNull(objectMapper.readValue("{\"employee_salary\":null}", Employee.class).getSalary());
+    }
+
+    @Test
+    void testWritesSalaryAndAgeAsText() throws Exception {
+        JsonNode json = objectMapper.valueToTree(new Employee("1", "abc", 1000, 30, "title", "abc@gmail.com"));
+
+        assertEquals("1000", json.get("employee_salary").textValue());
+        assertEquals("30", json.get("employee_age").textValue());
+        assertTrue(objectMapper.valueToTree(new Employee()).get("employee_salary").isNull());
+    }
+}
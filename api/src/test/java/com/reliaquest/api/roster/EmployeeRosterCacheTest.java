@@ -0,0 +1,344 @@
+package com.reliaquest.api.roster;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.client.RestTemplateEmployeeApiClient;
+import com.reliaquest.api.dto.Employee;
+import com.reliaquest.api.dto.EmployeeChange;
+import com.reliaquest.api.dto.EmployeeChanges;
+import com.reliaquest.api.dto.EmployeeList;
+import com.reliaquest.api.dto.EmployeeResponseWrapper;
+import com.reliaquest.api.stream.EmployeeStreamReader;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+public class EmployeeRosterCacheTest {
+
+    private static final String URL = "http://localhost:8112/api/v1/employee";
+
+    @Test
+    void testConcurrentMissesJoinOneFetch() throws Exception {
+        RestTemplate restTemplate = Mockito.mock(RestTemplate.class);
+        CountDownLatch release = new CountDownLatch(1);
+        EmployeeResponseWrapper wrapper = new EmployeeResponseWrapper(
+                "ok", List.of(new Employee("1", "employee1", 1000, 20, "title", "employee1@gmail.com")));
+
+        Mockito.when(restTemplate.exchange(eq(URL), eq(HttpMethod.GET), isNull(), eq(EmployeeResponseWrapper.class)))
+                .thenAnswer(invocation -> {
+                    release.await();
+                    return new ResponseEntity<>(wrapper, HttpStatus.OK);
+                });
+
+        EmployeeRosterCache rosterCache = new EmployeeRosterCache(
+                new RestTemplateEmployeeApiClient(restTemplate, new EmployeeStreamReader(new JsonFactory()), URL),
+                ForkJoinPool.commonPool(),
+                Duration.ofMinutes(1),
+                Duration.ofMinutes(5),
+                false,
+                new LastKnownGoodProperties(Duration.ofMinutes(10), Map.of()));
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<EmployeeRoster>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(rosterCache::get));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<EmployeeRoster> future : futures) {
+                assertEquals(1, future.get().size());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Mockito.verify(restTemplate, Mockito.times(1))
+                .exchange(eq(URL), eq(HttpMethod.GET), isNull(), eq(EmployeeResponseWrapper.class));
+    }
+
+    @Test
+    void testInvalidateForcesNewVersion() {
+        RestTemplate restTemplate = Mockito.mock(RestTemplate.class);
+        Mockito.when(restTemplate.exchange(eq(URL), eq(HttpMethod.GET), isNull(), eq(EmployeeResponseWrapper.class)))
+                .thenReturn(new ResponseEntity<>(new EmployeeResponseWrapper("ok", List.of()), HttpStatus.OK));
+
+        EmployeeRosterCache rosterCache = new EmployeeRosterCache(
+                new RestTemplateEmployeeApiClient(restTemplate, new EmployeeStreamReader(new JsonFactory()), URL),
+                ForkJoinPool.commonPool(),
+                Duration.ofMinutes(1),
+                Duration.ofMinutes(5),
+                false,
+                new LastKnownGoodProperties(Duration.ofMinutes(10), Map.of()));
+
+        long first = rosterCache.get().getVersion();
+        assertEquals(first, rosterCache.get().getVersion());
+
+        rosterCache.invalidate();
+        assertTrue(rosterCache.get().getVersion() > first);
+    }
+
+    @Test
+    void testAppliedDeletesUpdateEveryIndex() {
+        RestTemplate restTemplate = Mockito.mock(RestTemplate.class);
+        EmployeeResponseWrapper wrapper = new EmployeeResponseWrapper(
+                "ok",
+                List.of(
+                        new Employee("1", "employee1", 1000, 20, "title", "employee1@gmail.com"),
+                        new Employee("2", "employee2", 3000, 21, "title", "employee2@gmail.com"),
+                        new Employee("3", "employee2", 2000, 22, "title", "employee2b@gmail.com")));
+        Mockito.when(restTemplate.exchange(eq(URL), eq(HttpMethod.GET), isNull(), eq(EmployeeResponseWrapper.class)))
+                .thenReturn(new ResponseEntity<>(wrapper, HttpStatus.OK));
+
+        EmployeeRosterCache rosterCache = new EmployeeRosterCache(
+                new RestTemplateEmployeeApiClient(restTemplate, new EmployeeStreamReader(new JsonFactory()), URL),
+                ForkJoinPool.commonPool(),
+                Duration.ofMinutes(1),
+                Duration.ofMinutes(5),
+                false,
+                new LastKnownGoodProperties(Duration.ofMinutes(10), Map.of()));
+
+        long first = rosterCache.get().getVersion();
+        rosterCache.applyDeleted("2");
+        EmployeeRoster roster = rosterCache.get();
+
+        assertTrue(roster.getVersion() > first);
+        assertEquals(List.of("1", "3"), roster.getEmployees().stream().map(Employee::getId).toList());
+        assertEquals(2000, roster.getSalaryIndex().highest().getAsInt());
+        assertEquals(
+                List.of("3"),
+                roster.getNameIndex().search("employee2").stream()
+                        .map(Employee::getId)
+                        .toList());
+        assertTrue(roster.containsName("employee2"));
+        assertSame(roster, rosterCache.lastKnownGood(ReadEndpoint.ALL));
+
+        rosterCache.applyDeleted(List.of("3", "4"));
+        assertFalse(rosterCache.get().containsName("employee2"));
+        Mockito.verify(restTemplate, Mockito.times(1))
+                .exchange(eq(URL), eq(HttpMethod.GET), isNull(), eq(EmployeeResponseWrapper.class));
+    }
+
+    @Test
+    void testRefreshesApplyTheChangeLogUntilItAsksForAResync() throws Exception {
+        EmployeeApiClient employeeApiClient = Mockito.mock(EmployeeApiClient.class);
+        Mockito.when(employeeApiClient.getEmployees())
+                .thenReturn(list(List.of(employee("1"), employee("2")), "5"))
+                .thenReturn(list(List.of(employee("2"), employee("4")), "9"));
+        Mockito.when(employeeApiClient.getChanges(eq(5L), anyInt()))
+                .thenReturn(changes(
+                        List.of(
+                                new EmployeeChange(6, EmployeeChange.CREATED, "3", employee("3")),
+                                new EmployeeChange(7, EmployeeChange.DELETED, "1", null)),
+                        7,
+                        false));
+        Mockito.when(employeeApiClient.getChanges(eq(7L), anyInt())).thenReturn(changes(List.of(), 7, true));
+        Mockito.when(employeeApiClient.getChanges(eq(9L), anyInt())).thenReturn(changes(List.of(), 9, false));
+
+        EmployeeRosterCache rosterCache = new EmployeeRosterCache(
+                employeeApiClient,
+                ForkJoinPool.commonPool(),
+                Duration.ofMillis(1),
+                Duration.ofMinutes(5),
+                true,
+                new LastKnownGoodProperties(Duration.ofMinutes(10), Map.of()));
+
+        assertEquals(5, rosterCache.get().getChangeSequence());
+        EmployeeRoster updated = awaitSequence(rosterCache, 7);
+        assertEquals(List.of("2", "3"), updated.getEmployees().stream().map(Employee::getId).toList());
+        assertEquals(List.of("employee3"), updated.getSalaryIndex().topNames(1));
+        assertFalse(updated.containsName("employee1"));
+
+        EmployeeRoster resynced = awaitSequence(rosterCache, 9);
+        assertEquals(List.of("2", "4"), resynced.getEmployees().stream().map(Employee::getId).toList());
+        Mockito.verify(employeeApiClient, Mockito.times(2)).getEmployees();
+        // the sequence number to follow the log from comes with the list
+        Mockito.verify(employeeApiClient, Mockito.never()).getChanges(isNull(), anyInt());
+    }
+
+    @Test
+    void testPushedChangesApplyInOrderAndReportGaps() {
+        EmployeeApiClient employeeApiClient = Mockito.mock(EmployeeApiClient.class);
+        Mockito.when(employeeApiClient.getEmployees()).thenReturn(list(List.of(employee("1"), employee("2")), "5"));
+
+        EmployeeRosterCache rosterCache = new EmployeeRosterCache(
+                employeeApiClient,
+                ForkJoinPool.commonPool(),
+                Duration.ofMinutes(1),
+                Duration.ofMinutes(5),
+                true,
+                new LastKnownGoodProperties(Duration.ofMinutes(10), Map.of()));
+        rosterCache.get();
+
+        assertTrue(rosterCache.applyChange(new EmployeeChange(6, EmployeeChange.CREATED, "3", employee("3"))));
+        assertTrue(rosterCache.applyChange(new EmployeeChange(6, EmployeeChange.CREATED, "3", employee("3"))));
+        assertFalse(rosterCache.applyChange(new EmployeeChange(8, EmployeeChange.DELETED, "1", null)));
+        assertTrue(rosterCache.confirm(6));
+        assertFalse(rosterCache.confirm(7));
+
+        EmployeeRoster roster = rosterCache.get();
+        assertEquals(6, roster.getChangeSequence());
+        assertEquals(List.of("1", "2", "3"), roster.getEmployees().stream().map(Employee::getId).toList());
+    }
+
+    @Test
+    void testFullLoadReadsTheChangeSequenceFromTheListResponse() {
+        RestTemplate restTemplate = Mockito.mock(RestTemplate.class);
+        EmployeeResponseWrapper wrapper = new EmployeeResponseWrapper("ok", List.of(employee("1")));
+        Mockito.when(restTemplate.exchange(eq(URL), eq(HttpMethod.GET), isNull(), eq(EmployeeResponseWrapper.class)))
+                .thenReturn(ResponseEntity.ok()
+                        .header(EmployeeList.CHANGE_SEQUENCE_HEADER, "12")
+                        .body(wrapper))
+                .thenReturn(ResponseEntity.ok(wrapper));
+        EmployeeRosterCache rosterCache = new EmployeeRosterCache(
+                new RestTemplateEmployeeApiClient(restTemplate, new EmployeeStreamReader(new JsonFactory()), URL),
+                ForkJoinPool.commonPool(),
+                Duration.ofMinutes(1),
+                Duration.ofMinutes(5),
+                true,
+                new LastKnownGoodProperties(Duration.ofMinutes(10), Map.of()));
+
+        assertEquals(12, rosterCache.get().getChangeSequence());
+        rosterCache.invalidate();
+        // an upstream that doesn't report it is refreshed in full
+        assertEquals(EmployeeRoster.UNKNOWN_SEQUENCE, rosterCache.get().getChangeSequence());
+
+        Mockito.verify(restTemplate, Mockito.times(2))
+                .exchange(eq(URL), eq(HttpMethod.GET), isNull(), eq(EmployeeResponseWrapper.class));
+        Mockito.verifyNoMoreInteractions(restTemplate);
+    }
+
+    @Test
+    void testFailedLoadsAreAnsweredFromTheLastKnownGoodRoster() throws Exception {
+        RestTemplate restTemplate = Mockito.mock(RestTemplate.class);
+        EmployeeResponseWrapper wrapper = new EmployeeResponseWrapper(
+                "ok", List.of(new Employee("1", "employee1", 1000, 20, "title", "employee1@gmail.com")));
+        Mockito.when(restTemplate.exchange(eq(URL), eq(HttpMethod.GET), isNull(), eq(EmployeeResponseWrapper.class)))
+                .thenReturn(new ResponseEntity<>(wrapper, HttpStatus.OK))
+                .thenThrow(new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS));
+
+        // nothing is kept past max-staleness, so every read after the first goes upstream and fails
+        EmployeeRosterCache rosterCache = new EmployeeRosterCache(
+                new RestTemplateEmployeeApiClient(restTemplate, new EmployeeStreamReader(new JsonFactory()), URL),
+                ForkJoinPool.commonPool(),
+                Duration.ofMinutes(1),
+                Duration.ZERO,
+                false,
+                new LastKnownGoodProperties(Duration.ofMinutes(10), Map.of(ReadEndpoint.TOP_TEN, Duration.ZERO)));
+
+        EmployeeRoster fetched = rosterCache.get(ReadEndpoint.ALL);
+        Thread.sleep(10);
+
+        assertSame(fetched, rosterCache.get(ReadEndpoint.HIGHEST_SALARY));
+        assertThrows(HttpClientErrorException.class, () -> rosterCache.get(ReadEndpoint.TOP_TEN));
+        assertThrows(HttpClientErrorException.class, rosterCache::get);
+    }
+
+    @Test
+    void testWriteThroughSwapsDontPostponeTheRefresh() {
+        EmployeeApiClient employeeApiClient = Mockito.mock(EmployeeApiClient.class);
+        Mockito.when(employeeApiClient.getEmployees()).thenReturn(list(List.of(employee("1")), null));
+        AtomicLong nanos = new AtomicLong();
+        EmployeeRosterCache rosterCache = fakeTimeRosterCache(employeeApiClient, nanos);
+
+        Instant fetchedAt = rosterCache.get().getFetchedAt();
+        // a create every second, each one writing the cache entry before its refresh-after is up
+        for (int second = 1; second <= 8; second++) {
+            nanos.addAndGet(Duration.ofSeconds(1).toNanos());
+            rosterCache.applyCreated(employee(Integer.toString(10 + second)));
+            rosterCache.get();
+        }
+
+        Mockito.verify(employeeApiClient, Mockito.times(2)).getEmployees();
+        assertEquals(fetchedAt.plusSeconds(5), rosterCache.get().getFetchedAt());
+    }
+
+    @Test
+    void testWriteThroughSwapsDontExtendMaxStaleness() {
+        EmployeeApiClient employeeApiClient = Mockito.mock(EmployeeApiClient.class);
+        HttpClientErrorException throttled = new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS);
+        Mockito.when(employeeApiClient.getEmployees())
+                .thenReturn(list(List.of(employee("1")), null))
+                .thenReturn(CompletableFuture.failedFuture(throttled));
+        AtomicLong nanos = new AtomicLong();
+        EmployeeRosterCache rosterCache = fakeTimeRosterCache(employeeApiClient, nanos);
+
+        rosterCache.get();
+        // refreshes fail from the fifth second on, while creates keep writing the entry
+        for (int second = 1; second < 60; second++) {
+            nanos.addAndGet(Duration.ofSeconds(1).toNanos());
+            rosterCache.applyCreated(employee(Integer.toString(10 + second)));
+        }
+        assertEquals(60, rosterCache.get().size());
+
+        nanos.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThrows(HttpClientErrorException.class, rosterCache::get);
+    }
+
+    private static EmployeeRoster awaitSequence(EmployeeRosterCache rosterCache, long sequence) throws Exception {
+        for (int i = 0; i < 200; i++) {
+            EmployeeRoster roster = rosterCache.get();
+            if (roster.getChangeSequence() == sequence) {
+                return roster;
+            }
+            Thread.sleep(10);
+        }
+        return fail("roster never reached change " + sequence);
+    }
+
+    /**
+     * Refresh after 5s and max staleness of 60s, with upstream calls made on the calling thread and the cache and
+     * the snapshots' fetchedAt both following {@code nanos}.
+     */
+    private static EmployeeRosterCache fakeTimeRosterCache(EmployeeApiClient employeeApiClient, AtomicLong nanos) {
+        Instant start = Instant.parse("2026-01-01T00:00:00Z");
+        Clock clock = Mockito.mock(Clock.class);
+        Mockito.when(clock.instant()).thenAnswer(invocation -> start.plusNanos(nanos.get()));
+        return new EmployeeRosterCache(
+                employeeApiClient,
+                Runnable::run,
+                Duration.ofSeconds(5),
+                Duration.ofSeconds(60),
+                false,
+                new LastKnownGoodProperties(Duration.ofMinutes(10), Map.of()),
+                clock,
+                nanos::get);
+    }
+
+    private static CompletableFuture<EmployeeList> list(List<Employee> employees, String changeSequence) {
+        return CompletableFuture.completedFuture(new EmployeeList(employees, changeSequence));
+    }
+
+    private static CompletableFuture<EmployeeChanges> changes(
+            List<EmployeeChange> changes, long latest, boolean resync) {
+        return CompletableFuture.completedFuture(new EmployeeChanges(changes, latest, latest, resync));
+    }
+
+    private static Employee employee(String id) {
+        return new Employee(
+                id, "employee" + id, 1000 * Integer.parseInt(id), 20, "title", "employee" + id + "@gmail.com");
+    }
+}
@@ -0,0 +1,120 @@
+package com.reliaquest.api.roster;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.dto.Employee;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class NameSearchIndexTest {
+
+    private static final String[] PARTS = {"ann", "Joanne", "Bob", "Smith", "de la Cruz", "O'Neil", "li", "Ng"};
+
+    @Test
+    void testMatchesLinearContainsSemantics() {
+        List<Employee> employees = randomEmployees(new Random(42), 0, 500);
+        NameSearchIndex index = NameSearchIndex.of(employees);
+
+        for (String query : List.of("ann", "ANN", " smith ", "an", "a", "", "e la c", "zzz", "o'n", "joanne bob")) {
+            assertEquals(scan(employees, query), index.search(query), "query: " + query);
+        }
+    }
+
+    @Test
+    void testIncrementalChangesMatchFreshIndex() {
+        Random random = new Random(7);
+        List<Employee> employees = randomEmployees(random, 0, 200);
+        NameSearchIndex index = NameSearchIndex.of(employees);
+
+        for (int round = 0; round < 20; round++) {
+            List<Employee> added = randomEmployees(random, 1000 + round * 10, 10);
+            List<String> removedIds = new ArrayList<>();
+            for (int i = 0; i < 5 && !employees.isEmpty(); i++) {
+                removedIds.add(
+                        employees.remove(random.nextInt(employees.size())).getId());
+            }
+            employees.addAll(added);
+            index = index.withChanges(added, removedIds);
+
+            assertEquals(employees.size(), index.size());
+            for (String query : List.of("ann", "smith", "ng", "e")) {
+                assertEquals(scan(employees, query), index.search(query), "query: " + query);
+            }
+        }
+    }
+
+    @Test
+    void testChangedEmployeeKeepsItsPosition() {
+        List<Employee> employees = new ArrayList<>(randomEmployees(new Random(3), 0, 50));
+        NameSearchIndex index = NameSearchIndex.of(employees);
+
+        Employee renamed = new Employee("10", "Ann Renamed", 1000, 20, "title", "e@gmail.com");
+        Employee unnamed = new Employee("20", null, 1000, 20, "title", "e@gmail.com");
+        employees.set(10, renamed);
+        employees.set(20, unnamed);
+        index = index.withChanges(List.of(renamed, unnamed), List.of("10", "20"));
+
+        assertEquals(50, index.size());
+        for (String query : List.of("ann", "renamed", "smith", "ng", "e", PARTS[0])) {
+            assertEquals(scan(employees, query), index.search(query), "query: " + query);
+        }
+    }
+
+    @Test
+    void testRefreshedRosterSearchesInTheFetchedOrder() {
+        List<Employee> employees = randomEmployees(new Random(11), 0, 100);
+        EmployeeRoster roster = EmployeeRoster.of(1, Instant.now(), employees);
+
+        // a changed employee in place, one removed, and one new employee ahead of the existing ones
+        List<Employee> fetched = new ArrayList<>(employees);
+        fetched.set(30, new Employee("30", "Smith Ann", 1000, 20, "title", "e@gmail.com"));
+        fetched.remove(60);
+        fetched.add(5, new Employee("500", "Ann Smith", 1000, 20, "title", "e@gmail.com"));
+        for (List<Employee> next : List.of(fetched.subList(6, fetched.size()), fetched)) {
+            roster = roster.refreshedWith(
+                    roster.getVersion() + 1, Instant.now(), EmployeeRoster.UNKNOWN_SEQUENCE, next);
+
+            for (String query : List.of("ann", "smith", "ng", "e")) {
+                assertEquals(scan(next, query), roster.getNameIndex().search(query), "query: " + query);
+            }
+        }
+    }
+
+    @Test
+    void testMatchingDoesNotDependOnTheDefaultLocale() {
+        Locale defaultLocale = Locale.getDefault();
+        // Turkish lower-cases "I" to a dotless i
+        Locale.setDefault(Locale.forLanguageTag("tr"));
+        try {
+            List<Employee> employees = List.of(new Employee("1", "INGRID IVES", 1000, 20, "title", "e@gmail.com"));
+            EmployeeRoster roster = EmployeeRoster.of(1, Instant.now(), employees);
+
+            assertEquals(employees, roster.getNameIndex().search("ingrid"));
+            assertEquals(employees, roster.getNameIndex().search("IVES"));
+            assertTrue(roster.containsName("Ingrid Ives"));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    private static List<Employee> randomEmployees(Random random, int firstId, int count) {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String name = PARTS[random.nextInt(PARTS.length)] + " " + PARTS[random.nextInt(PARTS.length)];
+            employees.add(new Employee(String.valueOf(firstId + i), name, 1000, 20, "title", "e@gmail.com"));
+        }
+        return employees;
+    }
+
+    private static List<Employee> scan(List<Employee> employees, String query) {
+        String fragment = query.trim().toLowerCase(Locale.ROOT);
+        return employees.stream()
+                .filter(employee ->
+                        employee.getName() != null && employee.getName().toLowerCase(Locale.ROOT).contains(fragment))
+                .toList();
+    }
+}
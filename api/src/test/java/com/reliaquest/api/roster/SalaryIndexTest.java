@@ -0,0 +1,63 @@
+package com.reliaquest.api.roster;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.dto.Employee;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class SalaryIndexTest {
+
+    @Test
+    void testOrdersBySalaryDescendingKeepingRosterOrderForTies() {
+        SalaryIndex index = SalaryIndex.of(List.of(
+                new Employee("1", "low", 100, 20, "title", "low@gmail.com"),
+                new Employee("2", "tieFirst", 300, 20, "title", "tieFirst@gmail.com"),
+                new Employee("3", "high", 900, 20, "title", "high@gmail.com"),
+                new Employee("4", "tieSecond", 300, 20, "title", "tieSecond@gmail.com")));
+
+        assertEquals(900, index.highest().getAsInt());
+        assertEquals(List.of("high", "tieFirst", "tieSecond", "low"), index.topNames(10));
+        assertEquals(2, index.top(2).size());
+    }
+
+    @Test
+    void testSkipsMissingSalaries() {
+        SalaryIndex index = SalaryIndex.of(List.of(
+                new Employee("1", "valid", 100, 20, "title", "valid@gmail.com"),
+                new Employee("2", "missing", null, 20, "title", "missing@gmail.com")));
+
+        assertEquals(1, index.size());
+        assertEquals(List.of("valid"), index.topNames(10));
+    }
+
+    @Test
+    void testBatchIsMergedAfterExistingTies() {
+        List<Employee> roster = List.of(
+                new Employee("1", "low", 100, 20, "title", "low@gmail.com"),
+                new Employee("2", "tie", 300, 20, "title", "tie@gmail.com"),
+                new Employee("3", "high", 900, 20, "title", "high@gmail.com"));
+        List<Employee> added = List.of(
+                new Employee("4", "addedTieFirst", 300, 20, "title", "addedTieFirst@gmail.com"),
+                new Employee("5", "addedMissing", null, 20, "title", "addedMissing@gmail.com"),
+                new Employee("6", "addedHighest", 1000, 20, "title", "addedHighest@gmail.com"),
+                new Employee("7", "addedTieSecond", 300, 20, "title", "addedTieSecond@gmail.com"),
+                new Employee("8", "addedLowest", 50, 20, "title", "addedLowest@gmail.com"));
+        List<Employee> all = new ArrayList<>(roster);
+        all.addAll(added);
+
+        SalaryIndex merged = SalaryIndex.of(roster).withAdded(added);
+
+        assertEquals(
+                List.of("addedHighest", "high", "tie", "addedTieFirst", "addedTieSecond", "low", "addedLowest"),
+                merged.topNames(10));
+        assertEquals(SalaryIndex.of(all).top(10), merged.top(10));
+        assertEquals(1000, merged.highest().getAsInt());
+    }
+
+    @Test
+    void testEmptyRosterHasNoHighestSalary() {
+        assertTrue(SalaryIndex.of(List.of()).highest().isEmpty());
+    }
+}
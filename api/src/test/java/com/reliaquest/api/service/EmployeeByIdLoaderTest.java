@@ -0,0 +1,152 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.client.Futures;
+import com.reliaquest.api.dto.Employee;
+import com.reliaquest.api.roster.EmployeeRoster;
+import com.reliaquest.api.roster.EmployeeRosterCache;
+import com.reliaquest.api.roster.ReadEndpoint;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+public class EmployeeByIdLoaderTest {
+
+    private EmployeeApiClient employeeApiClient;
+
+    private CaffeineCacheManager cacheManager;
+
+    private EmployeeRosterCache rosterCache;
+
+    private EmployeeWriteThrough writeThrough;
+
+    @BeforeEach
+    void setup() {
+        employeeApiClient = Mockito.mock(EmployeeApiClient.class);
+        cacheManager = new CaffeineCacheManager("employeeById");
+        rosterCache = Mockito.mock(EmployeeRosterCache.class);
+        writeThrough = new EmployeeWriteThrough(cacheManager, rosterCache);
+    }
+
+    @Test
+    void testConcurrentMissesShareOneUpstreamLookup() {
+        Mockito.when(employeeApiClient.getEmployeesByIds(List.of("1", "2", "3")))
+                .thenReturn(CompletableFuture.completedFuture(List.of(employee("2"), employee("1"))));
+        EmployeeByIdLoader loader = loader(Duration.ofMillis(50));
+
+        CompletableFuture<Employee> first = loader.load("1");
+        CompletableFuture<Employee> second = loader.load("2");
+        CompletableFuture<Employee> again = loader.load("1");
+        CompletableFuture<Employee> missing = loader.load("3");
+
+        assertEquals("1", first.join().getId());
+        assertEquals("2", second.join().getId());
+        assertEquals("1", again.join().getId());
+        HttpClientErrorException notFound =
+                assertThrows(HttpClientErrorException.class, () -> Futures.await(missing));
+        assertEquals(HttpStatus.NOT_FOUND, notFound.getStatusCode());
+        Mockito.verify(employeeApiClient, Mockito.times(1)).getEmployeesByIds(Mockito.any());
+        Mockito.verify(employeeApiClient, Mockito.never()).getEmployee(anyString());
+    }
+
+    @Test
+    void testLoneMissUsesSingleLookup() {
+        Mockito.when(employeeApiClient.getEmployee("1"))
+                .thenReturn(CompletableFuture.completedFuture(employee("1")));
+
+        assertEquals("1", loader(Duration.ofMillis(1)).load("1").join().getId());
+        Mockito.verify(employeeApiClient, Mockito.never()).getEmployeesByIds(Mockito.any());
+    }
+
+    @Test
+    void testLoadAllFetchesOnlyCacheMisses() {
+        cacheManager.getCache("employeeById").put("1", employee("1"));
+        Mockito.when(employeeApiClient.getEmployeesByIds(List.of("2", "3")))
+                .thenReturn(CompletableFuture.completedFuture(List.of(employee("2"))));
+
+        List<Employee> employees = loader(Duration.ZERO)
+                .loadAll(List.of("2", "1", "3", "2"))
+                .join();
+
+        assertEquals(List.of("2", "1"), employees.stream().map(Employee::getId).toList());
+        assertNotNull(cacheManager.getCache("employeeById").get("2"));
+    }
+
+    @Test
+    void testWritesUpdateTheCacheAndTheRoster() {
+        Mockito.when(employeeApiClient.getEmployee("1"))
+                .thenReturn(CompletableFuture.completedFuture(employee("1")));
+        EmployeeByIdLoader loader = loader(Duration.ZERO);
+
+        writeThrough.created(employee("2"));
+        assertEquals("2", loader.load("2").join().getId());
+        assertEquals("1", loader.load("1").join().getId());
+        assertEquals("1", loader.load("1").join().getId());
+        writeThrough.deleted(List.of("1", "2"));
+
+        assertNull(cacheManager.getCache("employeeById").get("1"));
+        assertNull(cacheManager.getCache("employeeById").get("2"));
+        Mockito.verify(employeeApiClient, Mockito.times(1)).getEmployee("1");
+        Mockito.verify(employeeApiClient, Mockito.never()).getEmployee("2");
+        Mockito.verify(rosterCache).applyCreated(List.of(employee("2")));
+        Mockito.verify(rosterCache).applyDeleted(List.of("1", "2"));
+    }
+
+    @Test
+    void testLookupInFlightDuringDeleteIsNotCached() {
+        CompletableFuture<Employee> response = new CompletableFuture<>();
+        Mockito.when(employeeApiClient.getEmployee("1")).thenReturn(response);
+        EmployeeByIdLoader loader = loader(Duration.ZERO);
+
+        CompletableFuture<Employee> lookup = loader.load("1");
+        writeThrough.deleted("1");
+        response.complete(employee("1"));
+
+        assertEquals("1", lookup.join().getId());
+        assertNull(cacheManager.getCache("employeeById").get("1"));
+    }
+
+    @Test
+    void testThrottledLookupsAreServedFromTheLastKnownGoodRoster() {
+        Mockito.when(rosterCache.lastKnownGood(ReadEndpoint.BY_ID))
+                .thenReturn(EmployeeRoster.of(1, Instant.now(), List.of(employee("1"), employee("2"))));
+        Mockito.when(employeeApiClient.getEmployee(anyString()))
+                .thenReturn(CompletableFuture.failedFuture(
+                        new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS)));
+        Mockito.when(employeeApiClient.getEmployeesByIds(List.of("2", "3")))
+                .thenReturn(CompletableFuture.failedFuture(
+                        new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS)));
+        EmployeeByIdLoader loader = loader(Duration.ZERO);
+
+        assertEquals("1", loader.load("1").join().getId());
+        assertNull(cacheManager.getCache("employeeById").get("1"));
+        HttpClientErrorException throttled =
+                assertThrows(HttpClientErrorException.class, () -> Futures.await(loader.load("3")));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, throttled.getStatusCode());
+        assertEquals(
+                List.of("2"),
+                loader.loadAll(List.of("2", "3")).join().stream()
+                        .map(Employee::getId)
+                        .toList());
+    }
+
+    private EmployeeByIdLoader loader(Duration window) {
+        return new EmployeeByIdLoader(
+                employeeApiClient, writeThrough, rosterCache, ForkJoinPool.commonPool(), window, 100);
+    }
+
+    private static Employee employee(String id) {
+        return new Employee(id, "employee" + id, 1000, 30, "title", "employee" + id + "@gmail.com");
+    }
+}
@@ -0,0 +1,127 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.dto.EmployeeChange;
+import com.reliaquest.api.roster.EmployeeRosterCache;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+public class EmployeeChangeSubscriberTest {
+
+    private static final String EVENTS = """
+            event: change
+            data: {"sequence":5,"type":"DELETED","id":"1"}
+
+            : comments and unknown events are skipped
+            event: unknown
+            data: x
+
+            event: change
+            data: {"sequence":7,"type":"DELETED","id":"2"}
+
+            event: heartbeat
+            data: 7
+
+            """;
+
+    private HttpServer server;
+
+    private EmployeeRosterCache rosterCache;
+
+    private EmployeeChangeSubscriber subscriber;
+
+    // connection attempts, as nanoTime, and the Last-Event-ID each was sent with
+    private final List<Long> connectedAt = new CopyOnWriteArrayList<>();
+
+    private final List<String> lastEventIds = new CopyOnWriteArrayList<>();
+
+    private final CountDownLatch connections = new CountDownLatch(4);
+
+    @BeforeEach
+    void setup() throws IOException {
+        // only the third attempt gets a stream; the others fail
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/v1/employee/changes/stream", exchange -> {
+            connectedAt.add(System.nanoTime());
+            lastEventIds.add(exchange.getRequestHeaders().getFirst("Last-Event-ID"));
+            if (connectedAt.size() == 3) {
+                exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+                exchange.sendResponseHeaders(200, 0);
+                try (OutputStream body = exchange.getResponseBody()) {
+                    body.write(EVENTS.getBytes(StandardCharsets.UTF_8));
+                }
+            } else {
+                exchange.sendResponseHeaders(503, -1);
+            }
+            exchange.close();
+            connections.countDown();
+        });
+        server.start();
+
+        rosterCache = Mockito.mock(EmployeeRosterCache.class);
+        Mockito.when(rosterCache.changeSequence()).thenReturn(4L);
+        Mockito.when(rosterCache.applyChange(Mockito.any())).thenReturn(true, false);
+        Mockito.when(rosterCache.confirm(7)).thenReturn(true);
+        subscriber = new EmployeeChangeSubscriber(
+                HttpClient.newHttpClient(),
+                new ObjectMapper(),
+                new EmployeeWriteThrough(new CaffeineCacheManager("employeeById"), rosterCache),
+                rosterCache,
+                "http://localhost:" + server.getAddress().getPort() + "/api/v1/employee",
+                Duration.ofMillis(200),
+                Duration.ofSeconds(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        subscriber.stop();
+        server.stop(0);
+    }
+
+    @Test
+    void testAppliesChangesAndRefreshesOnAGap() throws InterruptedException {
+        subscriber.start();
+        assertTrue(connections.await(10, TimeUnit.SECONDS));
+
+        Mockito.verify(rosterCache)
+                .applyChange(Mockito.argThat(change -> change.getSequence() == 5
+                        && EmployeeChange.DELETED.equals(change.getType())
+                        && "1".equals(change.getId())));
+        Mockito.verify(rosterCache).applyChange(Mockito.argThat(change -> change.getSequence() == 7));
+        // sequence 7 after 5 is a gap, so the roster catches up with a refresh; the heartbeat then confirms it
+        Mockito.verify(rosterCache, Mockito.times(1)).refresh();
+        Mockito.verify(rosterCache).confirm(7);
+        assertEquals(List.of("4", "4", "4", "4"), lastEventIds.subList(0, 4));
+    }
+
+    @Test
+    void testBacksOffBetweenFailedAttemptsAndResetsAfterEvents() throws InterruptedException {
+        subscriber.start();
+        assertTrue(connections.await(10, TimeUnit.SECONDS));
+
+        assertTrue(gapMillis(0) >= 200, "after the first failure " + gapMillis(0));
+        assertTrue(gapMillis(1) >= 400, "after the second failure " + gapMillis(1));
+        // the third attempt received events, so the next wait is back to the shortest rather than 800ms
+        assertTrue(gapMillis(2) >= 200 && gapMillis(2) < 800, "after a stream with events " + gapMillis(2));
+    }
+
+    private long gapMillis(int attempt) {
+        return TimeUnit.NANOSECONDS.toMillis(connectedAt.get(attempt + 1) - connectedAt.get(attempt));
+    }
+}
@@ -4,14 +4,21 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
 
+import com.reliaquest.api.config.GlobalExceptionHandler;
 import com.reliaquest.api.dto.*;
 import com.reliaquest.api.exception.CustomRuntimeException;
+import com.reliaquest.api.exception.EmployeeAlreadyExistsException;
+import com.reliaquest.api.exception.EmployeeApiQueueFullException;
+import com.reliaquest.api.exception.EmployeeApiThrottledException;
 import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.exception.ErrorResponse;
+import com.reliaquest.api.roster.EmployeeRosterCache;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,6 +38,9 @@ public class EmployeeServiceImplTest {
     @Autowired
     private EmployeeServiceImpl employeeServiceImpl;
 
+    @Autowired
+    private EmployeeRosterCache rosterCache;
+
     @Value("${employee.api.url}")
     private String MOCK_EMPLOYEE_API_URL;
 
@@ -40,17 +50,17 @@ public class EmployeeServiceImplTest {
 
     @BeforeAll
     static void setup() {
-        Employee employee1 = new Employee("1", "employee1", "1000000", "18", "title employee1", "employee1@gmail.com");
-        Employee employee2 = new Employee("2", "employee2", "2000000", "19", "title employee2", "employee2@gmail.com");
-        Employee employee3 = new Employee("3", "employee3", "3000000", "20", "title employee3", "employee3@gmail.com");
-        Employee employee4 = new Employee("4", "employee4", "4000000", "21", "title employee4", "employee4@gmail.com");
-        Employee employee5 = new Employee("5", "employee5", "5000000", "22", "title employee5", "employee5@gmail.com");
-        Employee employee6 = new Employee("6", "employee6", "6000000", "23", "title employee6", "employee6@gmail.com");
-        Employee employee7 = new Employee("7", "employee7", "7000000", "24", "title employee7", "employee7@gmail.com");
-        Employee employee8 = new Employee("8", "employee8", "7000000", "25", "title employee8", "employee8@gmail.com");
-        Employee employee9 = new Employee("9", "employee9", "9000000", "26", "title employee9", "employee9@gmail.com");
+        Employee employee1 = new Employee("1", "employee1", 1000000, 18, "title employee1", "employee1@gmail.com");
+        Employee employee2 = new Employee("2", "employee2", 2000000, 19, "title employee2", "employee2@gmail.com");
+        Employee employee3 = new Employee("3", "employee3", 3000000, 20, "title employee3", "employee3@gmail.com");
+        Employee employee4 = new Employee("4", "employee4", 4000000, 21, "title employee4", "employee4@gmail.com");
+        Employee employee5 = new Employee("5", "employee5", 5000000, 22, "title employee5", "employee5@gmail.com");
+        Employee employee6 = new Employee("6", "employee6", 6000000, 23, "title employee6", "employee6@gmail.com");
+        Employee employee7 = new Employee("7", "employee7", 7000000, 24, "title employee7", "employee7@gmail.com");
+        Employee employee8 = new Employee("8", "employee8", 7000000, 25, "title employee8", "employee8@gmail.com");
+        Employee employee9 = new Employee("9", "employee9", 9000000, 26, "title employee9", "employee9@gmail.com");
         Employee employee10 =
-                new Employee("10", "employee10", "9900000", "27", "title employee10", "employee10@gmail.com");
+                new Employee("10", "employee10", 9900000, 27, "title employee10", "employee10@gmail.com");
 
         employeeList = List.of(
                 employee1,
@@ -72,6 +82,11 @@ public class EmployeeServiceImplTest {
         createEmployeeRequest.setEmail("abc@gmail.com");
     }
 
+    @BeforeEach
+    void resetRoster() {
+        rosterCache.invalidate();
+    }
+
     @Test
     void testGetAllEmployeesSuccess() {
         // Mock get all employee
@@ -95,6 +110,26 @@ public class EmployeeServiceImplTest {
         assertEquals(expectedResponse.size(), actualResponse.size());
     }
 
+    @Test
+    void testReadsAreServedFromRosterSnapshot() {
+        EmployeeResponseWrapper employeeResponseWrapper = new EmployeeResponseWrapper();
+        employeeResponseWrapper.setData(employeeList);
+
+        Mockito.when(restTemplate.exchange(
+                        eq(MOCK_EMPLOYEE_API_URL), eq(HttpMethod.GET), isNull(), eq(EmployeeResponseWrapper.class)))
+                .thenReturn(new ResponseEntity<>(employeeResponseWrapper, HttpStatus.OK));
+
+        // Act
+        employeeServiceImpl.getAllEmployees();
+        employeeServiceImpl.getHighestSalaryOfEmployees();
+        employeeServiceImpl.getTopTenHighestEarningEmployeeNames();
+        employeeServiceImpl.getEmployeesByNameSearch("employee1");
+
+        // Assert
+        Mockito.verify(restTemplate, Mockito.times(1))
+                .exchange(eq(MOCK_EMPLOYEE_API_URL), eq(HttpMethod.GET), isNull(), eq(EmployeeResponseWrapper.class));
+    }
+
     @Test
     void testGetAllEmployeesFallbackTriggered() {
         Mockito.when(restTemplate.exchange(
@@ -154,7 +189,7 @@ public class EmployeeServiceImplTest {
     @Test
     void testGetEmployeeByIdSuccess() {
         // Mock get employee by id
-        Employee employee = new Employee("1", "employee1", "1000000", "18", "title employee1", "employee1@gmail.com");
+        Employee employee = new Employee("1", "employee1", 1000000, 18, "title employee1", "employee1@gmail.com");
         EmployeeResponse employeeResponse = new EmployeeResponse();
         employeeResponse.setData(employee);
 
@@ -233,7 +268,7 @@ public class EmployeeServiceImplTest {
         Integer result = employeeServiceImpl.getHighestSalaryOfEmployees();
 
         // Assert
-        assertEquals(Integer.parseInt("9900000"), result);
+        assertEquals(9900000, result);
     }
 
     @Test
@@ -261,7 +296,7 @@ public class EmployeeServiceImplTest {
                 new ResponseEntity<>(employeeResponseWrapper, HttpStatus.OK);
 
         List<String> expectedResult = expectedEmployeeResponseWrapper.getBody().getData().stream()
-                .sorted(Comparator.comparingInt(employee -> Integer.parseInt(employee.getSalary())))
+                .sorted(Comparator.comparingInt(Employee::getSalary).reversed())
                 .limit(10)
                 .map(Employee::getName)
                 .toList();
@@ -277,6 +312,29 @@ public class EmployeeServiceImplTest {
         assertEquals(expectedResult, result);
     }
 
+    @Test
+    void testGetTopEarnersSuccess() {
+        EmployeeResponseWrapper employeeResponseWrapper = new EmployeeResponseWrapper();
+        employeeResponseWrapper.setData(employeeList);
+
+        Mockito.when(restTemplate.exchange(
+                        eq(MOCK_EMPLOYEE_API_URL), eq(HttpMethod.GET), isNull(), eq(EmployeeResponseWrapper.class)))
+                .thenReturn(new ResponseEntity<>(employeeResponseWrapper, HttpStatus.OK));
+
+        // Act
+        List<Employee> result = employeeServiceImpl.getTopEarners(3);
+
+        // Assert
+        assertEquals(
+                List.of("employee10", "employee9", "employee7"),
+                result.stream().map(Employee::getName).toList());
+    }
+
+    @Test
+    void testGetTopEarnersInvalidCount() {
+        assertThrows(IllegalArgumentException.class, () -> employeeServiceImpl.getTopEarners(0));
+    }
+
     @Test
     void testGetTopTenHighestEarningEmployeeNamesFailure() {
         Mockito.when(restTemplate.exchange(
@@ -307,7 +365,7 @@ public class EmployeeServiceImplTest {
                 .thenReturn(emptySearchResponse);
 
         // Mock create employee
-        Employee employee = new Employee("1", "abc", "100000", "50", "title", "abc@gmail.com");
+        Employee employee = new Employee("1", "abc", 100000, 50, "title", "abc@gmail.com");
         EmployeeResponse employeeResponse = new EmployeeResponse();
         employeeResponse.setData(employee);
 
@@ -322,7 +380,53 @@ public class EmployeeServiceImplTest {
 
         // Assert
         assertEquals("abc", result.getName());
-        assertEquals("100000", result.getSalary());
+        assertEquals(100000, result.getSalary());
+    }
+
+    @Test
+    void testCreateEmployeeDuplicateName() {
+        EmployeeResponseWrapper employeeResponseWrapper = new EmployeeResponseWrapper();
+        employeeResponseWrapper.setData(List.of(new Employee("1", "ABC", 100, 30, "title", "abc@gmail.com")));
+
+        Mockito.when(restTemplate.exchange(
+                        eq(MOCK_EMPLOYEE_API_URL), eq(HttpMethod.GET), isNull(), eq(EmployeeResponseWrapper.class)))
+                .thenReturn(new ResponseEntity<>(employeeResponseWrapper, HttpStatus.OK));
+
+        EmployeeAlreadyExistsException exception = assertThrows(EmployeeAlreadyExistsException.class, () -> {
+            employeeServiceImpl.createEmployee(createEmployeeRequest);
+        });
+        assertEquals("Employee with name abc already exists", exception.getMessage());
+    }
+
+    @Test
+    void testCreateEmployeeAllowsNameContainedInAnotherName() {
+        EmployeeResponseWrapper employeeResponseWrapper = new EmployeeResponseWrapper();
+        employeeResponseWrapper.setData(List.of(new Employee("1", "xabcx", 100, 30, "title", "x@gmail.com")));
+
+        Mockito.when(restTemplate.exchange(
+                        eq(MOCK_EMPLOYEE_API_URL), eq(HttpMethod.GET), isNull(), eq(EmployeeResponseWrapper.class)))
+                .thenReturn(new ResponseEntity<>(employeeResponseWrapper, HttpStatus.OK));
+
+        EmployeeResponse employeeResponse = new EmployeeResponse();
+        employeeResponse.setData(new Employee("2", "abc", 100000, 50, "title", "abc@gmail.com"));
+        Mockito.when(restTemplate.postForEntity(
+                        eq(MOCK_EMPLOYEE_API_URL), Mockito.any(HttpEntity.class), eq(EmployeeResponse.class)))
+                .thenReturn(new ResponseEntity<>(employeeResponse, HttpStatus.CREATED));
+
+        // Act
+        employeeServiceImpl.createEmployee(createEmployeeRequest);
+
+        // Assert created employee is visible without another roster download
+        assertEquals(
+                1,
+                employeeServiceImpl.getEmployeesByNameSearch("abc").stream()
+                        .filter(employee -> "2".equals(employee.getId()))
+                        .count());
+        assertThrows(EmployeeAlreadyExistsException.class, () -> {
+            employeeServiceImpl.createEmployee(createEmployeeRequest);
+        });
+        Mockito.verify(restTemplate, Mockito.times(1))
+                .exchange(eq(MOCK_EMPLOYEE_API_URL), eq(HttpMethod.GET), isNull(), eq(EmployeeResponseWrapper.class));
     }
 
     @Test
@@ -339,39 +443,53 @@ public class EmployeeServiceImplTest {
     }
 
     @Test
-    void testDeleteEmployeeByIdSuccess() {
-        String employeeId = "1";
-        String employeeName = "abc";
+    void testCreateEmployeeThrottledIsATooManyRequests() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "0");
+        Mockito.when(restTemplate.postForEntity(
+                        eq(MOCK_EMPLOYEE_API_URL), Mockito.any(HttpEntity.class), eq(EmployeeResponse.class)))
+                .thenThrow(HttpClientErrorException.create(
+                        HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", headers, null, StandardCharsets.UTF_8));
 
-        // Mock get Employee by ID
-        Employee mockEmployee = new Employee();
-        mockEmployee.setId(employeeId);
-        mockEmployee.setName(employeeName);
-        mockEmployee.setAge("30");
-        mockEmployee.setSalary("50000");
-        mockEmployee.setTitle("Engineer");
-        mockEmployee.setEmail("abc@gmail.com");
+        EmployeeApiThrottledException exception = assertThrows(EmployeeApiThrottledException.class, () -> {
+            employeeServiceImpl.createEmployee(createEmployeeRequest);
+        });
+        assertEquals("0", exception.getRetryAfter());
 
-        EmployeeResponse mockGetResponse = new EmployeeResponse();
-        mockGetResponse.setData(mockEmployee);
+        ResponseEntity<ErrorResponse> response = new GlobalExceptionHandler().handleThrottled(exception);
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("0", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void testFullClientQueueIsATooManyRequests() {
+        String employeeId = "1";
 
         Mockito.when(restTemplate.exchange(
                         eq(MOCK_EMPLOYEE_API_URL + "/" + employeeId),
-                        eq(HttpMethod.GET),
+                        eq(HttpMethod.DELETE),
                         isNull(),
-                        eq(EmployeeResponse.class)))
-                .thenReturn(new ResponseEntity<>(mockGetResponse, HttpStatus.OK));
+                        eq(DeleteEmployeeResponse.class)))
+                .thenThrow(new EmployeeApiQueueFullException("Mock Employee API request queue is full", "1"));
+
+        EmployeeApiThrottledException exception = assertThrows(EmployeeApiThrottledException.class, () -> {
+            employeeServiceImpl.deleteEmployeeById(employeeId);
+        });
+        assertEquals("1", exception.getRetryAfter());
+    }
+
+    @Test
+    void testDeleteEmployeeByIdSuccess() {
+        String employeeId = "1";
 
-        //  Mock delete Employee
         DeleteEmployeeResponse deleteResponse = new DeleteEmployeeResponse();
         deleteResponse.setData(true);
 
         Mockito.when(restTemplate.exchange(
-                        eq(MOCK_EMPLOYEE_API_URL),
+                        eq(MOCK_EMPLOYEE_API_URL + "/" + employeeId),
                         eq(HttpMethod.DELETE),
-                        Mockito.any(HttpEntity.class),
-                        eq(DeleteEmployeeResponse.class),
-                        (Object) Mockito.any()))
+                        isNull(),
+                        eq(DeleteEmployeeResponse.class)))
                 .thenReturn(new ResponseEntity<>(deleteResponse, HttpStatus.OK));
 
         // Act
@@ -379,6 +497,13 @@ public class EmployeeServiceImplTest {
 
         // Assert
         assertEquals("Employee with id 1 deleted successfully", result);
+        // deleted in one upstream call, without looking the employee up first
+        Mockito.verify(restTemplate, Mockito.never())
+                .exchange(
+                        eq(MOCK_EMPLOYEE_API_URL + "/" + employeeId),
+                        eq(HttpMethod.GET),
+                        isNull(),
+                        eq(EmployeeResponse.class));
     }
 
     @Test
@@ -388,9 +513,9 @@ public class EmployeeServiceImplTest {
 
         Mockito.when(restTemplate.exchange(
                         eq(MOCK_EMPLOYEE_API_URL + "/" + employeeId),
-                        eq(HttpMethod.GET),
+                        eq(HttpMethod.DELETE),
                         isNull(),
-                        eq(EmployeeResponse.class)))
+                        eq(DeleteEmployeeResponse.class)))
                 .thenThrow(new HttpClientErrorException(
                         HttpStatus.NOT_FOUND, "Employee not found", headers, null, StandardCharsets.UTF_8));
 
@@ -404,11 +529,10 @@ public class EmployeeServiceImplTest {
     void testDeleteEmployeeByIdFailure() {
         String employeeId = "1";
         Mockito.when(restTemplate.exchange(
-                        eq(MOCK_EMPLOYEE_API_URL),
+                        eq(MOCK_EMPLOYEE_API_URL + "/" + employeeId),
                         eq(HttpMethod.DELETE),
-                        Mockito.any(HttpEntity.class),
-                        eq(DeleteEmployeeResponse.class),
-                        (Object) Mockito.any()))
+                        isNull(),
+                        eq(DeleteEmployeeResponse.class)))
                 .thenThrow(new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error"));
 
         CustomRuntimeException exception = assertThrows(CustomRuntimeException.class, () -> {
@@ -417,4 +541,61 @@ public class EmployeeServiceImplTest {
 
         assertTrue(exception.getMessage().contains("Unexpected error occured while deleting employee by id"));
     }
+
+    @Test
+    void testCreateEmployeesReportsEachItem() {
+        EmployeeResponseWrapper employeeResponseWrapper = new EmployeeResponseWrapper();
+        employeeResponseWrapper.setData(employeeList);
+        Mockito.when(restTemplate.exchange(
+                        eq(MOCK_EMPLOYEE_API_URL), eq(HttpMethod.GET), isNull(), eq(EmployeeResponseWrapper.class)))
+                .thenReturn(new ResponseEntity<>(employeeResponseWrapper, HttpStatus.OK));
+
+        Employee created = new Employee("11", "new1", 100, 30, "title", "new1@gmail.com");
+        BatchCreateEmployeeResponse batchResponse = new BatchCreateEmployeeResponse(
+                "ok",
+                List.of(new BatchItem<>(created, "ok", null), new BatchItem<>(null, "failed", "salary: invalid")));
+        Mockito.when(restTemplate.postForEntity(
+                        eq(MOCK_EMPLOYEE_API_URL + "/batch/create"),
+                        Mockito.any(HttpEntity.class),
+                        eq(BatchCreateEmployeeResponse.class)))
+                .thenReturn(new ResponseEntity<>(batchResponse, HttpStatus.OK));
+
+        List<BatchItemResult<Employee>> results = employeeServiceImpl.createEmployees(List.of(
+                new CreateEmployeeRequest("new1", "100", "30", "title", "new1@gmail.com"),
+                new CreateEmployeeRequest("Employee1", "100", "30", "title", "e1@gmail.com"),
+                new CreateEmployeeRequest("", "100", "30", "title", "blank@gmail.com"),
+                new CreateEmployeeRequest("new2", "100", "30", "title", "new2@gmail.com")));
+
+        assertEquals(
+                List.of(201, 409, 400, 400),
+                results.stream().map(BatchItemResult::getStatusCode).toList());
+        assertEquals("new1", results.get(0).getData().getName());
+        assertTrue(rosterCache.get().containsName("new1"));
+    }
+
+    @Test
+    void testDeleteEmployeesByIdsReportsEachItem() {
+        Mockito.when(restTemplate.postForEntity(
+                        eq(MOCK_EMPLOYEE_API_URL + "/batch/delete-by-id"),
+                        Mockito.any(HttpEntity.class),
+                        eq(BatchDeleteEmployeeResponse.class)))
+                .thenReturn(new ResponseEntity<>(
+                        new BatchDeleteEmployeeResponse(
+                                "ok", List.of(new BatchItem<>(true, "ok", null), new BatchItem<>(false, "ok", null))),
+                        HttpStatus.OK));
+
+        List<BatchItemResult<String>> results =
+                employeeServiceImpl.deleteEmployeesByIds(List.of("101", "101", "missing"));
+
+        assertEquals(
+                List.of(200, 400, 404),
+                results.stream().map(BatchItemResult::getStatusCode).toList());
+        assertEquals("Employee with id 101 deleted successfully", results.get(0).getData());
+    }
+
+    @Test
+    void testBulkRequestsRejectEmptyBatches() {
+        assertThrows(IllegalArgumentException.class, () -> employeeServiceImpl.createEmployees(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> employeeServiceImpl.deleteEmployeesByIds(List.of()));
+    }
 }
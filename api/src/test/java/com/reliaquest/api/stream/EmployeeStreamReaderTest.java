@@ -0,0 +1,86 @@
+package com.reliaquest.api.stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.reliaquest.api.dto.Employee;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.junit.jupiter.api.Test;
+
+public class EmployeeStreamReaderTest {
+
+    private static final String ROSTER = "{\"status\":\"ok\",\"data\":["
+            + "{\"id\":\"1\",\"employee_name\":\"Joanne Low\",\"employee_salary\":100,\"employee_age\":20},"
+            + "{\"id\":\"2\",\"employee_name\":\"Tie First\",\"employee_salary\":300,\"extra\":{\"nested\":[1,2]}},"
+            + "{\"id\":\"3\",\"employee_name\":\"Ann High\",\"employee_salary\":\"900\",\"employee_title\":null},"
+            + "{\"id\":\"4\",\"employee_name\":\"Tie Second\",\"employee_salary\":300},"
+            + "{\"id\":\"5\",\"employee_name\":\"No Salary\",\"employee_salary\":\"n/a\"}"
+            + "],\"trailer\":[true]}";
+
+    private final EmployeeStreamReader reader = new EmployeeStreamReader(new JsonFactory());
+
+    @Test
+    void testPassesEveryRowAsItIsRead() throws IOException {
+        List<Employee> employees = new ArrayList<>();
+        long rows = read(row -> employees.add(row.toEmployee()));
+
+        assertEquals(5, rows);
+        assertEquals(new Employee("1", "Joanne Low", 100, 20, null, null), employees.get(0));
+        assertEquals(900, employees.get(2).getSalary());
+        assertNull(employees.get(4).getSalary());
+    }
+
+    @Test
+    void testAggregatesMatchTheRosterIndexes() throws IOException {
+        MaxSalary maxSalary = new MaxSalary();
+        TopEarners topEarners = new TopEarners(3);
+        NameFilter nameFilter = new NameFilter(" ann ");
+
+        read(row -> {
+            maxSalary.accept(row);
+            topEarners.accept(row);
+            nameFilter.accept(row);
+        });
+
+        assertEquals(900, maxSalary.result().getAsInt());
+        assertEquals(
+                List.of("Ann High", "Tie First", "Tie Second"),
+                topEarners.result().stream().map(Employee::getName).toList());
+        assertEquals(
+                List.of("Joanne Low", "Ann High"),
+                nameFilter.result().stream().map(Employee::getName).toList());
+    }
+
+    @Test
+    void testNameFilterDoesNotDependOnTheDefaultLocale() throws IOException {
+        Locale defaultLocale = Locale.getDefault();
+        // Turkish lower-cases "I" to a dotless i
+        Locale.setDefault(Locale.forLanguageTag("tr"));
+        try {
+            NameFilter nameFilter = new NameFilter("TIE");
+            read(nameFilter);
+
+            assertEquals(
+                    List.of("Tie First", "Tie Second"),
+                    nameFilter.result().stream().map(Employee::getName).toList());
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    void testEmptyRosterHasNoHighestSalary() throws IOException {
+        MaxSalary maxSalary = new MaxSalary();
+        reader.read(new ByteArrayInputStream("{\"data\":[]}".getBytes(StandardCharsets.UTF_8)), maxSalary);
+        assertTrue(maxSalary.result().isEmpty());
+    }
+
+    private long read(EmployeeRowConsumer consumer) throws IOException {
+        return reader.read(new ByteArrayInputStream(ROSTER.getBytes(StandardCharsets.UTF_8)), consumer);
+    }
+}
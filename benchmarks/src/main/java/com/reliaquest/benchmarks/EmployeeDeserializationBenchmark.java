@@ -0,0 +1,146 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.reliaquest.api.dto.Employee;
+import com.reliaquest.api.dto.EmployeeResponseWrapper;
+import com.reliaquest.api.stream.EmployeeStreamReader;
+import com.reliaquest.api.stream.MaxSalary;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Roster deserialization and max-salary aggregation with the typed {@link Employee} DTO against a copy of it that
+ * keeps salary and age as text, the way the DTO did before, and against the streaming reader. The roster is what the
+ * Mock Employee API sends, with numeric salaries and ages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeDeserializationBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    int rosterSize;
+
+    private byte[] json;
+
+    private ObjectReader typedReader;
+
+    private ObjectReader textReader;
+
+    private EmployeeStreamReader streamReader;
+
+    private List<Employee> typedRoster;
+
+    private List<TextEmployee> textRoster;
+
+    @Setup
+    public void setUp() throws IOException {
+        json = Rosters.json(rosterSize);
+        ObjectMapper objectMapper = new ObjectMapper();
+        typedReader = objectMapper.readerFor(EmployeeResponseWrapper.class);
+        textReader = objectMapper.readerFor(TextRoster.class);
+        streamReader = new EmployeeStreamReader(objectMapper.getFactory());
+        typedRoster = ((EmployeeResponseWrapper) typedReader.readValue(json)).getData();
+        textRoster = ((TextRoster) textReader.readValue(json)).data;
+    }
+
+    @Benchmark
+    public EmployeeResponseWrapper deserializeTyped() throws IOException {
+        return typedReader.readValue(json);
+    }
+
+    @Benchmark
+    public TextRoster deserializeText() throws IOException {
+        return textReader.readValue(json);
+    }
+
+    /**
+     * Highest salary read off the body row by row, the way the streaming aggregate endpoints do it.
+     */
+    @Benchmark
+    public OptionalInt streamMaxSalary() throws IOException {
+        MaxSalary maxSalary = new MaxSalary();
+        streamReader.read(new ByteArrayInputStream(json), maxSalary);
+        return maxSalary.result();
+    }
+
+    @Benchmark
+    public int maxSalaryTyped() {
+        int max = Integer.MIN_VALUE;
+        for (Employee employee : typedRoster) {
+            Integer salary = employee.getSalary();
+            if (salary != null && salary > max) {
+                max = salary;
+            }
+        }
+        return max;
+    }
+
+    @Benchmark
+    public int maxSalaryText() {
+        int max = Integer.MIN_VALUE;
+        for (TextEmployee employee : textRoster) {
+            if (employee.salary == null) {
+                continue;
+            }
+            try {
+                int salary = Integer.parseInt(employee.salary.trim());
+                if (salary > max) {
+                    max = salary;
+                }
+            } catch (NumberFormatException ex) {
+                // not counted, as before
+            }
+        }
+        return max;
+    }
+
+    public static class TextRoster {
+
+        @JsonProperty("status")
+        public String status;
+
+        @JsonProperty("data")
+        public List<TextEmployee> data;
+    }
+
+    public static class TextEmployee {
+
+        @JsonProperty("id")
+        public String id;
+
+        @JsonProperty("employee_name")
+        public String name;
+
+        @JsonProperty("employee_salary")
+        public String salary;
+
+        @JsonProperty("employee_age")
+        public String age;
+
+        @JsonProperty("employee_title")
+        public String title;
+
+        @JsonProperty("employee_email")
+        public String email;
+    }
+}
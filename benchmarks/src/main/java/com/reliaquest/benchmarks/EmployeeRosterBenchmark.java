@@ -0,0 +1,60 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.dto.Employee;
+import com.reliaquest.api.roster.EmployeeRoster;
+import java.time.Instant;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The roster reads behind the api's top ten and highest salary endpoints, plus the cost of building the roster and
+ * its indexes after each upstream fetch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeRosterBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    int rosterSize;
+
+    private List<Employee> employees;
+
+    private EmployeeRoster roster;
+
+    @Setup
+    public void setUp() {
+        employees = Rosters.employees(rosterSize);
+        roster = EmployeeRoster.of(1, Instant.now(), employees);
+    }
+
+    @Benchmark
+    public List<String> topTenNames() {
+        return roster.getSalaryIndex().topNames(10);
+    }
+
+    @Benchmark
+    public OptionalInt highestSalary() {
+        return roster.getSalaryIndex().highest();
+    }
+
+    @Benchmark
+    public EmployeeRoster buildRoster() {
+        return EmployeeRoster.of(2, Instant.now(), employees);
+    }
+}
@@ -0,0 +1,90 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.store.ColumnarMockEmployeeStore;
+import com.reliaquest.server.store.ConcurrentMockEmployeeStore;
+import com.reliaquest.server.store.MockEmployeeStore;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Lookups and deletes on both mock store implementations. Employees are visited in a shuffled order so lookups
+ * don't walk the store sequentially. Each delete adds the employee back in the same operation, which keeps the
+ * store at {@code rosterSize} for the whole run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MockEmployeeStoreBenchmark {
+
+    @Param({"concurrent", "columnar"})
+    String store;
+
+    @Param({"1000", "10000", "100000"})
+    int rosterSize;
+
+    private MockEmployeeStore mockEmployeeStore;
+
+    private MockEmployee[] visitOrder;
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        List<MockEmployee> mockEmployees = Rosters.mockEmployees(rosterSize);
+        mockEmployeeStore = "columnar".equals(store)
+                ? new ColumnarMockEmployeeStore(mockEmployees.stream())
+                : new ConcurrentMockEmployeeStore(mockEmployees.stream());
+        List<MockEmployee> shuffled = new ArrayList<>(mockEmployees);
+        Collections.shuffle(shuffled, new Random(Rosters.SEED));
+        visitOrder = shuffled.toArray(MockEmployee[]::new);
+    }
+
+    @Benchmark
+    public Optional<MockEmployee> findById() {
+        return mockEmployeeStore.findById(nextEmployee().getId());
+    }
+
+    @Benchmark
+    public Optional<MockEmployee> deleteById() {
+        MockEmployee mockEmployee = nextEmployee();
+        Optional<MockEmployee> removed = mockEmployeeStore.removeById(mockEmployee.getId());
+        mockEmployeeStore.add(mockEmployee);
+        return removed;
+    }
+
+    /**
+     * The name-based delete {@code DELETE /api/v1/employee} still uses.
+     */
+    @Benchmark
+    public Optional<MockEmployee> deleteByName() {
+        MockEmployee mockEmployee = nextEmployee();
+        Optional<MockEmployee> removed = mockEmployeeStore.removeByName(mockEmployee.getName());
+        removed.ifPresent(mockEmployeeStore::add);
+        return removed;
+    }
+
+    private MockEmployee nextEmployee() {
+        MockEmployee mockEmployee = visitOrder[next];
+        next = next + 1 == visitOrder.length ? 0 : next + 1;
+        return mockEmployee;
+    }
+}
@@ -0,0 +1,51 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.dto.Employee;
+import com.reliaquest.api.roster.NameSearchIndex;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The trigram index behind the api's name search. A two-character fragment falls back to a scan; longer ones only
+ * check the employees under their rarest trigram.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NameSearchBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    int rosterSize;
+
+    /**
+     * Common fragments match a large share of the roster; rare ones only a handful of employees.
+     */
+    @Param({"an", "son", "christopher"})
+    String nameFragment;
+
+    private NameSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        index = NameSearchIndex.of(Rosters.employees(rosterSize));
+    }
+
+    @Benchmark
+    public List<Employee> search() {
+        return index.search(nameFragment);
+    }
+}
@@ -0,0 +1,97 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.server.config.RequestLimitProperties;
+import com.reliaquest.server.web.RandomRequestLimitInterceptor;
+import com.reliaquest.server.web.SlidingWindowRequestLimitInterceptor;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * {@code preHandle} of both request limit modes on one shared interceptor, from every core at once and from a single
+ * thread. Limits trip within the first few calls, so this mostly measures the rejection path every request takes
+ * while a client is limited. For the sliding window, each thread is its own client and every third thread shares
+ * one, so some keys are contended and some aren't. Not parameterized by roster size, since the interceptors never
+ * look at the roster.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestLimitInterceptorBenchmark {
+
+    private RandomRequestLimitInterceptor random;
+
+    private SlidingWindowRequestLimitInterceptor slidingWindow;
+
+    @Setup
+    public void setUp() {
+        random = new RandomRequestLimitInterceptor();
+        slidingWindow = new SlidingWindowRequestLimitInterceptor(new RequestLimitProperties(
+                true,
+                RequestLimitProperties.Mode.SLIDING_WINDOW,
+                "X-Client-Id",
+                100,
+                Duration.ofSeconds(10),
+                List.of(new RequestLimitProperties.Route("/api/v1/employee/batch/**", null, 10, null))));
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean preHandleContended(Exchange exchange) {
+        return random.preHandle(exchange.request, exchange.response, null);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean preHandleUncontended(Exchange exchange) {
+        return random.preHandle(exchange.request, exchange.response, null);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean slidingWindowContended(Exchange exchange) {
+        return slidingWindow.preHandle(exchange.request, exchange.response, null);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean slidingWindowUncontended(Exchange exchange) {
+        return slidingWindow.preHandle(exchange.request, exchange.response, null);
+    }
+
+    /**
+     * Each thread's own request and response, as each servlet request has.
+     */
+    @State(Scope.Thread)
+    public static class Exchange {
+
+        private static final AtomicInteger threads = new AtomicInteger();
+
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employee");
+
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        @Setup
+        public void setUp() {
+            int thread = threads.getAndIncrement();
+            request.addHeader("X-Client-Id", "client-" + (thread % 3 == 0 ? 0 : thread));
+        }
+    }
+}
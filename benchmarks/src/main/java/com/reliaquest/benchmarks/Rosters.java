@@ -0,0 +1,50 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.dto.Employee;
+import com.reliaquest.server.config.MockEmployeeGenerator;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Rosters shared by the benchmarks, generated the way the mock server generates its own so names, salaries and ages
+ * have the same distribution. The seed is fixed, so every run and every commit measures the same data.
+ */
+final class Rosters {
+
+    static final long SEED = 42L;
+
+    private Rosters() {}
+
+    static List<MockEmployee> mockEmployees(int size) {
+        return new MockEmployeeGenerator(Locale.US, SEED).generate(size).toList();
+    }
+
+    static List<Employee> employees(int size) {
+        return mockEmployees(size).stream().map(Rosters::toEmployee).toList();
+    }
+
+    /**
+     * @return the body of {@code GET /api/v1/employee} for a roster of {@code size}
+     */
+    static byte[] json(int size) {
+        try {
+            return new ObjectMapper().writeValueAsBytes(Response.handledWith(mockEmployees(size)));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static Employee toEmployee(MockEmployee mockEmployee) {
+        return new Employee(
+                mockEmployee.getId().toString(),
+                mockEmployee.getName(),
+                mockEmployee.getSalary(),
+                mockEmployee.getAge(),
+                mockEmployee.getTitle(),
+                mockEmployee.getEmail());
+    }
+}
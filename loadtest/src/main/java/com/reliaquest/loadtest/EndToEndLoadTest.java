@@ -0,0 +1,413 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.reliaquest.api.ApiApplication;
+import com.reliaquest.server.ServerApplication;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Open-model load test of the whole chain: HTTP client, api, Mock Employee API, with both applications running in
+ * this JVM on ephemeral ports. Requests are sent at {@code --rps} whether or not earlier ones have finished, and each
+ * latency is measured from when the request was due, so a stalled server shows up in the percentiles instead of
+ * quietly lowering the load. Latency percentiles and error rates per endpoint are written as JSON to {@code --output}
+ * for comparison between commits.
+ *
+ * <p>Options prefixed with {@code api.} or {@code mock-server.} are passed to that application with the prefix
+ * removed, e.g. {@code --api.employee.api.client=http-client}.
+ */
+public final class EndToEndLoadTest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private EndToEndLoadTest() {}
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = Options.parse(args);
+        int rps = Integer.parseInt(options.getOrDefault("rps", "200"));
+        Duration duration = DurationStyle.detectAndParse(options.getOrDefault("duration", "30s"));
+        Duration warmup = DurationStyle.detectAndParse(options.getOrDefault("warmup", "10s"));
+        int employees = Integer.parseInt(options.getOrDefault("employees", "1000"));
+        boolean rateLimit = Boolean.parseBoolean(options.getOrDefault("rate-limit", "false"));
+        String mix = options.getOrDefault("mix", "list:10,byId:50,search:20,highestSalary:10,topTen:10");
+        int maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "5000"));
+        Path output = Path.of(options.getOrDefault("output", "build/results/loadtest/end-to-end.json"));
+
+        List<String> serverArgs = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--mock.employees.max=" + employees,
+                "--mock.employees.seed=42",
+                "--mock.request-limit.enabled=" + rateLimit,
+                "--logging.level.com.reliaquest=WARN"));
+        serverArgs.addAll(forwarded(options, "mock-server."));
+
+        try (ConfigurableApplicationContext server =
+                InProcessApps.start(ServerApplication.class, serverArgs.toArray(String[]::new))) {
+            String upstreamUrl = InProcessApps.url(server, "/api/v1/employee");
+            List<String> apiArgs = new ArrayList<>(List.of(
+                    "--server.port=0", "--employee.api.url=" + upstreamUrl, "--logging.level.com.reliaquest=WARN"));
+            if (!options.containsKey("api.employee.api.governor.enabled")) {
+                // with the limiter off there are no 429s for the governor to learn from, only pacing to measure
+                apiArgs.add("--employee.api.governor.enabled=" + rateLimit);
+            }
+            apiArgs.addAll(forwarded(options, "api."));
+
+            try (ConfigurableApplicationContext api =
+                    InProcessApps.start(ApiApplication.class, apiArgs.toArray(String[]::new))) {
+                HttpClient httpClient = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .executor(Executors.newVirtualThreadPerTaskExecutor())
+                        .connectTimeout(Duration.ofSeconds(10))
+                        .build();
+                List<JsonNode> roster = roster(httpClient, upstreamUrl);
+                Mix endpoints = Mix.parse(mix, requests(InProcessApps.url(api, "/api/v1/employee"), roster));
+
+                System.out.printf(
+                        "Driving %d req/s for %s after %s of warmup, %d employees, rate limit %s%n",
+                        rps,
+                        duration,
+                        warmup,
+                        employees,
+                        rateLimit ? "on" : "off");
+                Instant startedAt = Instant.now();
+                Map<String, EndpointStats> stats = run(httpClient, endpoints, rps, warmup, duration, maxInFlight);
+
+                Map<String, Object> report = new LinkedHashMap<>();
+                report.put("startedAt", startedAt.toString());
+                report.put("commit", commit());
+                report.put("config", config(options, rps, duration, warmup, employees, rateLimit, mix, maxInFlight));
+                report.put("overall", overall(stats.values(), duration));
+                Map<String, Object> perEndpoint = new LinkedHashMap<>();
+                stats.forEach((name, endpointStats) -> perEndpoint.put(name, endpointStats.summary(duration)));
+                report.put("endpoints", perEndpoint);
+
+                Files.createDirectories(output.toAbsolutePath().getParent());
+                objectMapper.writeValue(output.toFile(), report);
+                print(stats);
+                System.out.println("Results written to " + output.toAbsolutePath());
+            }
+        }
+    }
+
+    private static Map<String, EndpointStats> run(
+            HttpClient httpClient, Mix endpoints, int rps, Duration warmup, Duration duration, int maxInFlight)
+            throws InterruptedException {
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        endpoints.names().forEach(name -> stats.put(name, new EndpointStats()));
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        SplittableRandom random = new SplittableRandom(42);
+
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        double interval = 1e9 / rps;
+        for (long i = 0; ; i++) {
+            long due = start + (long) (i * interval);
+            if (due >= end) {
+                break;
+            }
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            int endpoint = endpoints.pick(random);
+            EndpointStats endpointStats = due >= measureFrom ? stats.get(endpoints.name(endpoint)) : null;
+            if (!inFlight.tryAcquire()) {
+                // the system is this far behind; counted rather than queued without bound
+                if (endpointStats != null) {
+                    endpointStats.dropped.increment();
+                }
+                continue;
+            }
+            httpClient
+                    .sendAsync(endpoints.request(endpoint, random), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, ex) -> {
+                        inFlight.release();
+                        if (endpointStats != null) {
+                            endpointStats.record(System.nanoTime() - due, ex == null ? response.statusCode() : -1);
+                        }
+                    });
+        }
+        if (!inFlight.tryAcquire(maxInFlight, 30, TimeUnit.SECONDS)) {
+            System.out.println("Some requests were still in flight 30s after the run ended and are not counted");
+        }
+        return stats;
+    }
+
+    /**
+     * @return request builders by endpoint name; ids and search fragments are drawn from the roster
+     */
+    private static Map<String, Function<SplittableRandom, HttpRequest>> requests(
+            String apiUrl, List<JsonNode> roster) {
+        List<String> ids = roster.stream().map(employee -> employee.path("id").asText()).toList();
+        List<String> fragments = roster.stream()
+                .map(employee -> employee.path("employee_name").asText().toLowerCase(Locale.ROOT))
+                .filter(name -> name.length() >= 3)
+                .map(name -> name.substring(0, 3))
+                .toList();
+        if (ids.isEmpty() || fragments.isEmpty()) {
+            throw new IllegalStateException("The Mock Employee API returned no employees to drive the load with");
+        }
+
+        Map<String, Function<SplittableRandom, HttpRequest>> requests = new LinkedHashMap<>();
+        requests.put("list", random -> get(apiUrl));
+        requests.put("byId", random -> get(apiUrl + "/" + ids.get(random.nextInt(ids.size()))));
+        requests.put("search", random -> get(apiUrl + "/search/"
+                + URLEncoder.encode(fragments.get(random.nextInt(fragments.size())), StandardCharsets.UTF_8)
+                        .replace("+", "%20")));
+        requests.put("highestSalary", random -> get(apiUrl + "/highestSalary"));
+        requests.put("topTen", random -> get(apiUrl + "/topTenHighestEarningEmployeeNames"));
+        requests.put("create", random -> HttpRequest.newBuilder(URI.create(apiUrl))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"Load Test " + UUID.randomUUID()
+                        + "\",\"salary\":\"" + (30_000 + random.nextInt(470_000))
+                        + "\",\"age\":\"" + (16 + random.nextInt(55))
+                        + "\",\"title\":\"Engineer\",\"email\":\"loadtest@company.com\"}"))
+                .build());
+        return requests;
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    /**
+     * Read straight from the Mock Employee API, so building the load doesn't warm the api's caches.
+     */
+    private static List<JsonNode> roster(HttpClient httpClient, String upstreamUrl)
+            throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(get(upstreamUrl), HttpResponse.BodyHandlers.ofString());
+        List<JsonNode> roster = new ArrayList<>();
+        objectMapper.readTree(response.body()).path("data").forEach(roster::add);
+        return roster;
+    }
+
+    private static List<String> forwarded(Map<String, String> options, String prefix) {
+        return options.entrySet().stream()
+                .filter(option -> option.getKey().startsWith(prefix))
+                .map(option -> "--" + option.getKey().substring(prefix.length()) + "=" + option.getValue())
+                .toList();
+    }
+
+    private static Map<String, Object> config(
+            Map<String, String> options,
+            int rps,
+            Duration duration,
+            Duration warmup,
+            int employees,
+            boolean rateLimit,
+            String mix,
+            int maxInFlight) {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("rps", rps);
+        config.put("durationSeconds", duration.toMillis() / 1000.0);
+        config.put("warmupSeconds", warmup.toMillis() / 1000.0);
+        config.put("employees", employees);
+        config.put("rateLimit", rateLimit);
+        config.put("mix", mix);
+        config.put("maxInFlight", maxInFlight);
+        config.put("api", forwarded(options, "api."));
+        config.put("mockServer", forwarded(options, "mock-server."));
+        return config;
+    }
+
+    private static Map<String, Object> overall(Iterable<EndpointStats> stats, Duration duration) {
+        EndpointStats overall = new EndpointStats();
+        for (EndpointStats endpointStats : stats) {
+            overall.latencies.add(endpointStats.latencies);
+            overall.dropped.add(endpointStats.dropped.sum());
+            endpointStats.statuses.forEach(
+                    (status, count) -> overall.statuses.computeIfAbsent(status, ignored -> new LongAdder())
+                            .add(count.sum()));
+        }
+        return overall.summary(duration);
+    }
+
+    private static String commit() {
+        try {
+            Process git = new ProcessBuilder("git", "rev-parse", "--short", "HEAD")
+                    .redirectErrorStream(true)
+                    .start();
+            String commit = new String(git.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+            return git.waitFor() == 0 ? commit : null;
+        } catch (IOException ex) {
+            return null;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static void print(Map<String, EndpointStats> stats) {
+        System.out.printf(
+                "%-14s %9s %9s %9s %9s %9s %8s%n",
+                "endpoint",
+                "requests",
+                "p50 ms",
+                "p99 ms",
+                "p99.9 ms",
+                "max ms",
+                "errors");
+        stats.forEach((name, endpointStats) -> {
+            Histogram latencies = endpointStats.latencies;
+            System.out.printf(
+                    "%-14s %9d %9.1f %9.1f %9.1f %9.1f %7.2f%%%n",
+                    name,
+                    latencies.getTotalCount(),
+                    millis(latencies.getValueAtPercentile(50)),
+                    millis(latencies.getValueAtPercentile(99)),
+                    millis(latencies.getValueAtPercentile(99.9)),
+                    millis(latencies.getMaxValue()),
+                    endpointStats.errorRate() * 100);
+        });
+    }
+
+    private static double millis(double nanos) {
+        return nanos / 1e6;
+    }
+
+    /**
+     * Endpoint names with cumulative weights, e.g. {@code list:10,byId:50}.
+     */
+    private record Mix(
+            List<String> names, int[] cumulativeWeights, List<Function<SplittableRandom, HttpRequest>> requests) {
+
+        static Mix parse(String mix, Map<String, Function<SplittableRandom, HttpRequest>> available) {
+            List<String> names = new ArrayList<>();
+            List<Function<SplittableRandom, HttpRequest>> requests = new ArrayList<>();
+            List<Integer> weights = new ArrayList<>();
+            for (String entry : mix.split(",")) {
+                String[] parts = entry.trim().split(":");
+                Function<SplittableRandom, HttpRequest> request = available.get(parts[0]);
+                if (request == null || parts.length != 2) {
+                    throw new IllegalArgumentException(
+                            "Unknown mix entry '" + entry + "'; expected name:weight with a name from "
+                                    + available.keySet());
+                }
+                int weight = Integer.parseInt(parts[1]);
+                if (weight > 0) {
+                    names.add(parts[0]);
+                    requests.add(request);
+                    weights.add(weight);
+                }
+            }
+            if (names.isEmpty()) {
+                throw new IllegalArgumentException("The mix '" + mix + "' has no endpoint with a positive weight");
+            }
+            int[] cumulativeWeights = new int[weights.size()];
+            int total = 0;
+            for (int i = 0; i < weights.size(); i++) {
+                total += weights.get(i);
+                cumulativeWeights[i] = total;
+            }
+            return new Mix(List.copyOf(names), cumulativeWeights, List.copyOf(requests));
+        }
+
+        int pick(SplittableRandom random) {
+            int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            int index = 0;
+            while (cumulativeWeights[index] <= value) {
+                index++;
+            }
+            return index;
+        }
+
+        String name(int index) {
+            return names.get(index);
+        }
+
+        HttpRequest request(int index, SplittableRandom random) {
+            return requests.get(index).apply(random);
+        }
+    }
+
+    private static final class EndpointStats {
+
+        // auto-resizing, three significant digits
+        final Histogram latencies = new ConcurrentHistogram(3);
+        final Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+        final LongAdder dropped = new LongAdder();
+
+        /**
+         * @param status HTTP status, or {@code -1} when the request failed without a response
+         */
+        void record(long latencyNanos, int status) {
+            latencies.recordValue(latencyNanos);
+            statuses.computeIfAbsent(status < 0 ? "exception" : Integer.toString(status), ignored -> new LongAdder())
+                    .increment();
+        }
+
+        long errors() {
+            long errors = dropped.sum();
+            for (Map.Entry<String, LongAdder> status : statuses.entrySet()) {
+                if (!status.getKey().startsWith("2")) {
+                    errors += status.getValue().sum();
+                }
+            }
+            return errors;
+        }
+
+        double errorRate() {
+            long attempted = latencies.getTotalCount() + dropped.sum();
+            return attempted == 0 ? 0 : (double) errors() / attempted;
+        }
+
+        Map<String, Object> summary(Duration duration) {
+            Map<String, Object> latencyMillis = new LinkedHashMap<>();
+            latencyMillis.put("p50", millis(latencies.getValueAtPercentile(50)));
+            latencyMillis.put("p90", millis(latencies.getValueAtPercentile(90)));
+            latencyMillis.put("p99", millis(latencies.getValueAtPercentile(99)));
+            latencyMillis.put("p99.9", millis(latencies.getValueAtPercentile(99.9)));
+            latencyMillis.put("max", millis(latencies.getMaxValue()));
+            latencyMillis.put("mean", millis(latencies.getMean()));
+
+            Map<String, Long> statusCounts = new LinkedHashMap<>();
+            statuses.entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .forEach(status -> statusCounts.put(status.getKey(), status.getValue().sum()));
+
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("requests", latencies.getTotalCount());
+            summary.put("throughput", latencies.getTotalCount() / (duration.toMillis() / 1000.0));
+            summary.put("errors", errors());
+            summary.put("errorRate", errorRate());
+            summary.put("dropped", dropped.sum());
+            summary.put("statuses", statusCounts);
+            summary.put("latencyMillis", latencyMillis);
+            return summary;
+        }
+    }
+}
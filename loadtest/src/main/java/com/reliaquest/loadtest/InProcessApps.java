@@ -0,0 +1,32 @@
+package com.reliaquest.loadtest;
+
+import java.util.Arrays;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts the api and the Mock Employee API inside the load test's JVM. Both modules ship an {@code application.yml}
+ * at the root of the classpath, so each application is pointed at its own file rather than whichever comes first.
+ */
+final class InProcessApps {
+
+    private InProcessApps() {}
+
+    static ConfigurableApplicationContext start(Class<?> application, String... args) {
+        String[] withConfig = Arrays.copyOf(args, args.length + 1);
+        withConfig[args.length] = "--spring.config.location=" + configLocation(application);
+        return new SpringApplicationBuilder(application).run(withConfig);
+    }
+
+    static String url(ConfigurableApplicationContext context, String path) {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + path;
+    }
+
+    private static String configLocation(Class<?> application) {
+        String classFile = application.getName().replace('.', '/') + ".class";
+        String classUrl = application.getClassLoader().getResource(classFile).toString();
+        String root = classUrl.substring(0, classUrl.length() - classFile.length());
+        // run from Gradle's class directories, resources are in a sibling directory instead of next to the classes
+        return root.replace("/classes/java/main/", "/resources/main/") + "application.yml";
+    }
+}
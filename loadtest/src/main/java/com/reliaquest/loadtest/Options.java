@@ -0,0 +1,22 @@
+package com.reliaquest.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code --name=value} command line options, in the order given.
+ */
+final class Options {
+
+    private Options() {}
+
+    static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+}
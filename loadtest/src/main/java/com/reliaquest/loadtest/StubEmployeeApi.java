@@ -0,0 +1,63 @@
+package com.reliaquest.loadtest;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * Stand-in for the Mock Employee API that answers every request after a fixed delay and never rate limits, so a
+ * benchmark measures how the api module copes with slow upstream calls rather than how often it gets a 429.
+ */
+public final class StubEmployeeApi implements AutoCloseable {
+
+    private static final String EMPLOYEE =
+            "{\"id\":\"%s\",\"employee_name\":\"Stub Employee\",\"employee_salary\":100000,"
+                    + "\"employee_age\":40,\"employee_title\":\"Engineer\",\"employee_email\":\"stub@company.com\"}";
+
+    private final HttpServer server;
+
+    private StubEmployeeApi(HttpServer server) {
+        this.server = server;
+    }
+
+    public static StubEmployeeApi start(Duration latency) {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 16_384);
+            server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+            server.createContext("/api/v1/employee", exchange -> {
+                try {
+                    Thread.sleep(latency);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                String path = exchange.getRequestURI().getPath();
+                String id = path.substring(path.lastIndexOf('/') + 1);
+                String body = path.equals("/api/v1/employee")
+                        ? "{\"data\":[" + EMPLOYEE.formatted("roster") + "],\"status\":\"ok\"}"
+                        : "{\"data\":" + EMPLOYEE.formatted(id) + ",\"status\":\"ok\"}";
+                byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, bytes.length);
+                exchange.getResponseBody().write(bytes);
+                exchange.close();
+            });
+            server.start();
+            return new StubEmployeeApi(server);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public String url() {
+        return "http://localhost:" + server.getAddress().getPort() + "/api/v1/employee";
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
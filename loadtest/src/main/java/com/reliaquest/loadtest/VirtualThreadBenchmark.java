@@ -0,0 +1,132 @@
+package com.reliaquest.loadtest;
+
+import com.reliaquest.api.ApiApplication;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Closed-model comparison of the api module with platform-thread Tomcat and with virtual threads. Each client loops
+ * on {@code GET /api/v1/employee/{id}} with a fresh id, so every request misses the cache and waits on the upstream
+ * for {@code --upstream-latency}. Prints throughput, p50, p99 and error count per mode and concurrency level.
+ */
+public final class VirtualThreadBenchmark {
+
+    private VirtualThreadBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = Options.parse(args);
+        int[] levels = Arrays.stream(options.getOrDefault("concurrency", "1000,2500,5000,10000")
+                        .split(","))
+                .mapToInt(level -> Integer.parseInt(level.trim()))
+                .toArray();
+        Duration duration = DurationStyle.detectAndParse(options.getOrDefault("duration", "20s"));
+        Duration latency = DurationStyle.detectAndParse(options.getOrDefault("upstream-latency", "50ms"));
+
+        List<String> rows = new ArrayList<>();
+        try (StubEmployeeApi upstream = StubEmployeeApi.start(latency)) {
+            for (boolean virtualThreads : new boolean[] {false, true}) {
+                try (ConfigurableApplicationContext api = startApi(upstream.url(), virtualThreads)) {
+                    String baseUrl = InProcessApps.url(api, "/api/v1/employee/");
+                    for (int level : levels) {
+                        Result result = run(baseUrl, level, duration);
+                        rows.add(String.format(
+                                "%-9s %8d %12.1f %10.1f %10.1f %8d",
+                                virtualThreads ? "virtual" : "platform",
+                                level,
+                                result.throughput(),
+                                result.p50Millis(),
+                                result.p99Millis(),
+                                result.errors()));
+                    }
+                }
+            }
+        }
+
+        System.out.printf("%-9s %8s %12s %10s %10s %8s%n", "mode", "clients", "req/s", "p50 ms", "p99 ms", "errors");
+        rows.forEach(System.out::println);
+    }
+
+    private static ConfigurableApplicationContext startApi(String upstreamUrl, boolean virtualThreads) {
+        return InProcessApps.start(
+                ApiApplication.class,
+                "--server.port=0",
+                "--employee.api.url=" + upstreamUrl,
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--logging.level.com.reliaquest=WARN");
+    }
+
+    private static Result run(String baseUrl, int clients, Duration duration) throws InterruptedException {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        long[][] latencies = new long[clients][];
+        AtomicLong errors = new AtomicLong();
+        long deadline = System.nanoTime() + duration.toNanos();
+        CountDownLatch done = new CountDownLatch(clients);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int client = 0; client < clients; client++) {
+                int slot = client;
+                executor.execute(() -> {
+                    long[] samples = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + UUID.randomUUID()))
+                                .timeout(Duration.ofSeconds(30))
+                                .build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response =
+                                    httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (Exception ex) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (count == samples.length) {
+                            samples = Arrays.copyOf(samples, count * 2);
+                        }
+                        samples[count++] = System.nanoTime() - start;
+                    }
+                    latencies[slot] = Arrays.copyOf(samples, count);
+                    done.countDown();
+                });
+            }
+            done.await();
+        }
+
+        long[] all =
+                Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        double seconds = duration.toNanos() / 1e9;
+        return new Result(all.length / seconds, percentile(all, 0.50), percentile(all, 0.99), errors.get());
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1);
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    private record Result(double throughput, double p50Millis, double p99Millis, long errors) {}
+}
@@ -0,0 +1,77 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import net.datafaker.Faker;
+
+/**
+ * Generates the startup roster in fixed-size chunks across all cores. Each chunk has its own {@link Faker} seeded
+ * from {@code mock.employees.seed} and the chunk number, and rows are built directly rather than through Datafaker's
+ * reflective transformer, so the same seed always yields the same roster in the same order.
+ */
+@Slf4j
+public class MockEmployeeGenerator {
+
+    static final int CHUNK_SIZE = 8_192;
+
+    private final Locale locale;
+
+    private final long seed;
+
+    public MockEmployeeGenerator(Locale locale, long seed) {
+        this.locale = locale;
+        this.seed = seed;
+    }
+
+    /**
+     * @return {@code count} employees, generated in parallel but encountered in a deterministic order; consume with
+     *     {@link Stream#forEachOrdered} to keep it
+     */
+    public Stream<MockEmployee> generate(int count) {
+        int chunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        log.info("Generating {} employees in {} chunks from seed {}", count, chunks, seed);
+        return IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(chunk -> chunk(chunk, Math.min(CHUNK_SIZE, count - chunk * CHUNK_SIZE)))
+                .flatMap(Arrays::stream);
+    }
+
+    private MockEmployee[] chunk(int chunk, int size) {
+        Random random = new Random(chunkSeed(chunk));
+        Faker faker = new Faker(locale, random);
+        MockEmployee[] mockEmployees = new MockEmployee[size];
+        for (int i = 0; i < size; i++) {
+            mockEmployees[i] = MockEmployee.builder()
+                    .id(uuid(random))
+                    .name(faker.name().fullName())
+                    .salary(faker.number().numberBetween(30000, 500000))
+                    .age(faker.number().numberBetween(16, 70))
+                    .title(faker.job().title())
+                    .email(ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                            faker.twitter().userName().toLowerCase()))
+                    .build();
+        }
+        return mockEmployees;
+    }
+
+    private long chunkSeed(int chunk) {
+        long mixed = (seed + chunk) * 0x9E3779B97F4A7C15L;
+        mixed = (mixed ^ (mixed >>> 30)) * 0xBF58476D1CE4E5B9L;
+        return mixed ^ (mixed >>> 31);
+    }
+
+    /**
+     * Random (version 4) UUID drawn from the chunk's seeded source instead of {@link UUID#randomUUID()}.
+     */
+    private static UUID uuid(Random random) {
+        long high = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long low = (random.nextLong() & ~(0xC000L << 48)) | (0x8000L << 48);
+        return new UUID(high, low);
+    }
+}
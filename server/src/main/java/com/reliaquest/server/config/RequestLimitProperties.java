@@ -0,0 +1,42 @@
+package com.reliaquest.server.config;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * {@code mock.request-limit.*}: which limiter guards the Mock Employee API and, for {@code sliding-window}, how
+ * many requests each client gets per window on each route.
+ *
+ * @param clientHeader request header that identifies a client; the remote address is used when it is absent
+ * @param limit requests per client per {@code window} on routes without their own limit
+ * @param routes per-route limits, first match wins; unset fields fall back to {@code limit} and {@code window}
+ */
+@ConfigurationProperties("mock.request-limit")
+public record RequestLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("random") Mode mode,
+        @DefaultValue("X-Client-Id") String clientHeader,
+        @DefaultValue("100") int limit,
+        @DefaultValue("10s") Duration window,
+        List<Route> routes) {
+
+    public RequestLimitProperties {
+        routes = routes == null ? List.of() : List.copyOf(routes);
+    }
+
+    public enum Mode {
+        /**
+         * The challenge's original limiter: a random limit and backoff shared by every client.
+         */
+        RANDOM,
+        SLIDING_WINDOW
+    }
+
+    /**
+     * @param path Spring path pattern, e.g. {@code /api/v1/employee/batch/**}
+     * @param method HTTP method to match, or any method when unset
+     */
+    public record Route(String path, String method, Integer limit, Duration window) {}
+}
@@ -1,19 +1,18 @@
 package com.reliaquest.server.config;
 
-import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.store.ColumnarMockEmployeeStore;
+import com.reliaquest.server.store.ConcurrentMockEmployeeStore;
+import com.reliaquest.server.store.MockEmployeeChangeLog;
+import com.reliaquest.server.store.MockEmployeeStore;
 import com.reliaquest.server.web.RandomRequestLimitInterceptor;
-import java.util.ArrayList;
-import java.util.List;
+import com.reliaquest.server.web.SlidingWindowRequestLimitInterceptor;
 import java.util.Locale;
-import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.random.RandomGenerator;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
-import net.datafaker.transformations.Field;
-import net.datafaker.transformations.JavaObjectTransformer;
-import net.datafaker.transformations.Schema;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -21,39 +20,70 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Slf4j
 @Configuration
+@EnableConfigurationProperties(RequestLimitProperties.class)
 public class ServerConfiguration implements WebMvcConfigurer {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
 
+    private final RequestLimitProperties requestLimit;
+
+    public ServerConfiguration(RequestLimitProperties requestLimit) {
+        this.requestLimit = requestLimit;
+    }
+
     @Bean
     public Faker faker() {
         return new Faker(Locale.getDefault());
     }
 
     /*
-     * This list is modifiable by design for CRUD operations.
+     * Without mock.employees.seed every start gets a new roster, as before.
+     */
+    @Bean
+    public MockEmployeeGenerator mockEmployeeGenerator(@Value("${mock.employees.seed:#{null}}") Long seed) {
+        return new MockEmployeeGenerator(
+                Locale.getDefault(), seed == null ? RandomGenerator.getDefault().nextLong() : seed);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "mock.employees.store", havingValue = "concurrent", matchIfMissing = true)
+    public MockEmployeeStore concurrentMockEmployeeStore(
+            MockEmployeeGenerator generator, @Value("${mock.employees.max:20}") int maxEmployees) {
+        return new ConcurrentMockEmployeeStore(generator.generate(maxEmployees));
+    }
+
+    /*
+     * Rows are handed to the store one at a time, so no boxed copy of the whole roster is kept around.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
-        final var transformer = new JavaObjectTransformer();
-        final var schema = Schema.of(
-                Field.field("id", UUID::randomUUID),
-                Field.field("name", () -> faker.name().fullName()),
-                Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
-                Field.field("age", () -> faker.number().numberBetween(16, 70)),
-                Field.field("title", () -> faker.job().title()),
-                Field.field(
-                        "email",
-                        () -> EMAIL_TEMPLATE.formatted(
-                                faker.twitter().userName().toLowerCase())));
-        return IntStream.rangeClosed(1, maxEmployees)
-                .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
-                .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
-                .collect(Collectors.toCollection(ArrayList::new));
+    @ConditionalOnProperty(name = "mock.employees.store", havingValue = "columnar")
+    public MockEmployeeStore columnarMockEmployeeStore(
+            MockEmployeeGenerator generator, @Value("${mock.employees.max:20}") int maxEmployees) {
+        return new ColumnarMockEmployeeStore(generator.generate(maxEmployees));
     }
 
+    /*
+     * Clients further behind than the retained changes have to download the full list again.
+     */
+    @Bean
+    public MockEmployeeChangeLog mockEmployeeChangeLog(
+            @Value("${mock.employees.changes.retained:10000}") int retained) {
+        return new MockEmployeeChangeLog(retained);
+    }
+
+    /*
+     * Load tests turn the limiter off to measure the api rather than how often it is rate limited.
+     */
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+        if (!requestLimit.enabled()) {
+            log.warn("Request limit disabled; every request will be served");
+            return;
+        }
+        registry.addInterceptor(
+                switch (requestLimit.mode()) {
+                    case RANDOM -> new RandomRequestLimitInterceptor();
+                    case SLIDING_WINDOW -> new SlidingWindowRequestLimitInterceptor(requestLimit);
+                });
     }
 }
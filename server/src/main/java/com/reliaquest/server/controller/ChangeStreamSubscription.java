@@ -0,0 +1,110 @@
+package com.reliaquest.server.controller;
+
+import com.reliaquest.server.store.MockEmployeeChange;
+import com.reliaquest.server.store.MockEmployeeChanges;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Delivers the change log to one SSE client. Changes are queued by the writer that records them and sent by this
+ * subscription's own thread, so a slow client never holds up writes. A client that falls {@code buffer} changes
+ * behind is disconnected, and catches up from the change log when it reconnects with {@code Last-Event-ID}.
+ *
+ * <p>Events: {@code change} with the change as data and its sequence number as id; {@code resync}, with the latest
+ * sequence number, when the client's {@code Last-Event-ID} is no longer retained; and {@code heartbeat} every
+ * {@code heartbeat} while nothing changes, with the sequence number of the last change sent, so the client can
+ * tell its copy is current.
+ */
+@Slf4j
+final class ChangeStreamSubscription implements Consumer<MockEmployeeChange> {
+
+    private final SseEmitter emitter;
+
+    private final BlockingQueue<MockEmployeeChange> queue;
+
+    private final Duration heartbeat;
+
+    private volatile boolean closed;
+
+    // sequence number of the last change sent; sender thread only
+    private long sent;
+
+    ChangeStreamSubscription(SseEmitter emitter, int buffer, Duration heartbeat) {
+        this.emitter = emitter;
+        this.queue = new ArrayBlockingQueue<>(buffer);
+        this.heartbeat = heartbeat;
+        emitter.onCompletion(this::close);
+        emitter.onTimeout(this::close);
+        emitter.onError(ex -> close());
+    }
+
+    @Override
+    public void accept(MockEmployeeChange change) {
+        if (!closed && !queue.offer(change)) {
+            log.warn("Change stream client fell {} changes behind; disconnecting it", queue.size());
+            close();
+        }
+    }
+
+    /**
+     * Sends the changes missed while the client was away, then every change handed to {@link #accept} until the
+     * client goes away.
+     */
+    void send(MockEmployeeChanges missed, Runnable unsubscribe) {
+        try {
+            if (missed.resync()) {
+                sent = missed.latest();
+                emitter.send(SseEmitter.event()
+                        .id(Long.toString(sent))
+                        .name("resync")
+                        .data(sent));
+            } else {
+                send(missed.changes());
+                sent = missed.next();
+            }
+            while (!closed) {
+                MockEmployeeChange change = queue.poll(heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+                if (closed) {
+                    break;
+                }
+                if (change == null) {
+                    emitter.send(SseEmitter.event().name("heartbeat").data(sent));
+                } else {
+                    send(List.of(change));
+                }
+            }
+            emitter.complete();
+        } catch (IOException | IllegalStateException ex) {
+            // the client went away, or the emitter already completed
+            log.debug("Change stream client disconnected: {}", ex.toString());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            emitter.complete();
+        } finally {
+            close();
+            unsubscribe.run();
+        }
+    }
+
+    private void send(List<MockEmployeeChange> changes) throws IOException {
+        for (MockEmployeeChange change : changes) {
+            emitter.send(SseEmitter.event()
+                    .id(Long.toString(change.sequence()))
+                    .name("change")
+                    .data(change, MediaType.APPLICATION_JSON));
+            sent = change.sequence();
+        }
+    }
+
+    private void close() {
+        closed = true;
+    }
+}
@@ -1,34 +1,168 @@
 package com.reliaquest.server.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
 import com.reliaquest.server.model.Response;
 import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.store.MockEmployeeChanges;
+import com.reliaquest.server.store.MockEmployeePage;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/employee")
 @RequiredArgsConstructor
 public class MockEmployeeController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    public static final String CHANGE_SEQUENCE_HEADER = "X-Change-Sequence";
+
+    static final int MAX_PAGE_SIZE = 1000;
+
     private final MockEmployeeService mockEmployeeService;
 
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    @Value("${mock.employees.streaming:true}")
+    private boolean streaming;
+
+    @Value("${mock.employees.changes.heartbeat:2s}")
+    private Duration heartbeat;
+
+    @Value("${mock.employees.changes.stream-buffer:1000}")
+    private int streamBuffer;
+
+    @Value("${mock.employees.changes.stream-timeout:30m}")
+    private Duration streamTimeout;
+
+    /*
+     * By default the envelope is written row by row straight from the store to the response, without copying the
+     * roster, so neither allocation nor peak memory per request grows with it. The body is the same as
+     * Response.handledWith(employees), except that creates and deletes landing while it is written may or may not be
+     * in it. The X-Change-Sequence header is the latest change log sequence number, read before the list, so a client
+     * can follow the change log from there without asking for it separately; replaying a change the list already
+     * reflects is harmless. The body is declared as StreamingResponseBody in both modes, since Spring MVC only
+     * streams a ResponseEntity whose declared body type says so.
+     */
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public ResponseEntity<StreamingResponseBody> getEmployees() {
+        long latest = mockEmployeeService.getLatestChange();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(CHANGE_SEQUENCE_HEADER, Long.toString(latest))
+                .contentType(MediaType.APPLICATION_JSON);
+        if (!streaming) {
+            return response.body(json(Response.handledWith(mockEmployeeService.getMockEmployees())));
+        }
+        return response.body(out -> writeEmployees(out, mockEmployeeService.iterateMockEmployees()));
+    }
+
+    /*
+     * Keyset page in insertion order, selected by passing limit. The cursor for the next page is returned in the
+     * X-Next-Cursor header, which is absent on the last page. Declared as streaming for the same reason as the full
+     * list, so rejections are written through json() too.
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<StreamingResponseBody> getEmployeesPage(
+            @RequestParam("limit") int limit, @RequestParam(value = "cursor", required = false) String cursor) {
+        long after = parseCursor(cursor);
+        if (after < 0) {
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(json(Response.error("Invalid cursor: " + cursor)));
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(json(Response.error("limit must be between 1 and " + MAX_PAGE_SIZE)));
+        }
+
+        MockEmployeePage page = mockEmployeeService.getMockEmployees(after, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, Long.toString(page.nextCursor()));
+        }
+        if (!streaming) {
+            return response.body(json(Response.handledWith(page.employees())));
+        }
+        return response.body(out -> writeEmployees(out, page.employees().iterator()));
+    }
+
+    /*
+     * Creates and deletes after sequence number since, oldest first and at most limit of them, so a client keeping a
+     * copy of the list transfers only what changed; pass next as since to continue. Without since only the latest
+     * sequence number is returned, which the full list also carries in X-Change-Sequence. A client that has fallen
+     * behind the retained changes, or holds a sequence number from before a restart, gets resync=true and has to
+     * download the full list again.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<Response<MockEmployeeChanges>> getChanges(
+            @RequestParam(value = "since", required = false) Long since,
+            @RequestParam(value = "limit", defaultValue = "1000") int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().body(Response.error("limit must be between 1 and " + MAX_PAGE_SIZE));
+        }
+        if (since == null) {
+            long latest = mockEmployeeService.getLatestChange();
+            return ResponseEntity.ok(Response.handledWith(new MockEmployeeChanges(List.of(), latest, latest, false)));
+        }
+        return ResponseEntity.ok(Response.handledWith(mockEmployeeService.getChanges(since, limit)));
+    }
+
+    /*
+     * Server-Sent Events push of the same changes, so any number of clients learn about writes as they happen without
+     * polling. Resumes after Last-Event-ID on a reconnect, else after since, else from now. See
+     * ChangeStreamSubscription for the events sent. The stream ends after mock.employees.changes.stream-timeout, and
+     * clients are expected to reconnect.
+     */
+    @GetMapping(path = "/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestParam(value = "since", required = false) Long since,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        long after = parseCursor(lastEventId);
+        if (lastEventId == null || lastEventId.isBlank() || after < 0) {
+            after = since != null ? since : mockEmployeeService.getLatestChange();
+        }
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        ChangeStreamSubscription subscription = new ChangeStreamSubscription(emitter, streamBuffer, heartbeat);
+        MockEmployeeChanges missed = mockEmployeeService.subscribe(after, subscription);
+        Thread.ofVirtual()
+                .name("change-stream")
+                .start(() -> subscription.send(missed, () -> mockEmployeeService.unsubscribe(subscription)));
+        return emitter;
     }
 
     @GetMapping("/{id}")
@@ -39,6 +173,17 @@ public class MockEmployeeController {
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled()));
     }
 
+    /*
+     * Bulk lookup, so a client can resolve many ids in one request. Unknown ids are left out of the result.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<Response<List<MockEmployee>>> getEmployees(@RequestBody List<String> ids) {
+        if (ids == null || ids.isEmpty() || ids.size() > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().body(Response.error("ids must contain between 1 and " + MAX_PAGE_SIZE));
+        }
+        return ResponseEntity.ok(Response.handledWith(mockEmployeeService.findByIds(ids)));
+    }
+
     @PostMapping()
     public Response<MockEmployee> createEmployee(@Valid @RequestBody CreateMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.create(input));
@@ -48,4 +193,145 @@ public class MockEmployeeController {
     public Response<Boolean> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.delete(input));
     }
+
+    /*
+     * Removes exactly the employee with this id, without the name scan and duplicate-name ambiguity of the
+     * delete-by-name above.
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Response<Boolean>> deleteEmployeeById(@PathVariable("id") UUID uuid) {
+        return mockEmployeeService.deleteById(uuid)
+                ? ResponseEntity.ok(Response.handledWith(true))
+                : ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled());
+    }
+
+    /*
+     * Bulk create and delete. Each input is validated on its own: invalid ones get an error result at their index and
+     * the rest are applied together in one write to the store.
+     */
+    @PostMapping("/batch/create")
+    public ResponseEntity<Response<List<Response<MockEmployee>>>> createEmployees(
+            @RequestBody List<CreateMockEmployeeInput> inputs) {
+        if (inputs == null || inputs.isEmpty() || inputs.size() > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest()
+                    .body(Response.error("inputs must contain between 1 and " + MAX_PAGE_SIZE));
+        }
+        return ResponseEntity.ok(Response.handledWith(applyValid(inputs, mockEmployeeService::createAll)));
+    }
+
+    @PostMapping("/batch/delete")
+    public ResponseEntity<Response<List<Response<Boolean>>>> deleteEmployees(
+            @RequestBody List<DeleteMockEmployeeInput> inputs) {
+        if (inputs == null || inputs.isEmpty() || inputs.size() > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest()
+                    .body(Response.error("inputs must contain between 1 and " + MAX_PAGE_SIZE));
+        }
+        return ResponseEntity.ok(Response.handledWith(applyValid(inputs, mockEmployeeService::deleteAll)));
+    }
+
+    /*
+     * Bulk delete by id. Ids that aren't UUIDs get an error result at their index.
+     */
+    @PostMapping("/batch/delete-by-id")
+    public ResponseEntity<Response<List<Response<Boolean>>>> deleteEmployeesById(@RequestBody List<String> ids) {
+        if (ids == null || ids.isEmpty() || ids.size() > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().body(Response.error("ids must contain between 1 and " + MAX_PAGE_SIZE));
+        }
+        List<Response<Boolean>> results = new ArrayList<>(Collections.nCopies(ids.size(), null));
+        List<UUID> uuids = new ArrayList<>(ids.size());
+        List<Integer> uuidIndexes = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            UUID uuid = parseUuid(ids.get(i));
+            if (uuid == null) {
+                results.set(i, Response.error("id: must be a UUID"));
+            } else {
+                uuids.add(uuid);
+                uuidIndexes.add(i);
+            }
+        }
+        List<Boolean> deleted = uuids.isEmpty() ? List.of() : mockEmployeeService.deleteAllById(uuids);
+        for (int i = 0; i < deleted.size(); i++) {
+            results.set(uuidIndexes.get(i), Response.handledWith(deleted.get(i)));
+        }
+        return ResponseEntity.ok(Response.handledWith(results));
+    }
+
+    private <I, O> List<Response<O>> applyValid(List<I> inputs, Function<List<I>, List<O>> apply) {
+        List<Response<O>> results = new ArrayList<>(Collections.nCopies(inputs.size(), null));
+        List<I> valid = new ArrayList<>(inputs.size());
+        List<Integer> validIndexes = new ArrayList<>(inputs.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            I input = inputs.get(i);
+            String violations = input == null ? "input: must not be null" : violations(input);
+            if (violations != null) {
+                results.set(i, Response.error(violations));
+            } else {
+                valid.add(input);
+                validIndexes.add(i);
+            }
+        }
+        List<O> applied = valid.isEmpty() ? List.of() : apply.apply(valid);
+        for (int i = 0; i < applied.size(); i++) {
+            results.set(validIndexes.get(i), Response.handledWith(applied.get(i)));
+        }
+        return results;
+    }
+
+    private String violations(Object input) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(input);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /*
+     * Whole body in one go, for handlers that are declared as streaming but don't stream this response.
+     */
+    private StreamingResponseBody json(Object body) {
+        return out -> objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(out, body);
+    }
+
+    private void writeEmployees(OutputStream out, Iterator<MockEmployee> mockEmployees) throws IOException {
+        try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("data");
+            generator.flush();
+            while (mockEmployees.hasNext()) {
+                generator.writeObject(mockEmployees.next());
+            }
+            generator.writeEndArray();
+            generator.writeObjectField("status", Response.Status.HANDLED);
+            generator.writeEndObject();
+        }
+    }
+
+    /*
+     * Returns a negative value for a cursor that is not a position handed out by this server.
+     */
+    private static long parseCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(cursor);
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+    private static UUID parseUuid(String id) {
+        if (id == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
 }
@@ -4,11 +4,17 @@ import com.reliaquest.server.config.ServerConfiguration;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.store.MockEmployeeChange;
+import com.reliaquest.server.store.MockEmployeeChangeLog;
+import com.reliaquest.server.store.MockEmployeeChanges;
+import com.reliaquest.server.store.MockEmployeePage;
+import com.reliaquest.server.store.MockEmployeeStore;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
-import lombok.Getter;
+import java.util.function.Consumer;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,14 +28,72 @@ public class MockEmployeeService {
 
     private final Faker faker;
 
-    @Getter
-    private final List<MockEmployee> mockEmployees;
+    private final MockEmployeeStore mockEmployeeStore;
+
+    private final MockEmployeeChangeLog changeLog;
+
+    /**
+     * @return point-in-time copy of every employee, unaffected by concurrent creates and deletes
+     */
+    public List<MockEmployee> getMockEmployees() {
+        return mockEmployeeStore.snapshot();
+    }
+
+    /**
+     * @return every employee, read from the store while the caller iterates instead of copied up front; creates and
+     *     deletes made meanwhile may or may not be included
+     */
+    public Iterator<MockEmployee> iterateMockEmployees() {
+        return mockEmployeeStore.iterator();
+    }
+
+    public MockEmployeePage getMockEmployees(long after, int limit) {
+        return mockEmployeeStore.page(after, limit);
+    }
+
+    /**
+     * @return changes applied after sequence number {@code since}, or a resync marker if they are no longer retained
+     */
+    public MockEmployeeChanges getChanges(long since, int limit) {
+        return changeLog.since(since, limit);
+    }
+
+    /**
+     * @return sequence number of the latest change; read before {@link #getMockEmployees()} or
+     *     {@link #iterateMockEmployees()}, every change after it is either already in the list or yet to come
+     */
+    public long getLatestChange() {
+        return changeLog.latest();
+    }
+
+    /**
+     * @return changes after {@code since} that {@code subscriber} won't be handed, or a resync marker
+     */
+    public MockEmployeeChanges subscribe(long since, @NonNull Consumer<MockEmployeeChange> subscriber) {
+        return changeLog.subscribe(since, subscriber);
+    }
+
+    public void unsubscribe(@NonNull Consumer<MockEmployeeChange> subscriber) {
+        changeLog.unsubscribe(subscriber);
+    }
 
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+        return mockEmployeeStore.findById(uuid);
+    }
+
+    /**
+     * @return employees found for {@code ids}, in request order; unknown ids and ids that aren't UUIDs are skipped
+     */
+    public List<MockEmployee> findByIds(@NonNull List<String> ids) {
+        final var mockEmployees = new ArrayList<MockEmployee>(ids.size());
+        for (String id : ids) {
+            try {
+                mockEmployeeStore.findById(UUID.fromString(id)).ifPresent(mockEmployees::add);
+            } catch (IllegalArgumentException | NullPointerException ex) {
+                log.debug("Skipped malformed employee id: {}", id);
+            }
+        }
+        return mockEmployees;
     }
 
     public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
@@ -37,22 +101,86 @@ public class MockEmployeeService {
                 ServerConfiguration.EMAIL_TEMPLATE.formatted(
                         faker.twitter().userName().toLowerCase()),
                 input);
-        mockEmployees.add(mockEmployee);
+        changeLog.write(() -> {
+            mockEmployeeStore.add(mockEmployee);
+            changeLog.created(mockEmployee);
+            return mockEmployee;
+        });
         log.debug("Added employee: {}", mockEmployee);
         return mockEmployee;
     }
 
+    /**
+     * Creates every employee with a single write to the store.
+     */
+    public List<MockEmployee> createAll(@NonNull List<CreateMockEmployeeInput> inputs) {
+        final var mockEmployees = inputs.stream()
+                .map(input -> MockEmployee.from(
+                        ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                                faker.twitter().userName().toLowerCase()),
+                        input))
+                .toList();
+        changeLog.write(() -> {
+            mockEmployeeStore.addAll(mockEmployees);
+            mockEmployees.forEach(changeLog::created);
+            return mockEmployees;
+        });
+        log.debug("Added {} employees", mockEmployees.size());
+        return mockEmployees;
+    }
+
     public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().equalsIgnoreCase(input.getName()))
-                .findFirst();
-        if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
-            log.debug("Removed employee: {}", mockEmployee.get());
-            return true;
-        }
+        final var mockEmployee = changeLog.write(() -> recordDeleted(mockEmployeeStore.removeByName(input.getName())));
+        mockEmployee.ifPresent(removed -> log.debug("Removed employee: {}", removed));
+        return mockEmployee.isPresent();
+    }
+
+    /**
+     * @return whether an employee with this id was removed
+     */
+    public boolean deleteById(@NonNull UUID uuid) {
+        final var mockEmployee = changeLog.write(() -> recordDeleted(mockEmployeeStore.removeById(uuid)));
+        mockEmployee.ifPresent(removed -> log.debug("Removed employee: {}", removed));
+        return mockEmployee.isPresent();
+    }
+
+    /**
+     * Removes every listed employee with a single write to the store.
+     *
+     * @return whether an employee was removed, for each id
+     */
+    public List<Boolean> deleteAllById(@NonNull List<UUID> uuids) {
+        return changeLog.write(() -> recordAllDeleted(mockEmployeeStore.removeAllById(uuids))).stream()
+                .map(mockEmployee -> {
+                    mockEmployee.ifPresent(employee -> log.debug("Removed employee: {}", employee));
+                    return mockEmployee.isPresent();
+                })
+                .toList();
+    }
+
+    /**
+     * Removes every named employee with a single write to the store.
+     *
+     * @return whether an employee was removed, for each input
+     */
+    public List<Boolean> deleteAll(@NonNull List<DeleteMockEmployeeInput> inputs) {
+        final var removed = changeLog.write(() -> recordAllDeleted(mockEmployeeStore.removeAllByName(
+                inputs.stream().map(DeleteMockEmployeeInput::getName).toList())));
+        return removed.stream()
+                .map(mockEmployee -> {
+                    mockEmployee.ifPresent(employee -> log.debug("Removed employee: {}", employee));
+                    return mockEmployee.isPresent();
+                })
+                .toList();
+    }
+
+    private Optional<MockEmployee> recordDeleted(Optional<MockEmployee> removed) {
+        removed.ifPresent(changeLog::deleted);
+        return removed;
+    }
 
-        return false;
+    private List<Optional<MockEmployee>> recordAllDeleted(List<Optional<MockEmployee>> removed) {
+        removed.forEach(this::recordDeleted);
+        return removed;
     }
 }
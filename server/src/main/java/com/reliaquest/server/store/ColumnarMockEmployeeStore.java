@@ -0,0 +1,496 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import lombok.NonNull;
+
+/**
+ * Column-wise store for rosters of millions of rows, selected with {@code mock.employees.store=columnar}. Ids are
+ * kept as two {@code long[]} columns, salary and age as {@code int[]}, and the string fields as indexes into
+ * dictionary-encoded pools, so a row costs a few dozen bytes instead of a {@link MockEmployee} with a {@link UUID},
+ * two boxed integers and four string references. {@link MockEmployee} objects are only created for rows actually
+ * returned: {@link #iterator()} reads them a page at a time and {@link #snapshot()} one at a time, while the
+ * response is serialized.
+ *
+ * <p>Lookup by id goes through an open-addressing table of row numbers. Lookup by name scans an {@code int[]} of
+ * case-folded name codes, which keeps the store free of per-row objects. Deleted rows are marked and compacted away
+ * once they make up half the store. Strings are never dropped from the pools.
+ */
+public class ColumnarMockEmployeeStore implements MockEmployeeStore {
+
+    private static final int NULL_INT = Integer.MIN_VALUE;
+
+    private static final int MIN_CAPACITY = 1024;
+
+    private static final int ITERATOR_PAGE_SIZE = 256;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final StringPool names = new StringPool();
+    private final StringPool foldedNames = new StringPool();
+    private final StringPool titles = new StringPool();
+    private final StringPool emails = new StringPool();
+
+    // insertion position per row; rows are only appended and compaction keeps their order, so this stays sorted
+    private long[] positions = new long[MIN_CAPACITY];
+    private long[] idHigh = new long[MIN_CAPACITY];
+    private long[] idLow = new long[MIN_CAPACITY];
+    private int[] salaries = new int[MIN_CAPACITY];
+    private int[] ages = new int[MIN_CAPACITY];
+    private int[] nameCodes = new int[MIN_CAPACITY];
+    private int[] foldedNameCodes = new int[MIN_CAPACITY];
+    private int[] titleCodes = new int[MIN_CAPACITY];
+    private int[] emailCodes = new int[MIN_CAPACITY];
+
+    private BitSet removed = new BitSet();
+
+    // row + 1 per occupied slot, 0 for empty; length is a power of two at least twice the row count
+    private int[] idTable = new int[MIN_CAPACITY * 2];
+
+    private int idTableEntries;
+
+    private int rows;
+
+    private int removedRows;
+
+    private long lastPosition;
+
+    private volatile ColumnView snapshot;
+
+    public ColumnarMockEmployeeStore(Stream<MockEmployee> mockEmployees) {
+        mockEmployees.forEachOrdered(this::add);
+    }
+
+    @Override
+    public List<MockEmployee> snapshot() {
+        ColumnView current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        lock.readLock().lock();
+        try {
+            if (snapshot == null) {
+                int[] liveRows = new int[rows - removedRows];
+                for (int row = 0, live = 0; row < rows; row++) {
+                    if (!removed.get(row)) {
+                        liveRows[live++] = row;
+                    }
+                }
+                // writers are excluded while the read lock is held, so this can't overwrite a newer invalidation
+                snapshot = new ColumnView(this, liveRows);
+            }
+            return snapshot;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Iterator<MockEmployee> iterator() {
+        return new MockEmployeePageIterator(this, ITERATOR_PAGE_SIZE);
+    }
+
+    @Override
+    public MockEmployeePage page(long after, int limit) {
+        lock.readLock().lock();
+        try {
+            int row = Arrays.binarySearch(positions, 0, rows, after);
+            row = row >= 0 ? row + 1 : -row - 1;
+            List<MockEmployee> employees = new ArrayList<>(limit);
+            long last = after;
+            for (; row < rows; row++) {
+                if (removed.get(row)) {
+                    continue;
+                }
+                if (employees.size() == limit) {
+                    return new MockEmployeePage(employees, last);
+                }
+                employees.add(materialize(row));
+                last = positions[row];
+            }
+            return new MockEmployeePage(employees, null);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<MockEmployee> findById(@NonNull UUID id) {
+        lock.readLock().lock();
+        try {
+            int row = rowOf(id);
+            return row < 0 ? Optional.empty() : Optional.of(materialize(row));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<MockEmployee> findByName(@NonNull String name) {
+        lock.readLock().lock();
+        try {
+            int row = firstRowNamed(name);
+            return row < 0 ? Optional.empty() : Optional.of(materialize(row));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void add(@NonNull MockEmployee mockEmployee) {
+        lock.writeLock().lock();
+        try {
+            append(mockEmployee);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void addAll(@NonNull List<MockEmployee> mockEmployees) {
+        lock.writeLock().lock();
+        try {
+            mockEmployees.forEach(this::append);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<MockEmployee> removeByName(@NonNull String name) {
+        lock.writeLock().lock();
+        try {
+            Optional<MockEmployee> removedEmployee = removeRow(firstRowNamed(name));
+            compactIfSparse();
+            return removedEmployee;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Resolves every name to its pool code first, then matches rows to names in a single scan of the name column.
+     */
+    @Override
+    public List<Optional<MockEmployee>> removeAllByName(@NonNull List<String> names) {
+        lock.writeLock().lock();
+        try {
+            List<Optional<MockEmployee>> removedEmployees =
+                    new ArrayList<>(Collections.nCopies(names.size(), Optional.empty()));
+            // indexes into names still waiting for a row, per folded name code, in request order
+            Map<Integer, ArrayDeque<Integer>> waiting = new HashMap<>();
+            for (int i = 0; i < names.size(); i++) {
+                int code = foldedNames.indexOf(fold(names.get(i)));
+                if (code != StringPool.NULL) {
+                    waiting.computeIfAbsent(code, key -> new ArrayDeque<>()).add(i);
+                }
+            }
+            for (int row = 0; row < rows && !waiting.isEmpty(); row++) {
+                ArrayDeque<Integer> sameName = waiting.get(foldedNameCodes[row]);
+                if (sameName == null || removed.get(row)) {
+                    continue;
+                }
+                removedEmployees.set(sameName.poll(), removeRow(row));
+                if (sameName.isEmpty()) {
+                    waiting.remove(foldedNameCodes[row]);
+                }
+            }
+            compactIfSparse();
+            return removedEmployees;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<MockEmployee> removeById(@NonNull UUID id) {
+        lock.writeLock().lock();
+        try {
+            Optional<MockEmployee> removedEmployee = removeRow(rowOf(id));
+            compactIfSparse();
+            return removedEmployee;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Optional<MockEmployee>> removeAllById(@NonNull List<UUID> ids) {
+        lock.writeLock().lock();
+        try {
+            List<Optional<MockEmployee>> removedEmployees = new ArrayList<>(ids.size());
+            for (UUID id : ids) {
+                removedEmployees.add(removeRow(rowOf(id)));
+            }
+            compactIfSparse();
+            return removedEmployees;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rows - removedRows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void append(MockEmployee mockEmployee) {
+        int previous = rowOf(mockEmployee.getId());
+        if (previous >= 0) {
+            markRemoved(previous);
+        }
+        if (rows == idHigh.length) {
+            grow();
+        }
+        int row = rows++;
+        positions[row] = ++lastPosition;
+        idHigh[row] = mockEmployee.getId().getMostSignificantBits();
+        idLow[row] = mockEmployee.getId().getLeastSignificantBits();
+        salaries[row] = mockEmployee.getSalary() == null ? NULL_INT : mockEmployee.getSalary();
+        ages[row] = mockEmployee.getAge() == null ? NULL_INT : mockEmployee.getAge();
+        nameCodes[row] = names.intern(mockEmployee.getName());
+        foldedNameCodes[row] =
+                mockEmployee.getName() == null ? StringPool.NULL : foldedNames.intern(fold(mockEmployee.getName()));
+        titleCodes[row] = titles.intern(mockEmployee.getTitle());
+        emailCodes[row] = emails.intern(mockEmployee.getEmail());
+        index(row);
+        snapshot = null;
+    }
+
+    private int rowOf(UUID id) {
+        long high = id.getMostSignificantBits();
+        long low = id.getLeastSignificantBits();
+        int mask = idTable.length - 1;
+        for (int slot = slot(high, low, mask); idTable[slot] != 0; slot = (slot + 1) & mask) {
+            int row = idTable[slot] - 1;
+            if (idHigh[row] == high && idLow[row] == low && !removed.get(row)) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    private int firstRowNamed(String name) {
+        int code = foldedNames.indexOf(fold(name));
+        if (code == StringPool.NULL) {
+            return -1;
+        }
+        for (int row = 0; row < rows; row++) {
+            if (foldedNameCodes[row] == code && !removed.get(row)) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    private void markRemoved(int row) {
+        removed.set(row);
+        removedRows++;
+        snapshot = null;
+    }
+
+    private Optional<MockEmployee> removeRow(int row) {
+        if (row < 0) {
+            return Optional.empty();
+        }
+        MockEmployee mockEmployee = materialize(row);
+        markRemoved(row);
+        return Optional.of(mockEmployee);
+    }
+
+    private void compactIfSparse() {
+        if (removedRows >= MIN_CAPACITY && removedRows * 2 > rows) {
+            compact();
+        }
+    }
+
+    private MockEmployee materialize(int row) {
+        return new ColumnView(this, null).materialize(row);
+    }
+
+    /**
+     * Slots of removed rows stay occupied until the next rebuild, so the load check counts them too.
+     */
+    private void index(int row) {
+        if ((idTableEntries + 1) * 2 > idTable.length) {
+            rebuildIdTable();
+            return;
+        }
+        int mask = idTable.length - 1;
+        int slot = slot(idHigh[row], idLow[row], mask);
+        while (idTable[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        idTable[slot] = row + 1;
+        idTableEntries++;
+    }
+
+    /**
+     * Rebuilds the table from live rows only, which also clears out slots left behind by removed rows.
+     */
+    private void rebuildIdTable() {
+        int live = rows - removedRows;
+        int length = Math.max(MIN_CAPACITY * 2, Integer.highestOneBit(Math.max(live, 1)) * 4);
+        idTable = new int[length];
+        idTableEntries = live;
+        int mask = length - 1;
+        for (int row = 0; row < rows; row++) {
+            if (removed.get(row)) {
+                continue;
+            }
+            int slot = slot(idHigh[row], idLow[row], mask);
+            while (idTable[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            idTable[slot] = row + 1;
+        }
+    }
+
+    /**
+     * Columns are always replaced rather than resized in place, so a snapshot taken earlier keeps reading the
+     * arrays it was built on.
+     */
+    private void grow() {
+        int capacity = idHigh.length * 2;
+        positions = Arrays.copyOf(positions, capacity);
+        idHigh = Arrays.copyOf(idHigh, capacity);
+        idLow = Arrays.copyOf(idLow, capacity);
+        salaries = Arrays.copyOf(salaries, capacity);
+        ages = Arrays.copyOf(ages, capacity);
+        nameCodes = Arrays.copyOf(nameCodes, capacity);
+        foldedNameCodes = Arrays.copyOf(foldedNameCodes, capacity);
+        titleCodes = Arrays.copyOf(titleCodes, capacity);
+        emailCodes = Arrays.copyOf(emailCodes, capacity);
+    }
+
+    private void compact() {
+        int live = rows - removedRows;
+        int capacity = Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(live, 1)) * 2);
+        long[] nextPositions = new long[capacity];
+        long[] nextIdHigh = new long[capacity];
+        long[] nextIdLow = new long[capacity];
+        int[] nextSalaries = new int[capacity];
+        int[] nextAges = new int[capacity];
+        int[] nextNameCodes = new int[capacity];
+        int[] nextFoldedNameCodes = new int[capacity];
+        int[] nextTitleCodes = new int[capacity];
+        int[] nextEmailCodes = new int[capacity];
+        int next = 0;
+        for (int row = 0; row < rows; row++) {
+            if (removed.get(row)) {
+                continue;
+            }
+            nextPositions[next] = positions[row];
+            nextIdHigh[next] = idHigh[row];
+            nextIdLow[next] = idLow[row];
+            nextSalaries[next] = salaries[row];
+            nextAges[next] = ages[row];
+            nextNameCodes[next] = nameCodes[row];
+            nextFoldedNameCodes[next] = foldedNameCodes[row];
+            nextTitleCodes[next] = titleCodes[row];
+            nextEmailCodes[next] = emailCodes[row];
+            next++;
+        }
+        positions = nextPositions;
+        idHigh = nextIdHigh;
+        idLow = nextIdLow;
+        salaries = nextSalaries;
+        ages = nextAges;
+        nameCodes = nextNameCodes;
+        foldedNameCodes = nextFoldedNameCodes;
+        titleCodes = nextTitleCodes;
+        emailCodes = nextEmailCodes;
+        removed = new BitSet();
+        rows = live;
+        removedRows = 0;
+        rebuildIdTable();
+    }
+
+    private static int slot(long high, long low, int mask) {
+        int hash = Long.hashCode(high ^ low);
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private static String fold(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Read-only list over the columns as they were when it was created. Elements are built on each {@link #get},
+     * so iterating it for serialization holds only one {@link MockEmployee} at a time.
+     */
+    private static final class ColumnView extends AbstractList<MockEmployee> implements RandomAccess {
+
+        private final long[] idHigh;
+        private final long[] idLow;
+        private final int[] salaries;
+        private final int[] ages;
+        private final int[] nameCodes;
+        private final int[] titleCodes;
+        private final int[] emailCodes;
+        private final String[] names;
+        private final String[] titles;
+        private final String[] emails;
+        private final int[] liveRows;
+
+        private ColumnView(ColumnarMockEmployeeStore store, int[] liveRows) {
+            this.idHigh = store.idHigh;
+            this.idLow = store.idLow;
+            this.salaries = store.salaries;
+            this.ages = store.ages;
+            this.nameCodes = store.nameCodes;
+            this.titleCodes = store.titleCodes;
+            this.emailCodes = store.emailCodes;
+            this.names = store.names.values();
+            this.titles = store.titles.values();
+            this.emails = store.emails.values();
+            this.liveRows = liveRows;
+        }
+
+        @Override
+        public MockEmployee get(int index) {
+            return materialize(liveRows[index]);
+        }
+
+        @Override
+        public int size() {
+            return liveRows.length;
+        }
+
+        private MockEmployee materialize(int row) {
+            return MockEmployee.builder()
+                    .id(new UUID(idHigh[row], idLow[row]))
+                    .name(string(names, nameCodes[row]))
+                    .salary(salaries[row] == NULL_INT ? null : salaries[row])
+                    .age(ages[row] == NULL_INT ? null : ages[row])
+                    .title(string(titles, titleCodes[row]))
+                    .email(string(emails, emailCodes[row]))
+                    .build();
+        }
+
+        private static String string(String[] pool, int code) {
+            return code == StringPool.NULL ? null : pool[code];
+        }
+    }
+}
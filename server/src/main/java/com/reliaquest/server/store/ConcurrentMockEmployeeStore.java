@@ -0,0 +1,175 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+import lombok.NonNull;
+
+/**
+ * Default store, selected with {@code mock.employees.store=concurrent}. Indexed by id, by case-folded name and by
+ * insertion position. Lookups and pages read the concurrent indexes without locking; writes are serialized so the
+ * indexes always agree. {@link #iterator()} walks the position index directly, and {@link #snapshot()} is rebuilt
+ * lazily after a write, so neither copies the roster on every call.
+ */
+public class ConcurrentMockEmployeeStore implements MockEmployeeStore {
+
+    private final Map<UUID, MockEmployee> byId = new ConcurrentHashMap<>();
+
+    // employees sharing a case-folded name, oldest first; each list is immutable and replaced on change
+    private final Map<String, List<MockEmployee>> byName = new ConcurrentHashMap<>();
+
+    private final ConcurrentNavigableMap<Long, MockEmployee> byPosition = new ConcurrentSkipListMap<>();
+
+    // guarded by this
+    private final Map<UUID, Long> positions = new HashMap<>();
+
+    // guarded by this
+    private long lastPosition;
+
+    private volatile List<MockEmployee> snapshot = List.of();
+
+    public ConcurrentMockEmployeeStore(Stream<MockEmployee> mockEmployees) {
+        mockEmployees.forEachOrdered(this::add);
+    }
+
+    @Override
+    public List<MockEmployee> snapshot() {
+        List<MockEmployee> current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot == null) {
+                snapshot = List.copyOf(byPosition.values());
+            }
+            return snapshot;
+        }
+    }
+
+    @Override
+    public Iterator<MockEmployee> iterator() {
+        return Collections.unmodifiableCollection(byPosition.values()).iterator();
+    }
+
+    @Override
+    public MockEmployeePage page(long after, int limit) {
+        List<MockEmployee> employees = new ArrayList<>(limit);
+        long last = after;
+        for (Map.Entry<Long, MockEmployee> entry : byPosition.tailMap(after, false).entrySet()) {
+            if (employees.size() == limit) {
+                return new MockEmployeePage(employees, last);
+            }
+            employees.add(entry.getValue());
+            last = entry.getKey();
+        }
+        return new MockEmployeePage(employees, null);
+    }
+
+    @Override
+    public Optional<MockEmployee> findById(@NonNull UUID id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    @Override
+    public Optional<MockEmployee> findByName(@NonNull String name) {
+        List<MockEmployee> sameName = byName.get(nameKey(name));
+        return sameName == null ? Optional.empty() : Optional.of(sameName.get(0));
+    }
+
+    @Override
+    public synchronized void add(@NonNull MockEmployee mockEmployee) {
+        MockEmployee previous = byId.put(mockEmployee.getId(), mockEmployee);
+        if (previous != null) {
+            byPosition.remove(positions.get(previous.getId()));
+            unindexName(previous);
+        }
+        positions.put(mockEmployee.getId(), ++lastPosition);
+        byPosition.put(lastPosition, mockEmployee);
+        if (mockEmployee.getName() != null) {
+            byName.merge(nameKey(mockEmployee.getName()), List.of(mockEmployee), (existing, added) -> {
+                List<MockEmployee> merged = new ArrayList<>(existing);
+                merged.addAll(added);
+                return List.copyOf(merged);
+            });
+        }
+        snapshot = null;
+    }
+
+    @Override
+    public synchronized void addAll(@NonNull List<MockEmployee> mockEmployees) {
+        mockEmployees.forEach(this::add);
+    }
+
+    @Override
+    public synchronized Optional<MockEmployee> removeByName(@NonNull String name) {
+        Optional<MockEmployee> mockEmployee = findByName(name);
+        mockEmployee.ifPresent(removed -> {
+            byPosition.remove(positions.remove(removed.getId()));
+            byId.remove(removed.getId());
+            unindexName(removed);
+            snapshot = null;
+        });
+        return mockEmployee;
+    }
+
+    @Override
+    public synchronized List<Optional<MockEmployee>> removeAllByName(@NonNull List<String> names) {
+        List<Optional<MockEmployee>> removed = new ArrayList<>(names.size());
+        for (String name : names) {
+            removed.add(removeByName(name));
+        }
+        return removed;
+    }
+
+    @Override
+    public synchronized Optional<MockEmployee> removeById(@NonNull UUID id) {
+        MockEmployee removed = byId.remove(id);
+        if (removed == null) {
+            return Optional.empty();
+        }
+        byPosition.remove(positions.remove(id));
+        unindexName(removed);
+        snapshot = null;
+        return Optional.of(removed);
+    }
+
+    @Override
+    public synchronized List<Optional<MockEmployee>> removeAllById(@NonNull List<UUID> ids) {
+        List<Optional<MockEmployee>> removed = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            removed.add(removeById(id));
+        }
+        return removed;
+    }
+
+    @Override
+    public int size() {
+        return byId.size();
+    }
+
+    private void unindexName(MockEmployee mockEmployee) {
+        if (mockEmployee.getName() == null) {
+            return;
+        }
+        byName.computeIfPresent(nameKey(mockEmployee.getName()), (key, sameName) -> {
+            List<MockEmployee> remaining = new ArrayList<>(sameName);
+            remaining.remove(mockEmployee);
+            return remaining.isEmpty() ? null : List.copyOf(remaining);
+        });
+    }
+
+    static String nameKey(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
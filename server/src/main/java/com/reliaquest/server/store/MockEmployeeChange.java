@@ -0,0 +1,19 @@
+package com.reliaquest.server.store;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.UUID;
+
+/**
+ * One create or delete recorded in the {@link MockEmployeeChangeLog}.
+ *
+ * @param employee the created employee; {@code null} for a delete
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MockEmployeeChange(long sequence, Type type, UUID id, MockEmployee employee) {
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
@@ -0,0 +1,102 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import lombok.NonNull;
+
+/**
+ * Numbers every create and delete applied to the {@link MockEmployeeStore} and keeps the latest {@code retained} of
+ * them, so a client holding a copy of the roster can catch up with the changes since it last looked instead of
+ * downloading the full list. Sequence numbers start at 1 and have no gaps. Writes and their changes are recorded
+ * together inside {@link #write}, so the log lists them in the order they were applied to the store. Subscribers are
+ * handed every change as it is recorded.
+ */
+public class MockEmployeeChangeLog {
+
+    private final MockEmployeeChange[] ring;
+
+    // guarded by this
+    private long latest;
+
+    // called with this held, so they must not block; guarded by this
+    private final List<Consumer<MockEmployeeChange>> subscribers = new ArrayList<>();
+
+    public MockEmployeeChangeLog(int retained) {
+        if (retained < 1) {
+            throw new IllegalArgumentException("mock.employees.changes.retained must be at least 1");
+        }
+        this.ring = new MockEmployeeChange[retained];
+    }
+
+    /**
+     * Runs {@code write} against the store with other writes held off, so the changes it records get sequence numbers
+     * in the order the writes were applied.
+     */
+    public synchronized <T> T write(@NonNull Supplier<T> write) {
+        return write.get();
+    }
+
+    public synchronized void created(@NonNull MockEmployee mockEmployee) {
+        append(MockEmployeeChange.Type.CREATED, mockEmployee, mockEmployee);
+    }
+
+    public synchronized void deleted(@NonNull MockEmployee mockEmployee) {
+        append(MockEmployeeChange.Type.DELETED, mockEmployee, null);
+    }
+
+    public synchronized long latest() {
+        return latest;
+    }
+
+    /**
+     * Only the requested changes are read, however many are retained.
+     *
+     * @param since sequence number of the last change the client has seen, {@code 0} for none
+     * @return at most {@code limit} changes after {@code since}, or a resync marker if changes after it have been
+     *     dropped or {@code since} is ahead of this log, as after a restart of the server
+     */
+    public synchronized MockEmployeeChanges since(long since, int limit) {
+        long oldest = latest - Math.min(latest, ring.length);
+        if (since < oldest || since > latest) {
+            return new MockEmployeeChanges(List.of(), latest, latest, true);
+        }
+        long next = Math.min(latest, since + limit);
+        List<MockEmployeeChange> changes = new ArrayList<>((int) (next - since));
+        for (long sequence = since + 1; sequence <= next; sequence++) {
+            changes.add(ring[slot(sequence)]);
+        }
+        return new MockEmployeeChanges(changes, next, latest, false);
+    }
+
+    /**
+     * Registers {@code subscriber} for every change recorded from now on, in order and without gaps after the ones
+     * returned. It is called while writes are held off, so it should only hand the change over, not deliver it.
+     *
+     * @return every retained change after {@code since}, or a resync marker, as {@link #since} would
+     */
+    public synchronized MockEmployeeChanges subscribe(long since, @NonNull Consumer<MockEmployeeChange> subscriber) {
+        MockEmployeeChanges missed = since(since, ring.length);
+        subscribers.add(subscriber);
+        return missed;
+    }
+
+    public synchronized void unsubscribe(@NonNull Consumer<MockEmployeeChange> subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    private void append(MockEmployeeChange.Type type, MockEmployee mockEmployee, MockEmployee recorded) {
+        latest++;
+        MockEmployeeChange change = new MockEmployeeChange(latest, type, mockEmployee.getId(), recorded);
+        ring[slot(latest)] = change;
+        for (Consumer<MockEmployeeChange> subscriber : subscribers) {
+            subscriber.accept(change);
+        }
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % ring.length);
+    }
+}
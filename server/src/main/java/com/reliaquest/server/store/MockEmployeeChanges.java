@@ -0,0 +1,12 @@
+package com.reliaquest.server.store;
+
+import java.util.List;
+
+/**
+ * @param changes changes after the requested sequence number, oldest first
+ * @param next sequence number to ask for changes after next time
+ * @param latest sequence number of the latest change; more changes are waiting while {@code next} is behind it
+ * @param resync whether the requested sequence number is no longer retained, in which case {@code changes} is empty
+ *     and the full list has to be downloaded again
+ */
+public record MockEmployeeChanges(List<MockEmployeeChange> changes, long next, long latest, boolean resync) {}
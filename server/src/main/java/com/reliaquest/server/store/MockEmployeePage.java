@@ -0,0 +1,10 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+
+/**
+ * @param nextCursor position to pass to {@link MockEmployeeStore#page} for the following page, or {@code null} if
+ *     this is the last one
+ */
+public record MockEmployeePage(List<MockEmployee> employees, Long nextCursor) {}
@@ -0,0 +1,55 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Walks a store through {@link MockEmployeeStore#page}, reading the next page only once the current one is used up,
+ * so at most one page is held at a time and the store's lock is only taken for the length of a page.
+ */
+class MockEmployeePageIterator implements Iterator<MockEmployee> {
+
+    private final MockEmployeeStore store;
+
+    private final int pageSize;
+
+    private List<MockEmployee> page = List.of();
+
+    private int index;
+
+    private long after;
+
+    private boolean lastPage;
+
+    MockEmployeePageIterator(MockEmployeeStore store, int pageSize) {
+        this.store = store;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (index == page.size()) {
+            if (lastPage) {
+                return false;
+            }
+            MockEmployeePage next = store.page(after, pageSize);
+            page = next.employees();
+            index = 0;
+            lastPage = next.nextCursor() == null;
+            if (!lastPage) {
+                after = next.nextCursor();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public MockEmployee next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return page.get(index++);
+    }
+}
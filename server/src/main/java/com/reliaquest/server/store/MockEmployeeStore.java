@@ -0,0 +1,78 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.NonNull;
+
+/**
+ * Holds the mock employees served by {@link com.reliaquest.server.service.MockEmployeeService}. Implementations
+ * are safe to read and write from any number of request threads at once.
+ */
+public interface MockEmployeeStore {
+
+    /**
+     * @return every employee in insertion order, as of a single point in time; later writes don't affect it
+     */
+    List<MockEmployee> snapshot();
+
+    /**
+     * Walks every employee in insertion order without copying the roster. Unlike {@link #snapshot()} it reads the
+     * store as it goes: nothing is seen twice, but employees added or removed during the walk may or may not be.
+     */
+    Iterator<MockEmployee> iterator();
+
+    /**
+     * Keyset page in insertion order. Every employee gets an increasing position when added, so paging stays
+     * stable while others are added or removed: nothing is skipped or repeated, and employees added after the
+     * traversal started appear on later pages.
+     *
+     * @param after position of the last employee of the previous page, or {@code 0} for the first page
+     */
+    MockEmployeePage page(long after, int limit);
+
+    Optional<MockEmployee> findById(@NonNull UUID id);
+
+    /**
+     * @return the earliest added employee with this name, ignoring case
+     */
+    Optional<MockEmployee> findByName(@NonNull String name);
+
+    void add(@NonNull MockEmployee mockEmployee);
+
+    /**
+     * Adds every employee in one write, in list order.
+     */
+    void addAll(@NonNull List<MockEmployee> mockEmployees);
+
+    /**
+     * Removes the earliest added employee with this name, ignoring case.
+     *
+     * @return the removed employee, if there was one
+     */
+    Optional<MockEmployee> removeByName(@NonNull String name);
+
+    /**
+     * Same as calling {@link #removeByName(String)} for each name in turn, applied in one write, so a name listed
+     * twice removes the two earliest employees with it.
+     *
+     * @return the removed employee for each name, at the same index
+     */
+    List<Optional<MockEmployee>> removeAllByName(@NonNull List<String> names);
+
+    /**
+     * @return the removed employee, if there was one with this id
+     */
+    Optional<MockEmployee> removeById(@NonNull UUID id);
+
+    /**
+     * Same as calling {@link #removeById(UUID)} for each id in turn, applied in one write.
+     *
+     * @return the removed employee for each id, at the same index
+     */
+    List<Optional<MockEmployee>> removeAllById(@NonNull List<UUID> ids);
+
+    int size();
+}
@@ -0,0 +1,56 @@
+package com.reliaquest.server.store;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dictionary encoding for a string column: every distinct value is stored once and rows refer to it by index.
+ * Entries are never removed, so an index stays valid for as long as the pool lives. Not thread-safe; the owning
+ * store guards it.
+ */
+final class StringPool {
+
+    static final int NULL = -1;
+
+    private final Map<String, Integer> indexes = new HashMap<>();
+
+    private String[] values = new String[64];
+
+    private int size;
+
+    int intern(String value) {
+        if (value == null) {
+            return NULL;
+        }
+        Integer index = indexes.get(value);
+        if (index != null) {
+            return index;
+        }
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size] = value;
+        indexes.put(value, size);
+        return size++;
+    }
+
+    /**
+     * @return index of {@code value}, or {@link #NULL} if it was never interned
+     */
+    int indexOf(String value) {
+        Integer index = value == null ? null : indexes.get(value);
+        return index == null ? NULL : index;
+    }
+
+    /**
+     * Readers holding an older array still see every value that was in it, since entries are never overwritten.
+     */
+    String[] values() {
+        return values;
+    }
+
+    int size() {
+        return size;
+    }
+}
@@ -1,46 +1,68 @@
 package com.reliaquest.server.web;
 
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.random.RandomGenerator;
-import lombok.Getter;
-import org.springframework.http.HttpStatus;
 import org.springframework.web.servlet.HandlerInterceptor;
 
+/**
+ * The challenge's original limiter, kept as {@code mock.request-limit.mode=random}: after a random 5 to 9 requests,
+ * everything is rejected until a random 30 to 89 seconds have passed since the last admitted one. Limit and backoff
+ * are picked once per JVM and shared by all clients. The count and time are swapped together with compare-and-set,
+ * so concurrent requests can't slip past the limit, and rejections say when the backoff ends. Streamed responses and
+ * change streams are dispatched a second time when they complete; only the original dispatch is counted.
+ */
 public class RandomRequestLimitInterceptor implements HandlerInterceptor {
 
     private static final int REQUEST_LIMIT = RandomGenerator.getDefault().nextInt(5, 10);
     private static final Duration REQUEST_BACKOFF_DURATION =
             Duration.ofSeconds(RandomGenerator.getDefault().nextInt(30, 90));
 
+    private final int limit;
+
+    private final Duration backoff;
+
     private final AtomicReference<RequestLimit> requestLimit = new AtomicReference<>(RequestLimit.init());
 
+    public RandomRequestLimitInterceptor() {
+        this(REQUEST_LIMIT, REQUEST_BACKOFF_DURATION);
+    }
+
+    RandomRequestLimitInterceptor(int limit, Duration backoff) {
+        this.limit = limit;
+        this.backoff = backoff;
+    }
+
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
-        if (requestLimit.get().getCount() >= REQUEST_LIMIT) {
-            if (Instant.now()
-                    .minus(REQUEST_BACKOFF_DURATION)
-                    .isBefore(requestLimit.get().getLastRequested())) {
-                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-                return false;
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        while (true) {
+            RequestLimit current = requestLimit.get();
+            Instant now = Instant.now();
+            RequestLimit next;
+            if (current.count() < limit) {
+                next = new RequestLimit(current.count() + 1, now);
+            } else {
+                Instant backoffEnds = current.lastRequested().plus(backoff);
+                if (now.isBefore(backoffEnds)) {
+                    return RequestLimits.reject(response, Duration.between(now, backoffEnds).toNanos());
+                }
+                // backoff over: this request starts the next count
+                next = new RequestLimit(1, now);
             }
-            if (Instant.now()
-                    .minus(REQUEST_BACKOFF_DURATION)
-                    .isAfter(requestLimit.get().getLastRequested())) {
-                requestLimit.set(RequestLimit.init());
+            if (requestLimit.compareAndSet(current, next)) {
+                return true;
             }
-        } else {
-            requestLimit.getAndUpdate(
-                    currentRequestLimit -> new RequestLimit(currentRequestLimit.count() + 1, Instant.now()));
         }
-
-        return true;
     }
 
-    private record RequestLimit(@Getter int count, @Getter Instant lastRequested) {
+    private record RequestLimit(int count, Instant lastRequested) {
         public static RequestLimit init() {
             return new RequestLimit(0, Instant.now());
         }
@@ -0,0 +1,21 @@
+package com.reliaquest.server.web;
+
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+final class RequestLimits {
+
+    private RequestLimits() {}
+
+    /**
+     * Answers 429 with a {@code Retry-After} of the whole seconds until the client would be admitted again.
+     */
+    static boolean reject(HttpServletResponse response, long waitNanos) {
+        long seconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+        return false;
+    }
+}
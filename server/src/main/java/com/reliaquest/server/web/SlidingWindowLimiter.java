@@ -0,0 +1,120 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sliding window counter per client key. A request is admitted while the current fixed window's count, plus the
+ * previous window's count weighted by how much of it still overlaps the sliding window, stays within the limit.
+ *
+ * <p>Each key's window number and both counts are packed into one {@link AtomicLong} and advanced with
+ * compare-and-set, so concurrent requests never admit more than the limit and no lock is taken. Rejections don't
+ * write at all. The wait reported for a rejection is computed from the same counts, so it is exact rather than a
+ * guess: a request sent after it would be admitted unless others from the same key got there first.
+ */
+final class SlidingWindowLimiter {
+
+    // counts are 16-bit fields of the packed state
+    static final int MAX_LIMIT = 0xFFFF;
+
+    // keys idle for two windows are dropped, at most once per window, once this many are tracked
+    private static final int MAX_IDLE_KEYS = 10_000;
+
+    private final int limit;
+
+    private final long windowNanos;
+
+    private final long epochNanos;
+
+    private final ConcurrentHashMap<String, AtomicLong> states = new ConcurrentHashMap<>();
+
+    private final AtomicInteger lastSweep = new AtomicInteger(-1);
+
+    SlidingWindowLimiter(int limit, Duration window, long epochNanos) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT + ", was " + limit);
+        }
+        if (window.toMillis() < 1) {
+            throw new IllegalArgumentException("window must be at least 1ms, was " + window);
+        }
+        this.limit = limit;
+        this.windowNanos = window.toNanos();
+        this.epochNanos = epochNanos;
+    }
+
+    /**
+     * @return {@code 0} when the request is admitted, otherwise the nanoseconds until {@code key} would be admitted
+     */
+    long tryAcquire(String key, long nowNanos) {
+        long sinceEpoch = nowNanos - epochNanos;
+        // window numbers wrap at 32 bits; only equality with this window and the one before matters
+        int window = (int) (sinceEpoch / windowNanos);
+        long elapsed = sinceEpoch % windowNanos;
+
+        AtomicLong state = states.get(key);
+        if (state == null) {
+            sweepIdle(window);
+            state = states.computeIfAbsent(key, ignored -> new AtomicLong(pack(window, 0, 0)));
+        }
+        while (true) {
+            long packed = state.get();
+            int stateWindow = (int) (packed >>> 32);
+            int previous;
+            int current;
+            if (stateWindow == window) {
+                previous = (int) (packed >>> 16) & MAX_LIMIT;
+                current = (int) packed & MAX_LIMIT;
+            } else {
+                previous = stateWindow == window - 1 ? (int) packed & MAX_LIMIT : 0;
+                current = 0;
+            }
+            long wait = waitNanos(previous, current, elapsed);
+            if (wait > 0) {
+                return wait;
+            }
+            if (state.compareAndSet(packed, pack(window, previous, current + 1))) {
+                return 0;
+            }
+        }
+    }
+
+    int size() {
+        return states.size();
+    }
+
+    /**
+     * Time until {@code previous * (1 - t / window) + current + 1 <= limit}, where {@code t} is the time into the
+     * current window; if {@code current} alone is at the limit, that is solved again for the next window, in which
+     * {@code current} becomes the previous count.
+     */
+    private long waitNanos(int previous, int current, long elapsed) {
+        if (current < limit) {
+            double allowed = limit - current - 1;
+            if (previous * (double) (windowNanos - elapsed) <= allowed * windowNanos) {
+                return 0;
+            }
+            long admittedAt = (long) Math.ceil(windowNanos * (1 - allowed / previous));
+            return Math.max(admittedAt - elapsed, 1);
+        }
+        long admittedAt = (long) Math.ceil(windowNanos * (1 - (limit - 1) / (double) current));
+        return windowNanos - elapsed + Math.max(admittedAt, 0);
+    }
+
+    private void sweepIdle(int window) {
+        int sweptIn = lastSweep.get();
+        if (states.size() < MAX_IDLE_KEYS || sweptIn == window || !lastSweep.compareAndSet(sweptIn, window)) {
+            return;
+        }
+        // a request racing with the sweep for a dropped key can go uncounted; the key starts afresh after that
+        states.values().removeIf(state -> {
+            int stateWindow = (int) (state.get() >>> 32);
+            return stateWindow != window && stateWindow != window - 1;
+        });
+    }
+
+    private static long pack(int window, int previous, int current) {
+        return ((long) window << 32) | ((long) previous << 16) | current;
+    }
+}
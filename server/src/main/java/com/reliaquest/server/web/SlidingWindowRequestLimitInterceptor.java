@@ -0,0 +1,82 @@
+package com.reliaquest.server.web;
+
+import com.reliaquest.server.config.RequestLimitProperties;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * {@code mock.request-limit.mode=sliding-window}: every client gets its own {@link SlidingWindowLimiter} allowance
+ * on each configured route, and on everything else. Clients are told apart by {@code mock.request-limit.client-header}
+ * or, without it, by remote address. Rejections carry a {@code Retry-After} computed from the client's counts. The
+ * second dispatch of a streamed response or change stream, when it completes, is not counted.
+ */
+public class SlidingWindowRequestLimitInterceptor implements HandlerInterceptor {
+
+    private final List<RouteLimit> routes;
+
+    private final SlidingWindowLimiter defaultLimiter;
+
+    private final String clientHeader;
+
+    private final LongSupplier nanoClock;
+
+    public SlidingWindowRequestLimitInterceptor(RequestLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    SlidingWindowRequestLimitInterceptor(RequestLimitProperties properties, LongSupplier nanoClock) {
+        long epoch = nanoClock.getAsLong();
+        List<RouteLimit> routes = new ArrayList<>(properties.routes().size());
+        for (RequestLimitProperties.Route route : properties.routes()) {
+            routes.add(new RouteLimit(
+                    PathPatternParser.defaultInstance.parse(route.path()),
+                    route.method(),
+                    new SlidingWindowLimiter(
+                            route.limit() == null ? properties.limit() : route.limit(),
+                            route.window() == null ? properties.window() : route.window(),
+                            epoch)));
+        }
+        this.routes = List.copyOf(routes);
+        this.defaultLimiter = new SlidingWindowLimiter(properties.limit(), properties.window(), epoch);
+        this.clientHeader = properties.clientHeader();
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        long wait = limiterFor(request).tryAcquire(clientKey(request), nanoClock.getAsLong());
+        return wait == 0 || RequestLimits.reject(response, wait);
+    }
+
+    private SlidingWindowLimiter limiterFor(HttpServletRequest request) {
+        if (routes.isEmpty()) {
+            return defaultLimiter;
+        }
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        for (RouteLimit route : routes) {
+            if ((route.method() == null || route.method().equalsIgnoreCase(request.getMethod()))
+                    && route.pattern().matches(path)) {
+                return route.limiter();
+            }
+        }
+        return defaultLimiter;
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String client = clientHeader == null ? null : request.getHeader(clientHeader);
+        return client == null || client.isBlank() ? request.getRemoteAddr() : client;
+    }
+
+    private record RouteLimit(PathPattern pattern, String method, SlidingWindowLimiter limiter) {}
+}
@@ -0,0 +1,43 @@
+package com.reliaquest.server.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+public class MockEmployeeGeneratorTest {
+
+    // spans a partial last chunk, so parallel chunks have to come back in order
+    private static final int COUNT = 2 * MockEmployeeGenerator.CHUNK_SIZE + 100;
+
+    @Test
+    void testSameSeedGivesTheSameRoster() {
+        List<MockEmployee> first = generate(42, COUNT);
+        List<MockEmployee> second = generate(42, COUNT);
+
+        assertEquals(COUNT, first.size());
+        assertEquals(first, second);
+        assertEquals(COUNT, first.stream().map(MockEmployee::getId).collect(Collectors.toSet()).size());
+    }
+
+    @Test
+    void testSmallerRosterIsAPrefixOfALargerOne() {
+        assertEquals(generate(7, COUNT).subList(0, 10), generate(7, 10));
+    }
+
+    @Test
+    void testDifferentSeedsGiveDifferentRosters() {
+        Set<UUID> ids = generate(1, 100).stream().map(MockEmployee::getId).collect(Collectors.toSet());
+
+        assertTrue(generate(2, 100).stream().map(MockEmployee::getId).noneMatch(ids::contains));
+    }
+
+    private static List<MockEmployee> generate(long seed, int count) {
+        return new MockEmployeeGenerator(Locale.US, seed).generate(count).toList();
+    }
+}
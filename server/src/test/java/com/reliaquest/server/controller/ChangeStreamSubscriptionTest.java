@@ -0,0 +1,131 @@
+package com.reliaquest.server.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.store.MockEmployeeChange;
+import com.reliaquest.server.store.MockEmployeeChanges;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public class ChangeStreamSubscriptionTest {
+
+    @Test
+    void testSendsTheMissedChangesThenNewOnesThenHeartbeats() {
+        RecordingEmitter emitter = new RecordingEmitter(4);
+        ChangeStreamSubscription subscription = new ChangeStreamSubscription(emitter, 10, Duration.ofMillis(50));
+        AtomicBoolean unsubscribed = new AtomicBoolean();
+        subscription.accept(change(3));
+
+        subscription.send(
+                new MockEmployeeChanges(List.of(change(1), change(2)), 2, 2, false), () -> unsubscribed.set(true));
+
+        // the client went away on the fourth event
+        assertEquals(
+                List.of(
+                        new Event("change", change(1)),
+                        new Event("change", change(2)),
+                        new Event("change", change(3)),
+                        new Event("heartbeat", 3L)),
+                emitter.events);
+        assertTrue(unsubscribed.get());
+    }
+
+    @Test
+    void testResyncTellsTheClientWhereToResumeFrom() {
+        RecordingEmitter emitter = new RecordingEmitter(2);
+        ChangeStreamSubscription subscription = new ChangeStreamSubscription(emitter, 10, Duration.ofMillis(50));
+
+        subscription.send(new MockEmployeeChanges(List.of(), 7, 7, true), () -> {});
+
+        assertEquals(List.of(new Event("resync", 7L), new Event("heartbeat", 7L)), emitter.events);
+    }
+
+    @Test
+    void testSlowClientIsDisconnectedWithoutHoldingUpWrites() throws Exception {
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter emitter = new RecordingEmitter(Integer.MAX_VALUE) {
+            @Override
+            void sent() throws IOException {
+                sending.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    throw new IOException(ex);
+                }
+            }
+        };
+        ChangeStreamSubscription subscription = new ChangeStreamSubscription(emitter, 2, Duration.ofMinutes(1));
+        CountDownLatch unsubscribed = new CountDownLatch(1);
+        subscription.accept(change(1));
+        CompletableFuture<Void> sender = CompletableFuture.runAsync(
+                () -> subscription.send(new MockEmployeeChanges(List.of(), 0, 0, false), unsubscribed::countDown));
+        assertTrue(sending.await(10, TimeUnit.SECONDS));
+
+        // the client is stuck on the first change; two fit in the buffer and the third disconnects it
+        subscription.accept(change(2));
+        subscription.accept(change(3));
+        subscription.accept(change(4));
+        subscription.accept(change(5));
+        release.countDown();
+        sender.get(10, TimeUnit.SECONDS);
+
+        assertEquals(List.of(new Event("change", change(1))), emitter.events);
+        assertEquals(0, unsubscribed.getCount());
+    }
+
+    private static MockEmployeeChange change(long sequence) {
+        return new MockEmployeeChange(sequence, MockEmployeeChange.Type.DELETED, new UUID(0, sequence), null);
+    }
+
+    private record Event(String name, Object data) {}
+
+    /**
+     * Records what would be written to the client, and fails the send after {@code connected} events as if the
+     * client had gone away.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+
+        private static final Pattern EVENT = Pattern.compile("event:(\\w+)");
+
+        final List<Event> events = new CopyOnWriteArrayList<>();
+
+        private final int connected;
+
+        RecordingEmitter(int connected) {
+            this.connected = connected;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            String name = null;
+            Object data = null;
+            for (DataWithMediaType part : builder.build()) {
+                if (part.getData() instanceof String text) {
+                    Matcher matcher = EVENT.matcher(text);
+                    name = matcher.find() ? matcher.group(1) : name;
+                } else {
+                    data = part.getData();
+                }
+            }
+            events.add(new Event(name, data));
+            sent();
+            if (events.size() >= connected) {
+                throw new IOException("Broken pipe");
+            }
+        }
+
+        void sent() throws IOException {}
+    }
+}
@@ -0,0 +1,254 @@
+package com.reliaquest.server.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+public class ColumnarMockEmployeeStoreTest {
+
+    @Test
+    void testAddsFindsAndRemoves() {
+        MockEmployee first = employee(1, "Ada");
+        MockEmployee second = employee(2, "ada");
+        ColumnarMockEmployeeStore store = new ColumnarMockEmployeeStore(Stream.of(first, second));
+
+        assertEquals(2, store.size());
+        assertEquals(Optional.of(first), store.findById(first.getId()));
+        assertEquals(Optional.of(first), store.findByName("ADA"));
+
+        assertEquals(Optional.of(first), store.removeByName("ada"));
+        assertEquals(Optional.of(second), store.findByName("Ada"));
+        assertEquals(Optional.of(second), store.removeById(second.getId()));
+        assertEquals(Optional.empty(), store.removeById(second.getId()));
+        assertEquals(Optional.empty(), store.findById(first.getId()));
+        assertEquals(0, store.size());
+        assertEquals(List.of(), store.snapshot());
+    }
+
+    @Test
+    void testReaddingAfterARemoveFindsTheNewRow() {
+        ColumnarMockEmployeeStore store = new ColumnarMockEmployeeStore(Stream.empty());
+        List<MockEmployee> employees = IntStream.range(0, 3000)
+                .mapToObj(i -> employee(i, "employee" + i))
+                .toList();
+        store.addAll(employees);
+        // every other row becomes a tombstone in the id table, which lookups have to probe past
+        for (int i = 0; i < employees.size(); i += 2) {
+            assertTrue(store.removeById(employees.get(i).getId()).isPresent());
+        }
+        MockEmployee readded = employees.get(0).toBuilder().name("readded").build();
+        store.add(readded);
+
+        assertEquals(Optional.of(readded), store.findById(readded.getId()));
+        for (int i = 1; i < employees.size(); i++) {
+            Optional<MockEmployee> expected = i % 2 == 0 ? Optional.empty() : Optional.of(employees.get(i));
+            assertEquals(expected, store.findById(employees.get(i).getId()), "employee " + i);
+        }
+        assertEquals(1501, store.size());
+        assertEquals(readded, store.snapshot().get(store.size() - 1));
+    }
+
+    @Test
+    void testAddingAnExistingIdReplacesIt() {
+        MockEmployee original = employee(1, "original");
+        ColumnarMockEmployeeStore store = new ColumnarMockEmployeeStore(Stream.of(original, employee(2, "other")));
+        MockEmployee replacement = original.toBuilder().name("replacement").build();
+
+        store.add(replacement);
+
+        assertEquals(2, store.size());
+        assertEquals(Optional.of(replacement), store.findById(original.getId()));
+        assertEquals(Optional.empty(), store.findByName("original"));
+        assertEquals(List.of("other", "replacement"), names(store.snapshot()));
+    }
+
+    @Test
+    void testCompactionKeepsOrderLookupsAndCursors() {
+        List<MockEmployee> employees = IntStream.range(0, 5000)
+                .mapToObj(i -> employee(i, "employee" + (i % 100)))
+                .toList();
+        ColumnarMockEmployeeStore store = new ColumnarMockEmployeeStore(employees.stream());
+        MockEmployeePage firstPage = store.page(0, 10);
+
+        // removing 3000 of 5000 rows crosses the compaction threshold
+        store.removeAllById(IntStream.range(0, 5000)
+                .filter(i -> i % 5 < 3)
+                .mapToObj(i -> employees.get(i).getId())
+                .toList());
+
+        List<MockEmployee> remaining = IntStream.range(0, 5000)
+                .filter(i -> i % 5 >= 3)
+                .mapToObj(employees::get)
+                .toList();
+        assertEquals(remaining, store.snapshot());
+        assertEquals(remaining.size(), store.size());
+        assertEquals(Optional.empty(), store.findById(employees.get(0).getId()));
+        assertEquals(Optional.of(employees.get(3)), store.findById(employees.get(3).getId()));
+        assertEquals(Optional.of(employees.get(3)), store.findByName("EMPLOYEE3"));
+
+        // a cursor handed out before the compaction still resumes after the same employee
+        List<MockEmployee> paged = new ArrayList<>();
+        Long cursor = firstPage.nextCursor();
+        while (cursor != null) {
+            MockEmployeePage page = store.page(cursor, 7);
+            paged.addAll(page.employees());
+            cursor = page.nextCursor();
+        }
+        assertEquals(remaining.subList(4, remaining.size()), paged);
+
+        MockEmployee added = employee(9999, "added");
+        store.add(added);
+        assertEquals(Optional.of(added), store.findById(added.getId()));
+        assertEquals(added, store.snapshot().get(store.size() - 1));
+    }
+
+    @Test
+    void testSnapshotIsStableAcrossConcurrentWrites() {
+        List<MockEmployee> employees = IntStream.range(0, 2000)
+                .mapToObj(i -> employee(i, "employee" + i))
+                .toList();
+        ColumnarMockEmployeeStore store = new ColumnarMockEmployeeStore(employees.stream());
+        List<MockEmployee> snapshot = store.snapshot();
+        AtomicBoolean writing = new AtomicBoolean(true);
+
+        // grows the columns, replaces existing ids, and removes enough rows to compact more than once
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+            try {
+                for (int round = 0; round < 5; round++) {
+                    List<MockEmployee> added = IntStream.range(0, 4000)
+                            .mapToObj(i -> employee(10_000 + i, "added" + i))
+                            .toList();
+                    store.addAll(added);
+                    store.add(employees.get(round).toBuilder().name("replaced").build());
+                    store.removeAllById(added.stream().map(MockEmployee::getId).toList());
+                    store.removeByName("employee" + (100 + round));
+                }
+            } finally {
+                writing.set(false);
+            }
+        });
+        do {
+            assertEquals(employees, new ArrayList<>(snapshot));
+        } while (writing.get());
+        writer.join();
+
+        assertEquals(employees, new ArrayList<>(snapshot));
+        assertEquals(2000 - 5, store.size());
+    }
+
+    @Test
+    void testIteratorReadsTheStoreAsItGoes() {
+        List<MockEmployee> employees = IntStream.range(0, 1000)
+                .mapToObj(i -> employee(i, "employee" + i))
+                .toList();
+        for (MockEmployeeStore store : List.of(
+                new ColumnarMockEmployeeStore(employees.stream()),
+                new ConcurrentMockEmployeeStore(employees.stream()))) {
+            Iterator<MockEmployee> iterator = store.iterator();
+            List<MockEmployee> seen = new ArrayList<>();
+            for (int i = 0; i < 300; i++) {
+                seen.add(iterator.next());
+            }
+
+            // one row behind the walk and one several pages ahead are removed, and one is added at the end
+            store.removeById(employees.get(0).getId());
+            store.removeById(employees.get(800).getId());
+            MockEmployee added = employee(5000, "added");
+            store.add(added);
+            iterator.forEachRemaining(seen::add);
+
+            List<MockEmployee> expected = new ArrayList<>(employees);
+            expected.remove(800);
+            expected.add(added);
+            assertEquals(expected, seen, store.getClass().getSimpleName());
+            assertThrows(NoSuchElementException.class, iterator::next);
+        }
+    }
+
+    @Test
+    void testIteratorMatchesTheSnapshot() {
+        ColumnarMockEmployeeStore store = new ColumnarMockEmployeeStore(Stream.empty());
+        assertFalse(store.iterator().hasNext());
+
+        List<MockEmployee> employees = IntStream.range(0, 3000)
+                .mapToObj(i -> employee(i, "employee" + i))
+                .toList();
+        store.addAll(employees);
+        store.removeAllById(IntStream.range(0, 3000)
+                .filter(i -> i % 3 != 0)
+                .mapToObj(i -> employees.get(i).getId())
+                .toList());
+
+        List<MockEmployee> iterated = new ArrayList<>();
+        store.iterator().forEachRemaining(iterated::add);
+        assertEquals(store.snapshot(), iterated);
+    }
+
+    @Test
+    void testMatchesTheConcurrentStore() {
+        Random random = new Random(42);
+        List<MockEmployee> initial = IntStream.range(0, 500)
+                .mapToObj(i -> employee(i, name(random)))
+                .toList();
+        MockEmployeeStore columnar = new ColumnarMockEmployeeStore(initial.stream());
+        MockEmployeeStore concurrent = new ConcurrentMockEmployeeStore(initial.stream());
+        List<UUID> ids = new ArrayList<>(initial.stream().map(MockEmployee::getId).toList());
+
+        for (int step = 0; step < 20_000; step++) {
+            UUID id = ids.get(random.nextInt(ids.size()));
+            String name = name(random);
+            switch (random.nextInt(6)) {
+                case 0 -> {
+                    MockEmployee added = employee(1000 + step, name);
+                    ids.add(added.getId());
+                    columnar.add(added);
+                    concurrent.add(added);
+                }
+                case 1 -> assertEquals(concurrent.removeById(id), columnar.removeById(id), "step " + step);
+                case 2 -> assertEquals(concurrent.removeByName(name), columnar.removeByName(name), "step " + step);
+                case 3 -> {
+                    List<String> names = List.of(name, name.toUpperCase(), name(random));
+                    assertEquals(concurrent.removeAllByName(names), columnar.removeAllByName(names), "step " + step);
+                }
+                case 4 -> assertEquals(concurrent.findByName(name), columnar.findByName(name), "step " + step);
+                default -> assertEquals(concurrent.findById(id), columnar.findById(id), "step " + step);
+            }
+            assertEquals(concurrent.size(), columnar.size(), "step " + step);
+        }
+
+        assertEquals(concurrent.snapshot(), columnar.snapshot());
+        assertEquals(concurrent.page(0, 25), columnar.page(0, 25));
+    }
+
+    private static MockEmployee employee(int number, String name) {
+        return MockEmployee.builder()
+                .id(new UUID(number * 0x9E3779B97F4A7C15L, number))
+                .name(name)
+                .salary(number % 7 == 0 ? null : 1000 + number)
+                .age(20 + number % 40)
+                .title(number % 3 == 0 ? null : "title" + number % 10)
+                .email(name + "@company.com")
+                .build();
+    }
+
+    private static String name(Random random) {
+        String name = "name" + random.nextInt(50);
+        return random.nextBoolean() ? name : name.toUpperCase();
+    }
+
+    private static List<String> names(List<MockEmployee> employees) {
+        return employees.stream().map(MockEmployee::getName).toList();
+    }
+}
@@ -0,0 +1,133 @@
+package com.reliaquest.server.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+
+public class MockEmployeeChangeLogTest {
+
+    @Test
+    void testNumbersChangesFromOneWithoutGaps() {
+        MockEmployeeChangeLog log = new MockEmployeeChangeLog(10);
+        MockEmployee created = employee(1);
+        log.created(created);
+        log.deleted(created);
+        log.created(employee(2));
+
+        MockEmployeeChanges changes = log.since(0, 2);
+
+        assertEquals(
+                List.of(
+                        new MockEmployeeChange(1, MockEmployeeChange.Type.CREATED, created.getId(), created),
+                        new MockEmployeeChange(2, MockEmployeeChange.Type.DELETED, created.getId(), null)),
+                changes.changes());
+        assertEquals(2, changes.next());
+        assertEquals(3, changes.latest());
+        assertFalse(changes.resync());
+        assertEquals(List.of(3L), sequences(log.since(changes.next(), 2)));
+        assertEquals(new MockEmployeeChanges(List.of(), 3, 3, false), log.since(3, 2));
+    }
+
+    @Test
+    void testOnlyTheLatestRetainedChangesAreServedAfterTheRingWraps() {
+        MockEmployeeChangeLog log = new MockEmployeeChangeLog(4);
+        for (int i = 1; i <= 10; i++) {
+            log.created(employee(i));
+        }
+
+        MockEmployeeChanges retained = log.since(6, 100);
+        assertEquals(List.of(7L, 8L, 9L, 10L), sequences(retained));
+        assertEquals(employee(7).getId(), retained.changes().get(0).id());
+        assertEquals(employee(10).getId(), retained.changes().get(3).id());
+        assertEquals(List.of(9L), sequences(log.since(8, 1)));
+    }
+
+    @Test
+    void testResyncWhenSinceIsNoLongerRetainedOrAhead() {
+        MockEmployeeChangeLog log = new MockEmployeeChangeLog(4);
+        for (int i = 1; i <= 10; i++) {
+            log.created(employee(i));
+        }
+
+        MockEmployeeChanges resync = new MockEmployeeChanges(List.of(), 10, 10, true);
+        assertEquals(resync, log.since(5, 100));
+        assertEquals(resync, log.since(0, 100));
+        // ahead of the log, as after a server restart
+        assertEquals(resync, log.since(11, 100));
+        assertEquals(resync, log.subscribe(5, change -> {}));
+    }
+
+    @Test
+    void testRejectsAnEmptyRing() {
+        assertThrows(IllegalArgumentException.class, () -> new MockEmployeeChangeLog(0));
+    }
+
+    @Test
+    void testSubscribersSeeEveryChangeAfterTheMissedOnesWhileWritesContinue() {
+        MockEmployeeChangeLog log = new MockEmployeeChangeLog(100_000);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+            try {
+                for (int i = 0; i < 20_000; i++) {
+                    MockEmployee employee = employee(i);
+                    log.write(() -> {
+                        log.created(employee);
+                        return employee;
+                    });
+                }
+            } finally {
+                writing.set(false);
+            }
+        });
+
+        List<List<Long>> seen = new ArrayList<>();
+        List<Consumer<MockEmployeeChange>> subscribers = new ArrayList<>();
+        do {
+            List<Long> sequences = Collections.synchronizedList(new ArrayList<>());
+            Consumer<MockEmployeeChange> subscriber = change -> sequences.add(change.sequence());
+            long since = Math.max(0, log.latest() - 5);
+            MockEmployeeChanges missed = log.subscribe(since, subscriber);
+            assertFalse(missed.resync());
+            assertEquals(missed.latest(), missed.next());
+            sequences.addAll(0, sequences(missed));
+            sequences.add(0, since);
+            seen.add(sequences);
+            subscribers.add(subscriber);
+        } while (writing.get() && seen.size() < 100);
+        writer.join();
+        subscribers.forEach(log::unsubscribe);
+        log.created(employee(-1));
+
+        for (List<Long> sequences : seen) {
+            long since = sequences.get(0);
+            assertEquals(
+                    LongStream.rangeClosed(since + 1, 20_000).boxed().toList(),
+                    sequences.subList(1, sequences.size()),
+                    "subscribed after " + since);
+        }
+    }
+
+    private static List<Long> sequences(MockEmployeeChanges changes) {
+        return changes.changes().stream().map(MockEmployeeChange::sequence).toList();
+    }
+
+    private static MockEmployee employee(int number) {
+        return MockEmployee.builder()
+                .id(new UUID(number, number))
+                .name("employee" + number)
+                .salary(1000)
+                .age(30)
+                .title("title")
+                .email("employee" + number + "@company.com")
+                .build();
+    }
+}
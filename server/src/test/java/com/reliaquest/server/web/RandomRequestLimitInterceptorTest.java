@@ -0,0 +1,91 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.controller.MockEmployeeController;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.store.ConcurrentMockEmployeeStore;
+import com.reliaquest.server.store.MockEmployeeChangeLog;
+import jakarta.servlet.DispatcherType;
+import jakarta.validation.Validator;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+public class RandomRequestLimitInterceptorTest {
+
+    private static final String URL = "/api/v1/employee";
+
+    @Test
+    void testStreamedReadsCostOneRequestEach() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller())
+                .addInterceptors(new RandomRequestLimitInterceptor(3, Duration.ofMinutes(1)))
+                .build();
+
+        // each read is dispatched again once its body is written, which must not use up another request
+        for (MockHttpServletRequestBuilder read : List.of(get(URL), get(URL).param("limit", "2"), get(URL))) {
+            MvcResult result = mockMvc.perform(read).andExpect(request().asyncStarted()).andReturn();
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data").isArray());
+        }
+
+        mockMvc.perform(get(URL))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void testAsyncDispatchesAreNotCounted() {
+        RandomRequestLimitInterceptor interceptor = new RandomRequestLimitInterceptor(1, Duration.ofMinutes(1));
+
+        // e.g. change streams ending, long after the request that opened them was admitted
+        for (int i = 0; i < 10; i++) {
+            MockHttpServletRequest completed = new MockHttpServletRequest("GET", URL + "/changes/stream");
+            completed.setDispatcherType(DispatcherType.ASYNC);
+            assertTrue(interceptor.preHandle(completed, new MockHttpServletResponse(), null));
+        }
+
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest("GET", URL), new MockHttpServletResponse(), null));
+        assertFalse(interceptor.preHandle(new MockHttpServletRequest("GET", URL), new MockHttpServletResponse(), null));
+    }
+
+    private static MockEmployeeController controller() {
+        List<MockEmployee> employees = IntStream.range(0, 3)
+                .mapToObj(i -> MockEmployee.builder()
+                        .id(new UUID(0, i))
+                        .name("employee" + i)
+                        .salary(1000 + i)
+                        .age(20 + i)
+                        .title("title")
+                        .email("employee" + i + "@company.com")
+                        .build())
+                .toList();
+        MockEmployeeService mockEmployeeService = new MockEmployeeService(
+                new Faker(), new ConcurrentMockEmployeeStore(employees.stream()), new MockEmployeeChangeLog(100));
+        MockEmployeeController controller =
+                new MockEmployeeController(mockEmployeeService, new ObjectMapper(), Mockito.mock(Validator.class));
+        ReflectionTestUtils.setField(controller, "streaming", true);
+        return controller;
+    }
+}
@@ -0,0 +1,92 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+public class SlidingWindowLimiterTest {
+
+    private static final long WINDOW = TimeUnit.SECONDS.toNanos(10);
+
+    @Test
+    void testAdmitsUpToTheLimitAndReportsTheExactWait() {
+        SlidingWindowLimiter limiter = new SlidingWindowLimiter(10, Duration.ofNanos(WINDOW), 0);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, limiter.tryAcquire("client", 0), "request " + i);
+        }
+
+        // the ten requests weigh 9 once a tenth of the next window has passed
+        long wait = limiter.tryAcquire("client", 0);
+        assertEquals(WINDOW + WINDOW / 10, wait);
+        assertEquals(0, limiter.tryAcquire("other", 0));
+        assertTrue(limiter.tryAcquire("client", wait - 1) > 0);
+        assertEquals(0, limiter.tryAcquire("client", wait));
+    }
+
+    @Test
+    void testPreviousWindowWeighsLessAsItSlidesOut() {
+        SlidingWindowLimiter limiter = new SlidingWindowLimiter(10, Duration.ofNanos(WINDOW), 0);
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire("client", WINDOW - 1);
+        }
+
+        // half way into the next window the previous ten weigh five, leaving room for five more
+        long halfWay = WINDOW + WINDOW / 2;
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("client", halfWay), "request " + i);
+        }
+        assertEquals(WINDOW / 10, limiter.tryAcquire("client", halfWay), 1);
+
+        // two windows on, nothing of the first one counts
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, limiter.tryAcquire("client", 3 * WINDOW), "request " + i);
+        }
+        assertTrue(limiter.tryAcquire("client", 3 * WINDOW) > 0);
+    }
+
+    @Test
+    void testConcurrentCallersNeverExceedTheLimit() throws Exception {
+        SlidingWindowLimiter limiter = new SlidingWindowLimiter(500, Duration.ofNanos(WINDOW), 0);
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            var callers = IntStream.range(0, 8)
+                    .mapToObj(thread -> executor.submit(() -> {
+                        start.await();
+                        for (int i = 0; i < 1000; i++) {
+                            if (limiter.tryAcquire("client", WINDOW / 2) == 0) {
+                                admitted.incrementAndGet();
+                            }
+                        }
+                        return null;
+                    }))
+                    .toList();
+            start.countDown();
+            for (Future<?> caller : callers) {
+                caller.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(500, admitted.get());
+    }
+
+    @Test
+    void testRejectsLimitsItCannotCount() {
+        assertThrows(IllegalArgumentException.class, () -> new SlidingWindowLimiter(0, Duration.ofSeconds(1), 0));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new SlidingWindowLimiter(SlidingWindowLimiter.MAX_LIMIT + 1, Duration.ofSeconds(1), 0));
+        assertThrows(IllegalArgumentException.class, () -> new SlidingWindowLimiter(1, Duration.ofNanos(10), 0));
+    }
+}
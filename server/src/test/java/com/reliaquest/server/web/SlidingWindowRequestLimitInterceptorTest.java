@@ -0,0 +1,112 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.config.RequestLimitProperties;
+import jakarta.servlet.DispatcherType;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class SlidingWindowRequestLimitInterceptorTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.DAYS.toNanos(1));
+
+    private final SlidingWindowRequestLimitInterceptor interceptor = new SlidingWindowRequestLimitInterceptor(
+            new RequestLimitProperties(
+                    true,
+                    RequestLimitProperties.Mode.SLIDING_WINDOW,
+                    "X-Client-Id",
+                    2,
+                    Duration.ofSeconds(10),
+                    List.of(
+                            new RequestLimitProperties.Route("/api/v1/employee/batch/**", "POST", 1, null),
+                            new RequestLimitProperties.Route(
+                                    "/api/v1/employee/**", null, null, Duration.ofSeconds(60)))),
+            clock::get);
+
+    @Test
+    void testFirstMatchingRouteLimitsTheRequest() {
+        assertTrue(admits("POST", "/api/v1/employee/batch/ids", "a"));
+        assertFalse(admits("POST", "/api/v1/employee/batch/ids", "a"));
+
+        // the batch route only limits POST; GET falls through to the next route, which shares one allowance
+        assertTrue(admits("GET", "/api/v1/employee/batch/ids", "a"));
+        assertTrue(admits("GET", "/api/v1/employee/123", "a"));
+        assertFalse(admits("GET", "/api/v1/employee/123", "a"));
+
+        // unmatched paths get the default allowance
+        assertTrue(admits("GET", "/api/v1/health", "a"));
+        assertTrue(admits("GET", "/api/v1/health", "a"));
+        assertFalse(admits("GET", "/api/v1/health", "a"));
+    }
+
+    @Test
+    void testClientsAreCountedApart() {
+        assertTrue(admits("POST", "/api/v1/employee/batch/ids", "a"));
+        assertTrue(admits("POST", "/api/v1/employee/batch/ids", "b"));
+        assertFalse(admits("POST", "/api/v1/employee/batch/ids", "a"));
+
+        // without the header the remote address identifies the client
+        assertTrue(admits("POST", "/api/v1/employee/batch/ids", null));
+        assertFalse(admits("POST", "/api/v1/employee/batch/ids", " "));
+    }
+
+    @Test
+    void testRejectionCarriesTheWaitInWholeSeconds() {
+        admits("GET", "/api/v1/health", "a");
+        admits("GET", "/api/v1/health", "a");
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+
+        // two requests weigh one after half of the next window: 10s - 0.5s + 5s, rounded up
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(request("GET", "/api/v1/health", "a"), response, null));
+        assertEquals(429, response.getStatus());
+        assertEquals("15", response.getHeader(HttpHeaders.RETRY_AFTER));
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(14_499));
+        assertFalse(admits("GET", "/api/v1/health", "a"));
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        assertTrue(admits("GET", "/api/v1/health", "a"));
+    }
+
+    @Test
+    void testAsyncDispatchesAreNotCounted() {
+        assertTrue(admits("POST", "/api/v1/employee/batch/ids", "a"));
+
+        // the completion dispatch of a streamed response, or of a change stream ending, is admitted for free
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletRequest completed = request("POST", "/api/v1/employee/batch/ids", "a");
+            completed.setDispatcherType(DispatcherType.ASYNC);
+            assertTrue(interceptor.preHandle(completed, new MockHttpServletResponse(), null));
+        }
+        assertTrue(admits("GET", "/api/v1/employee", "a"));
+        assertTrue(admits("GET", "/api/v1/employee", "a"));
+        MockHttpServletRequest completed = request("GET", "/api/v1/employee", "a");
+        completed.setDispatcherType(DispatcherType.ASYNC);
+        assertTrue(interceptor.preHandle(completed, new MockHttpServletResponse(), null));
+
+        assertFalse(admits("POST", "/api/v1/employee/batch/ids", "a"));
+        assertFalse(admits("GET", "/api/v1/employee", "a"));
+    }
+
+    private boolean admits(String method, String path, String client) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean admitted = interceptor.preHandle(request(method, path, client), response, null);
+        assertEquals(admitted ? 200 : 429, response.getStatus());
+        return admitted;
+    }
+
+    private static MockHttpServletRequest request(String method, String path, String client) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        if (client != null) {
+            request.addHeader("X-Client-Id", client);
+        }
+        return request;
+    }
+}